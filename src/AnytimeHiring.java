@@ -0,0 +1,400 @@
+import java.util.Arrays;
+
+/**
+ * Time-budgeted versions of {@link Hiring#optimalHiring(CandidateList, CandidateList, int)} and
+ * {@link Hiring#minCoverageHiring(CandidateList, CandidateList, int)}. Each one starts from a
+ * greedy solution and improves on it with a branch-and-bound search until the search finishes or
+ * the time limit is reached, whichever comes first.
+ *
+ * <p>
+ * Either way the result carries a proven bound on the best possible value: at most that many
+ * hours for optimalHiring, at least that cost for minCoverageHiring. When the search finishes the
+ * bound equals the value of the solution and the solution is proven optimal; when it is cut short,
+ * the difference between them is the most that is left to gain.
+ */
+public class AnytimeHiring {
+
+  /**
+   * How many search nodes are visited between checks of the clock.
+   */
+  private static final int CLOCK_CHECK_INTERVAL = 256;
+
+  /**
+   * The best solution found within the time limit and how far from optimal it can be.
+   */
+  public static final class Result {
+
+    /**
+     * The best solution found, or null if there is no solution at all.
+     */
+    private final CandidateList solution;
+
+    /**
+     * The hours covered (optimalHiring) or cost (minCoverageHiring) of the solution.
+     */
+    private final int value;
+
+    /**
+     * The proven bound: no solution covers more hours, or costs less, than this.
+     */
+    private final int bound;
+
+    /**
+     * True if the search finished, or the solution is known to reach the bound anyway.
+     */
+    private final boolean optimal;
+
+    /**
+     * Creates a result.
+     */
+    private Result(CandidateList solution, int value, int bound, boolean optimal) {
+      this.solution = solution;
+      this.value = value;
+      this.bound = bound;
+      this.optimal = optimal;
+    }
+
+    /**
+     * @return the best solution found, including the candidates that were already hired, or null
+     *         if no set of hires is a solution.
+     */
+    public CandidateList getSolution() {
+      return solution;
+    }
+
+    /**
+     * @return the hours covered by the solution (optimalHiring) or its cost (minCoverageHiring).
+     */
+    public int getValue() {
+      return value;
+    }
+
+    /**
+     * @return an upper bound on the hours any solution covers (optimalHiring) or a lower bound on
+     *         the cost of any solution (minCoverageHiring).
+     */
+    public int getBound() {
+      return bound;
+    }
+
+    /**
+     * @return the difference between the bound and the value of the solution; 0 when optimal.
+     */
+    public int getGap() {
+      return Math.abs(bound - value);
+    }
+
+    /**
+     * @return true if the solution is proven to be optimal.
+     */
+    public boolean isOptimal() {
+      return optimal;
+    }
+
+    /**
+     * @return for example "optimal" or "value 10, bound 12, gap 2".
+     */
+    @Override
+    public String toString() {
+      if (optimal) {
+        return "optimal";
+      }
+      return "value " + value + ", bound " + bound + ", gap " + getGap();
+    }
+  }
+
+  /**
+   * Finds the set of at most hiresLeft hires that covers the most hours, like
+   * Hiring.optimalHiring, but gives up searching once timeLimitMillis have passed. The search
+   * starts from the lazy greedy solution, so the result is never worse than greedyHiring. When the
+   * search finishes, the solution covers as many hours as Hiring.optimalHiring's, though it may
+   * be a different set of hires with the same coverage.
+   *
+   * @param candidates      the set of available candidates to hire from (excluding those already
+   *                        hired)
+   * @param hired           the list of those currently hired
+   * @param hiresLeft       the maximum number of candidates to hire
+   * @param timeLimitMillis how long the search may run; 0 returns the greedy solution with a bound
+   * @return hired plus the best hires found, with an upper bound on the hours any hires can cover
+   */
+  public static Result optimalHiring(CandidateList candidates, CandidateList hired,
+      int hiresLeft, long timeLimitMillis) {
+    if (hired == null) {
+      hired = new CandidateList();
+    }
+    if (hiresLeft <= 0) {
+      return new Result(hired, hired.numCoveredHours(), hired.numCoveredHours(), true);
+    }
+
+    CandidateChain start = CandidateChain.of(hired);
+    CandidateRange remaining = new CandidateRange(candidates);
+    int maxHours = remaining.numCoveredHoursWith(start.getCoveredBits());
+
+    // the greedy hires are the first incumbent
+    CandidateList greedy =
+        Hiring.greedyHiring(candidates, hired, hiresLeft, Hiring.GreedyMode.LAZY);
+    Search search = new Search(timeLimitMillis);
+    search.openBound = Integer.MIN_VALUE;
+    CandidateChain best = optimalHiring(search, remaining, start, hiresLeft,
+        CandidateChain.of(greedy), maxHours);
+
+    int bound = Math.max(best.numCoveredHours(), search.openBound);
+    return new Result(best.toCandidateList(), best.numCoveredHours(), bound,
+        bound == best.numCoveredHours());
+  }
+
+  /**
+   * Branch-and-bound helper for optimalHiring, the same as Hiring's except that once time is up
+   * each level records the bound of the candidates it has not tried yet and returns. The bound
+   * at position i also covers every later position, so one bound per level is enough.
+   *
+   * @param search     the clock and the bound of the unexplored part of the search
+   * @param candidates the candidates that may still be hired, in list order
+   * @param hired      the candidates hired so far
+   * @param hiresLeft  the maximum number of candidates left to hire
+   * @param best       the best hires found so far
+   * @param maxHours   the most hours any set of hires can cover
+   * @return the best hires found in this branch, or best
+   */
+  private static CandidateChain optimalHiring(Search search, CandidateRange candidates,
+      CandidateChain hired, int hiresLeft, CandidateChain best, int maxHours) {
+    int bestGain = Hiring.maxGain(candidates, hired.getCoveredBits(), hiresLeft);
+
+    for (int i = 0; i < candidates.size(); i++) {
+      if (best.numCoveredHours() >= maxHours) {
+        break;
+      }
+
+      int bound = Math.min(hired.numCoveredHours() + bestGain,
+          candidates.from(i).numCoveredHoursWith(hired.getCoveredBits()));
+      if (bound <= best.numCoveredHours()) {
+        break;
+      }
+      if (search.isOutOfTime()) {
+        // candidates[i..] are left unexplored at this level
+        search.openBound = Math.max(search.openBound, bound);
+        break;
+      }
+
+      CandidateChain updatedHired = hired.with(candidates.get(i));
+      if (updatedHired.numCoveredHours() > best.numCoveredHours()) {
+        best = updatedHired;
+      }
+      if (hiresLeft > 1) {
+        best = optimalHiring(search, candidates.from(i + 1), updatedHired, hiresLeft - 1, best,
+            maxHours);
+      }
+    }
+
+    return best;
+  }
+
+  /**
+   * Finds the cheapest set of hires that covers at least minHours hours, like
+   * Hiring.minCoverageHiring, but gives up searching once timeLimitMillis have passed. The search
+   * starts from a greedy cover that repeatedly hires the candidate with the lowest cost per new
+   * hour, and prunes with a lower bound that lets candidates be hired fractionally.
+   *
+   * @param candidates      the set of available candidates to hire from (excluding those already
+   *                        hired)
+   * @param hired           the set of candidates already hired
+   * @param minHours        the minimum number of hours we want to cover total
+   * @param timeLimitMillis how long the search may run; 0 returns the greedy cover with a bound
+   * @return hired plus the cheapest hires found, with a lower bound on the cost of any solution; if
+   *         no set of hires covers minHours, the solution is null and the result is optimal
+   * @throws IllegalArgumentException if a candidate has a negative pay rate
+   */
+  public static Result minCoverageHiring(CandidateList candidates, CandidateList hired,
+      int minHours, long timeLimitMillis) {
+    if (hired == null) {
+      hired = new CandidateList();
+    }
+    for (Candidate c : candidates) {
+      if (c.getPayRate() < 0) {
+        throw new IllegalArgumentException("Pay rates must be non-negative: " + c);
+      }
+    }
+    if (minHours <= 0 || hired.numCoveredHours() >= minHours) {
+      return new Result(hired, hired.totalCost(), hired.totalCost(), true);
+    }
+
+    CandidateChain start = CandidateChain.of(hired);
+    CandidateRange remaining = new CandidateRange(candidates);
+    if (remaining.numCoveredHoursWith(start.getCoveredBits()) < minHours) {
+      return new Result(null, 0, 0, true);
+    }
+
+    Search search = new Search(timeLimitMillis);
+    search.openBound = Integer.MAX_VALUE;
+    CandidateChain best = minCoverageHiring(search, remaining, start, minHours,
+        greedyCover(candidates, start, minHours));
+
+    int bound = Math.min(best.totalCost(), search.openBound);
+    return new Result(best.toCandidateList(), best.totalCost(), bound,
+        bound == best.totalCost());
+  }
+
+  /**
+   * Branch-and-bound helper for minCoverageHiring. Like Hiring's, it decides on the first
+   * candidate (hire, then skip) and recurses on the rest, but it skips any branch whose lower
+   * bound is not below the cost of the best cover found so far. Once time is up, each branch
+   * reached records its lower bound and returns without searching.
+   *
+   * @param search     the clock and the bound of the unexplored part of the search
+   * @param candidates the candidates not yet decided on
+   * @param hired      the candidates hired so far
+   * @param minHours   the minimum number of hours we want to cover total
+   * @param best       the cheapest cover found so far
+   * @return the cheapest cover found in this branch, or best
+   */
+  private static CandidateChain minCoverageHiring(Search search, CandidateRange candidates,
+      CandidateChain hired, int minHours, CandidateChain best) {
+    if (hired.numCoveredHours() >= minHours) {
+      return hired.totalCost() < best.totalCost() ? hired : best;
+    }
+    if (candidates.isEmpty()
+        || candidates.numCoveredHoursWith(hired.getCoveredBits()) < minHours) {
+      return best;
+    }
+
+    int lowerBound = lowerBound(candidates, hired, minHours);
+    if (lowerBound >= best.totalCost()) {
+      return best;
+    }
+    if (search.isOutOfTime()) {
+      search.openBound = Math.min(search.openBound, lowerBound);
+      return best;
+    }
+
+    best = minCoverageHiring(search, candidates.rest(), hired.with(candidates.first()), minHours,
+        best);
+    return minCoverageHiring(search, candidates.rest(), hired, minHours, best);
+  }
+
+  /**
+   * Computes a lower bound on the cost of covering minHours by adding some of candidates to
+   * hired. A candidate never adds more hours than it would add to hired alone, so buying the
+   * missing hours at the cheapest cost per new hour first, with the last candidate bought
+   * fractionally, costs no more than any real cover.
+   *
+   * @param candidates the candidates that may be hired
+   * @param hired      the candidates hired so far
+   * @param minHours   the minimum number of hours to cover
+   * @return a lower bound on the total cost of any cover extending hired
+   */
+  private static int lowerBound(CandidateRange candidates, CandidateChain hired, int minHours) {
+    int needed = minHours - hired.numCoveredHours();
+    long[] covered = hired.getCoveredBits();
+
+    // sort the candidates that add any hours by cost per new hour (cross-multiplied so the
+    // comparison stays exact)
+    int n = candidates.size();
+    int[] gain = new int[n];
+    Integer[] order = new Integer[n];
+    int useful = 0;
+    for (int i = 0; i < n; ++i) {
+      gain[i] = candidates.get(i).numNewHours(covered);
+      if (gain[i] > 0) {
+        order[useful++] = i;
+      }
+    }
+    Arrays.sort(order, 0, useful, (a, b) -> Long.compare(
+        (long) candidates.get(a).getPayRate() * gain[b],
+        (long) candidates.get(b).getPayRate() * gain[a]));
+
+    double cost = 0;
+    for (int k = 0; k < useful && needed > 0; ++k) {
+      int i = order[k];
+      int pay = candidates.get(i).getPayRate();
+      if (gain[i] <= needed) {
+        cost += pay;
+      } else {
+        cost += (double) pay * needed / gain[i];
+      }
+      needed -= gain[i];
+    }
+    // pay rates are integers, so any real cover costs at least the next integer
+    return hired.totalCost() + (int) Math.ceil(cost - 1e-9);
+  }
+
+  /**
+   * Greedily extends hired until it covers minHours, each time hiring the candidate with the
+   * lowest cost per new hour (the earliest one on ties). The caller makes sure the candidates can
+   * cover minHours.
+   *
+   * @param candidates the candidates that may be hired
+   * @param hired      the candidates hired so far
+   * @param minHours   the minimum number of hours to cover
+   * @return hired plus the greedily chosen hires
+   */
+  private static CandidateChain greedyCover(CandidateList candidates, CandidateChain hired,
+      int minHours) {
+    boolean[] taken = new boolean[candidates.size()];
+    while (hired.numCoveredHours() < minHours) {
+      int bestIndex = -1;
+      int bestGain = 0;
+      for (int i = 0; i < candidates.size(); ++i) {
+        int gain = taken[i] ? 0 : hired.numNewHours(candidates.get(i));
+        if (gain == 0) {
+          continue;
+        }
+        // pay / gain < bestPay / bestGain
+        if (bestIndex < 0 || (long) candidates.get(i).getPayRate() * bestGain
+            < (long) candidates.get(bestIndex).getPayRate() * gain) {
+          bestIndex = i;
+          bestGain = gain;
+        }
+      }
+      taken[bestIndex] = true;
+      hired = hired.with(candidates.get(bestIndex));
+    }
+    return hired;
+  }
+
+  /**
+   * The clock of one search, and the bound of the part of the search that was not explored
+   * before time ran out.
+   */
+  private static class Search {
+
+    /**
+     * The System.nanoTime() at which the search has to stop.
+     */
+    private final long deadline;
+
+    /**
+     * The number of calls to isOutOfTime since the clock was last checked.
+     */
+    private int sinceCheck;
+
+    /**
+     * True once the deadline has passed.
+     */
+    private boolean outOfTime;
+
+    /**
+     * The best value any solution in an unexplored branch could have.
+     */
+    private int openBound;
+
+    /**
+     * Starts the clock.
+     */
+    private Search(long timeLimitMillis) {
+      this.deadline = System.nanoTime() + Math.max(0, timeLimitMillis) * 1_000_000L;
+      this.outOfTime = timeLimitMillis <= 0;
+    }
+
+    /**
+     * @return true if the deadline has passed, checking the clock every CLOCK_CHECK_INTERVAL
+     *         calls.
+     */
+    private boolean isOutOfTime() {
+      if (!outOfTime && ++sinceCheck >= CLOCK_CHECK_INTERVAL) {
+        sinceCheck = 0;
+        outOfTime = System.nanoTime() - deadline >= 0;
+      }
+      return outOfTime;
+    }
+  }
+}
@@ -0,0 +1,147 @@
+/**
+ * An alternative to {@link Hiring#minCoverageHiring(CandidateList, CandidateList, int)} for short
+ * schedules. Instead of searching over subsets of candidates, it runs a dynamic program over sets
+ * of covered hours, so the running time is O(N * 2^H) no matter how many candidates there are.
+ * 
+ * <p>
+ * Only hours that some candidate covers and the already-hired candidates do not count towards H,
+ * so a schedule can be longer than {@link #MAX_HOURS} as long as most of it is already covered or
+ * cannot be covered at all.
+ */
+public class BitmaskHiring {
+
+  /**
+   * The most hours the dynamic program supports. Its tables have 2^H entries each, so 24 hours
+   * needs two tables of 2^24 ints (128 MB).
+   */
+  public static final int MAX_HOURS = 24;
+
+  /**
+   * Finds the minimum-budget set of hires that covers at least minHours hours, with the same
+   * meaning as Hiring.minCoverageHiring: hired are the candidates already hired (their hours count
+   * towards minHours and they are part of the returned list), and the result is null when no set
+   * of hires covers minHours hours.
+   * 
+   * @param candidates the set of available candidates to hire from (excluding those already hired)
+   * @param hired      the set of candidates already hired
+   * @param minHours   the minimum number of hours we want to cover total
+   * @return hired plus the cheapest set of candidates that covers minHours hours, or null if there
+   *         is no such set
+   * @throws IllegalArgumentException if more than MAX_HOURS hours are neither covered by hired nor
+   *                                  uncoverable, or if a candidate has a negative pay rate
+   */
+  public static CandidateList minCoverageHiring(CandidateList candidates, CandidateList hired,
+      int minHours) {
+    if (minHours <= 0 || hired.numCoveredHours() >= minHours) {
+      return hired;
+    }
+    int hoursNeeded = minHours - hired.numCoveredHours();
+
+    // Find the hours that still matter: covered by some candidate but not by anyone hired
+    int numWords = hired.getCoveredBits().length;
+    for (Candidate c : candidates) {
+      numWords = Math.max(numWords, c.getAvailabilityBits().length);
+      if (c.getPayRate() < 0) {
+        throw new IllegalArgumentException("Pay rates must be non-negative: " + c);
+      }
+    }
+    long[] open = new long[numWords];
+    for (Candidate c : candidates) {
+      c.orInto(open);
+    }
+    long[] hiredCovered = hired.getCoveredBits();
+    for (int w = 0; w < hiredCovered.length; ++w) {
+      open[w] &= ~hiredCovered[w];
+    }
+
+    int numHours = Candidate.popcount(open);
+    if (numHours < hoursNeeded) {
+      return null;
+    }
+    if (numHours > MAX_HOURS) {
+      throw new IllegalArgumentException(
+          numHours + " hours left to cover; at most " + MAX_HOURS + " are supported");
+    }
+
+    // Renumber the open hours 0..numHours-1 and build each candidate's mask over them
+    int[] masks = new int[candidates.size()];
+    for (int i = 0; i < candidates.size(); ++i) {
+      long[] bits = candidates.get(i).getAvailabilityBits();
+      int bit = 0;
+      for (int w = 0; w < open.length; ++w) {
+        long word = open[w];
+        while (word != 0) {
+          long lowest = word & -word;
+          if (w < bits.length && (bits[w] & lowest) != 0) {
+            masks[i] |= 1 << bit;
+          }
+          word &= word - 1;
+          bit++;
+        }
+      }
+    }
+
+    // byHour[h] lists the candidates available at open hour h
+    int[][] byHour = new int[numHours][];
+    for (int h = 0; h < numHours; ++h) {
+      int count = 0;
+      for (int mask : masks) {
+        if ((mask & (1 << h)) != 0) {
+          count++;
+        }
+      }
+      byHour[h] = new int[count];
+      count = 0;
+      for (int i = 0; i < masks.length; ++i) {
+        if ((masks[i] & (1 << h)) != 0) {
+          byHour[h][count++] = i;
+        }
+      }
+    }
+
+    // cost[m] is the cheapest cost of covering (at least) the hours in m, and choice[m] is a
+    // candidate in that cheapest set. Whoever covers m must cover its lowest hour, so only the
+    // candidates available then need to be tried.
+    int size = 1 << numHours;
+    int[] cost = new int[size];
+    int[] choice = new int[size];
+    for (int m = 1; m < size; ++m) {
+      int best = Integer.MAX_VALUE;
+      int bestChoice = -1;
+      for (int i : byHour[Integer.numberOfTrailingZeros(m)]) {
+        int rest = cost[m & ~masks[i]];
+        if (rest != Integer.MAX_VALUE && rest + candidates.get(i).getPayRate() < best) {
+          best = rest + candidates.get(i).getPayRate();
+          bestChoice = i;
+        }
+      }
+      cost[m] = best;
+      choice[m] = bestChoice;
+    }
+
+    // Covering more hours never costs less, so the best set covers exactly hoursNeeded of them
+    int bestMask = -1;
+    for (int m = 1; m < size; ++m) {
+      if (Integer.bitCount(m) == hoursNeeded && cost[m] != Integer.MAX_VALUE
+          && (bestMask == -1 || cost[m] < cost[bestMask])) {
+        bestMask = m;
+      }
+    }
+    if (bestMask == -1) {
+      return null;
+    }
+
+    // Walk the choices back to a set of candidates, then hire them in list order
+    boolean[] chosen = new boolean[candidates.size()];
+    for (int m = bestMask; m != 0; m &= ~masks[choice[m]]) {
+      chosen[choice[m]] = true;
+    }
+    CandidateList solution = new CandidateList(hired);
+    for (int i = 0; i < chosen.length; ++i) {
+      if (chosen[i]) {
+        solution.add(candidates.get(i));
+      }
+    }
+    return solution;
+  }
+}
@@ -1,4 +1,7 @@
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
 
 /**
  * This class stores information related to a candidate TA
@@ -6,9 +9,15 @@ import java.util.Arrays;
 public class Candidate {
 
   /**
-   * Stores the next available candidate ID.
+   * Stores the next available candidate ID. Atomic so that candidates can be created from several
+   * threads at once without two of them getting the same ID.
    */
-  private static int nextCandidateId = 0;
+  private static final AtomicInteger nextCandidateId = new AtomicInteger();
+
+  /**
+   * createAll builds lists at least this long in parallel.
+   */
+  private static final int PARALLEL_THRESHOLD = 4096;
 
   /**
    * The unique ID of this candidate.
@@ -17,9 +26,21 @@ public class Candidate {
 
   /**
    * The availability of this candidate for each time slot. true indicates available; false
-   * indicates not available.
+   * indicates not available. Candidates created from packed availability build this array the
+   * first time it is asked for.
+   */
+  private volatile boolean[] availability;
+
+  /**
+   * The number of time slots in this candidate's schedule.
+   */
+  private final int numHours;
+
+  /**
+   * The availability of this candidate packed 64 time slots per word. Bit (h % 64) of word (h / 64)
+   * is set if and only if the candidate is available at hour h.
    */
-  private final boolean[] availability;
+  private final long[] availabilityBits;
 
   /**
    * The pay rate of this candidate, or -1 if pay rate is not set.
@@ -35,8 +56,10 @@ public class Candidate {
    *                     available.
    */
   public Candidate(boolean[] availability) {
-    this.candidateId = nextCandidateId++;
+    this.candidateId = nextCandidateId.getAndIncrement();
     this.availability = availability;
+    this.numHours = availability.length;
+    this.availabilityBits = pack(availability);
     this.payRate = -1;
   }
 
@@ -49,11 +72,142 @@ public class Candidate {
    * @param payRate      the pay rate of the candidate.
    */
   public Candidate(boolean[] availability, int payRate) {
-    this.candidateId = nextCandidateId++;
+    this.candidateId = nextCandidateId.getAndIncrement();
     this.availability = availability;
+    this.numHours = availability.length;
+    this.availabilityBits = pack(availability);
+    this.payRate = payRate;
+  }
+
+  /**
+   * Create a new candidate with the given packed availability and pay rate, without building a
+   * boolean array. This is what input readers that work on packed data should use.
+   * 
+   * @param availabilityBits the availability packed 64 hours per word, as returned by
+   *                         {@link #pack(boolean[])}. The candidate keeps this array, so it must
+   *                         not be modified afterwards. Bits past numHours are ignored.
+   * @param numHours         the number of hours in the schedule.
+   * @param payRate          the pay rate of the candidate, or -1 for no pay rate.
+   * @throws IllegalArgumentException if availabilityBits is too short for numHours hours.
+   */
+  public Candidate(long[] availabilityBits, int numHours, int payRate) {
+    this(nextCandidateId.getAndIncrement(), availabilityBits, numHours, payRate);
+  }
+
+  /**
+   * Create a new candidate with an ID that has already been reserved, from packed availability.
+   * 
+   * @param candidateId      an ID reserved with nextCandidateId and not given to any other
+   *                         candidate.
+   * @param availabilityBits see {@link #Candidate(long[], int, int)}.
+   * @param numHours         the number of hours in the schedule.
+   * @param payRate          the pay rate of the candidate, or -1 for no pay rate.
+   * @throws IllegalArgumentException if availabilityBits is too short for numHours hours.
+   */
+  private Candidate(int candidateId, long[] availabilityBits, int numHours, int payRate) {
+    if (availabilityBits.length < numWords(numHours)) {
+      throw new IllegalArgumentException("Expected " + numWords(numHours) + " words for "
+          + numHours + " hours, got " + availabilityBits.length);
+    }
+    this.candidateId = candidateId;
+    this.numHours = numHours;
+    this.availabilityBits = availabilityBits.length == numWords(numHours) ? availabilityBits
+        : Arrays.copyOf(availabilityBits, numWords(numHours));
+    if ((numHours & 63) != 0) {
+      this.availabilityBits[this.availabilityBits.length - 1] &= (1L << numHours) - 1;
+    }
     this.payRate = payRate;
   }
 
+  /**
+   * Creates many candidates at once from packed availabilities, all rows with the same number of
+   * hours. The candidates get a block of consecutive IDs in row order, reserved in one atomic step,
+   * so this is safe to call from several threads at once and alongside the constructors. Long
+   * lists are built in parallel.
+   * 
+   * @param availabilityBits the rows packed as by {@link #pack(boolean[])}, one after another:
+   *                         candidate i's availability is words [i * numWords(numHours),
+   *                         (i + 1) * numWords(numHours)). Bits past numHours are ignored. The
+   *                         array is copied, so it may be reused afterwards.
+   * @param numHours         the number of hours in every schedule.
+   * @param payRates         payRates[i] is candidate i's pay rate (-1 for none), or null to give
+   *                         every candidate no pay rate.
+   * @param count            the number of candidates to create.
+   * @return a new list of the candidates in row order.
+   * @throws IllegalArgumentException if count or numHours is negative, or either array is too
+   *                                  short for count candidates.
+   */
+  public static CandidateList createAll(long[] availabilityBits, int numHours, int[] payRates,
+      int count) {
+    int words = numWords(numHours);
+    if (count < 0 || numHours < 0) {
+      throw new IllegalArgumentException("Expected a non-negative number of candidates and hours, "
+          + "got " + count + " candidates and " + numHours + " hours");
+    }
+    if ((long) count * words > availabilityBits.length) {
+      throw new IllegalArgumentException("Expected " + (long) count * words + " words for "
+          + count + " candidates of " + numHours + " hours, got " + availabilityBits.length);
+    }
+    if (payRates != null && payRates.length < count) {
+      throw new IllegalArgumentException("Expected " + count + " pay rates, got "
+          + payRates.length);
+    }
+
+    return createAll(i -> Arrays.copyOfRange(availabilityBits, i * words, (i + 1) * words),
+        numHours, payRates, count);
+  }
+
+  /**
+   * Creates many candidates at once, like {@link #createAll(long[], int, int[], int)}, from one
+   * array per row. The candidates keep the row arrays instead of copying them.
+   * 
+   * @param rows     rows[i] is candidate i's availability packed as by {@link #pack(boolean[])},
+   *                 numWords(numHours) words long. Candidate i keeps rows[i], so it must not be
+   *                 modified afterwards; bits past numHours are cleared.
+   * @param numHours the number of hours in every schedule.
+   * @param payRates payRates[i] is candidate i's pay rate (-1 for none), or null to give every
+   *                 candidate no pay rate.
+   * @param count    the number of candidates to create.
+   * @return a new list of the candidates in row order.
+   * @throws IllegalArgumentException if count or numHours is negative, either array is too short
+   *                                  for count candidates, or a row is too short for numHours.
+   */
+  public static CandidateList createAll(long[][] rows, int numHours, int[] payRates,
+      int count) {
+    if (count < 0 || numHours < 0) {
+      throw new IllegalArgumentException("Expected a non-negative number of candidates and hours, "
+          + "got " + count + " candidates and " + numHours + " hours");
+    }
+    if (rows.length < count) {
+      throw new IllegalArgumentException("Expected " + count + " rows, got " + rows.length);
+    }
+    if (payRates != null && payRates.length < count) {
+      throw new IllegalArgumentException("Expected " + count + " pay rates, got "
+          + payRates.length);
+    }
+    return createAll(i -> rows[i], numHours, payRates, count);
+  }
+
+  /**
+   * Creates count candidates with consecutive IDs, candidate i from row.apply(i), in parallel for
+   * long lists. The arguments have been checked by the caller.
+   */
+  private static CandidateList createAll(IntFunction<long[]> row, int numHours, int[] payRates,
+      int count) {
+    int firstId = nextCandidateId.getAndAdd(count);
+    Candidate[] created = new Candidate[count];
+    IntStream rows = IntStream.range(0, count);
+    if (count >= PARALLEL_THRESHOLD) {
+      rows = rows.parallel();
+    }
+    rows.forEach(i -> created[i] = new Candidate(firstId + i, row.apply(i), numHours,
+        payRates == null ? -1 : payRates[i]));
+
+    CandidateList candidates = new CandidateList();
+    candidates.addAll(Arrays.asList(created));
+    return candidates;
+  }
+
   /**
    * @return the candidate's ID.
    */
@@ -65,7 +219,32 @@ public class Candidate {
    * @return the availability of the candidate at all times.
    */
   public boolean[] getAvailability() {
-    return availability;
+    boolean[] result = availability;
+    if (result == null) {
+      result = new boolean[numHours];
+      for (int h = 0; h < numHours; ++h) {
+        result[h] = isAvailable(h);
+      }
+      availability = result;
+    }
+    return result;
+  }
+
+  /**
+   * @return the number of hours in this candidate's schedule.
+   */
+  public int getNumHours() {
+    return numHours;
+  }
+
+  /**
+   * Returns the packed availability of this candidate. The returned array is shared with this
+   * candidate and must not be modified.
+   * 
+   * @return the availability of the candidate packed 64 hours per word.
+   */
+  public long[] getAvailabilityBits() {
+    return availabilityBits;
   }
 
   /**
@@ -73,7 +252,11 @@ public class Candidate {
    * @return true if this candidate is available at hour h.
    */
   public boolean isAvailable(int h) {
-    return availability[h];
+    if (h < 0 || h >= numHours) {
+      throw new ArrayIndexOutOfBoundsException("Index " + h + " out of bounds for length "
+          + numHours);
+    }
+    return (availabilityBits[h >>> 6] & (1L << h)) != 0;
   }
 
   /**
@@ -94,12 +277,200 @@ public class Candidate {
   public boolean[] hire(boolean[] hoursNeeded) {
     boolean[] newHoursNeeded = Arrays.copyOf(hoursNeeded, hoursNeeded.length);
     for (int h = 0; h < newHoursNeeded.length; ++h) {
-      if (availability[h])
+      if (isAvailable(h))
         newHoursNeeded[h] = false;
     }
     return newHoursNeeded;
   }
 
+  /**
+   * Same as {@link #hire(boolean[])}, but writes the remaining hours into a caller-supplied array
+   * instead of allocating one. result may be hoursNeeded itself, which hires in place.
+   * 
+   * @param hoursNeeded a set of hours that we want to try to maximally cover.
+   * @param result      an array at least as long as hoursNeeded; its first hoursNeeded.length
+   *                    entries are overwritten.
+   * 
+   * @return result, holding hoursNeeded minus any hours covered by this candidate.
+   */
+  public boolean[] hire(boolean[] hoursNeeded, boolean[] result) {
+    if (hoursNeeded.length > numHours) {
+      isAvailable(hoursNeeded.length - 1); // throws the same exception hire(boolean[]) would
+    }
+    if (result != hoursNeeded) {
+      System.arraycopy(hoursNeeded, 0, result, 0, hoursNeeded.length);
+    }
+    // visit only the hours this candidate is available
+    for (int w = 0; w < availabilityBits.length; ++w) {
+      for (long word = availabilityBits[w]; word != 0; word &= word - 1) {
+        int h = (w << 6) + Long.numberOfTrailingZeros(word);
+        if (h < hoursNeeded.length) {
+          result[h] = false;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Counts the hours this candidate would cover out of a set of hours still needed, without
+   * allocating.
+   * 
+   * @param hoursNeeded a set of hours that we want to try to maximally cover.
+   * @return the number of hours h with hoursNeeded[h] true at which this candidate is available.
+   */
+  public int numHoursCovered(boolean[] hoursNeeded) {
+    int count = 0;
+    if (hoursNeeded.length > numHours) {
+      isAvailable(hoursNeeded.length - 1); // throws the same exception hire(boolean[]) would
+    }
+    for (int h = 0; h < hoursNeeded.length; ++h) {
+      if (hoursNeeded[h] && (availabilityBits[h >>> 6] & (1L << h)) != 0) {
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Packed version of {@link #numHoursCovered(boolean[])}.
+   * 
+   * @param hoursNeeded a packed set of hours that we want to try to maximally cover.
+   * @return the number of hours in hoursNeeded at which this candidate is available.
+   */
+  public int numHoursCovered(long[] hoursNeeded) {
+    int n = Math.min(hoursNeeded.length, availabilityBits.length);
+    int count = 0;
+    for (int w = 0; w < n; ++w) {
+      count += Long.bitCount(availabilityBits[w] & hoursNeeded[w]);
+    }
+    return count;
+  }
+
+  /**
+   * Hires this candidate against a packed set of hours still needed, in place, and records which
+   * hours were removed so that {@link #undoHire(long[], long[], int)} can put them back. A search
+   * that goes depth-first can keep one undo buffer of depth * hoursNeeded.length words and give
+   * each level its own offset, so that hiring and backtracking never allocate.
+   * 
+   * @param hoursNeeded a packed set of hours; the hours this candidate covers are removed.
+   * @param undo        receives the removed hours in words [offset, offset + hoursNeeded.length).
+   * @param offset      the first word of undo to write.
+   * @return the number of hours removed from hoursNeeded.
+   */
+  public int hire(long[] hoursNeeded, long[] undo, int offset) {
+    int n = Math.min(hoursNeeded.length, availabilityBits.length);
+    int count = 0;
+    for (int w = 0; w < n; ++w) {
+      long removed = hoursNeeded[w] & availabilityBits[w];
+      undo[offset + w] = removed;
+      hoursNeeded[w] ^= removed;
+      count += Long.bitCount(removed);
+    }
+    Arrays.fill(undo, offset + n, offset + hoursNeeded.length, 0L);
+    return count;
+  }
+
+  /**
+   * Reverses {@link #hire(long[], long[], int)}: puts the hours it removed back into hoursNeeded.
+   * Hires must be undone in the reverse order they were made.
+   * 
+   * @param hoursNeeded a packed set of hours; modified in place.
+   * @param undo        the buffer passed to hire.
+   * @param offset      the offset passed to hire.
+   */
+  public static void undoHire(long[] hoursNeeded, long[] undo, int offset) {
+    for (int w = 0; w < hoursNeeded.length; ++w) {
+      hoursNeeded[w] |= undo[offset + w];
+    }
+  }
+
+  /**
+   * Marks every hour this candidate is available as covered in the given packed mask.
+   * 
+   * @param covered a packed set of hours; modified in place.
+   */
+  public void orInto(long[] covered) {
+    int n = Math.min(covered.length, availabilityBits.length);
+    for (int w = 0; w < n; ++w) {
+      covered[w] |= availabilityBits[w];
+    }
+  }
+
+  /**
+   * Removes every hour this candidate is available from the given packed mask. This is the packed
+   * equivalent of {@link #hire(boolean[])}, but works in place.
+   * 
+   * @param hoursNeeded a packed set of hours; modified in place.
+   */
+  public void andNotFrom(long[] hoursNeeded) {
+    int n = Math.min(hoursNeeded.length, availabilityBits.length);
+    for (int w = 0; w < n; ++w) {
+      hoursNeeded[w] &= ~availabilityBits[w];
+    }
+  }
+
+  /**
+   * @return the number of hours this candidate is available.
+   */
+  public int numAvailableHours() {
+    return popcount(availabilityBits);
+  }
+
+  /**
+   * Counts the hours this candidate would add to the given packed set of covered hours.
+   * 
+   * @param covered a packed set of hours that are already covered.
+   * @return the number of hours this candidate is available that are not in covered.
+   */
+  public int numNewHours(long[] covered) {
+    int n = Math.min(covered.length, availabilityBits.length);
+    int count = 0;
+    for (int w = 0; w < n; ++w) {
+      count += Long.bitCount(availabilityBits[w] & ~covered[w]);
+    }
+    for (int w = n; w < availabilityBits.length; ++w) {
+      count += Long.bitCount(availabilityBits[w]);
+    }
+    return count;
+  }
+
+  /**
+   * @param numHours the number of hours in a schedule.
+   * @return the number of 64-bit words needed to pack a schedule of numHours hours.
+   */
+  public static int numWords(int numHours) {
+    return (numHours + 63) >>> 6;
+  }
+
+  /**
+   * Packs an availability array into 64-bit words.
+   * 
+   * @param availability one boolean for each hour of the schedule.
+   * @return the packed availability; bit (h % 64) of word (h / 64) is availability[h].
+   */
+  public static long[] pack(boolean[] availability) {
+    long[] words = new long[numWords(availability.length)];
+    for (int h = 0; h < availability.length; ++h) {
+      if (availability[h]) {
+        words[h >>> 6] |= 1L << h;
+      }
+    }
+    return words;
+  }
+
+  /**
+   * @param words a packed set of hours.
+   * @return the number of bits set in words.
+   */
+  public static int popcount(long[] words) {
+    int count = 0;
+    for (long word : words) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
   /**
    * @param obj another Candidate to compare against this one
    * 
@@ -114,6 +485,14 @@ public class Candidate {
     }
   }
 
+  /**
+   * @return a hash code consistent with equals, which compares ids only.
+   */
+  @Override
+  public int hashCode() {
+    return Integer.hashCode(candidateId);
+  }
+
   /**
    * Prints a debugging view of this candidate. The output will be either
    * 
@@ -139,8 +518,8 @@ public class Candidate {
 
     s.append("[").append(candidateId).append("]");
 
-    for (boolean b : availability) {
-      s.append(b ? "#" : ".");
+    for (int h = 0; h < numHours; ++h) {
+      s.append(isAvailable(h) ? "#" : ".");
     }
 
     if (payRate != -1) {
@@ -0,0 +1,189 @@
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable list of hired candidates that shares structure with the lists it was built from.
+ * Adding a candidate with {@link #with(Candidate)} creates a single new link that points at the
+ * existing list, so the recursive solvers can extend their list of hires without copying it the way
+ * {@link CandidateList#withCandidate(Candidate)} does.
+ * 
+ * <p>
+ * Each link also remembers the number of hires, their total cost and the packed set of hours they
+ * cover, so those queries run in constant time.
+ */
+public final class CandidateChain {
+
+  /**
+   * The list with no candidates in it. Every chain ends with this link.
+   */
+  private static final CandidateChain EMPTY = new CandidateChain(null, null, 0, 0, new long[0], 0);
+
+  /**
+   * The most recently added candidate, or null for the empty list.
+   */
+  private final Candidate head;
+
+  /**
+   * The list as it was before head was added, or null for the empty list.
+   */
+  private final CandidateChain tail;
+
+  /**
+   * The number of candidates in this list.
+   */
+  private final int size;
+
+  /**
+   * The sum of the pay rates of the candidates in this list.
+   */
+  private final int totalCost;
+
+  /**
+   * The packed set of hours with at least one candidate in this list available.
+   */
+  private final long[] coveredBits;
+
+  /**
+   * The number of hours with at least one candidate in this list available.
+   */
+  private final int coveredHours;
+
+  /**
+   * Creates a new link. Use {@link #empty()}, {@link #of(List)} or {@link #with(Candidate)}
+   * instead.
+   */
+  private CandidateChain(Candidate head, CandidateChain tail, int size, int totalCost,
+      long[] coveredBits, int coveredHours) {
+    this.head = head;
+    this.tail = tail;
+    this.size = size;
+    this.totalCost = totalCost;
+    this.coveredBits = coveredBits;
+    this.coveredHours = coveredHours;
+  }
+
+  /**
+   * @return the list with no candidates in it.
+   */
+  public static CandidateChain empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Creates a chain containing the given candidates, in the same order.
+   * 
+   * @param candidates the candidates to put in the chain.
+   * @return a chain containing all of the given candidates.
+   */
+  public static CandidateChain of(List<Candidate> candidates) {
+    CandidateChain chain = EMPTY;
+    for (Candidate c : candidates) {
+      chain = chain.with(c);
+    }
+    return chain;
+  }
+
+  /**
+   * Returns a list containing the candidates in this list followed by c. This list is not changed.
+   * Unlike {@link CandidateList#withCandidate(Candidate)}, this does not check whether c is already
+   * in the list; the caller is responsible for not adding a candidate twice.
+   * 
+   * @param c a candidate to add.
+   * @return a new list that shares all of this list's links.
+   */
+  public CandidateChain with(Candidate c) {
+    long[] bits = c.getAvailabilityBits();
+    long[] covered = coveredBits;
+    if (bits.length > covered.length) {
+      covered = Arrays.copyOf(covered, bits.length);
+    } else {
+      covered = covered.clone();
+    }
+    c.orInto(covered);
+    return new CandidateChain(c, this, size + 1, totalCost + c.getPayRate(), covered,
+        coveredHours + c.numNewHours(coveredBits));
+  }
+
+  /**
+   * @return the most recently added candidate, or null if this list is empty.
+   */
+  public Candidate head() {
+    return head;
+  }
+
+  /**
+   * @return this list without its most recently added candidate, or null if this list is empty.
+   */
+  public CandidateChain tail() {
+    return tail;
+  }
+
+  /**
+   * @return the number of candidates in this list.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return true if this list has no candidates in it.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * @return the sum of pay rates for all candidates in this list.
+   */
+  public int totalCost() {
+    return totalCost;
+  }
+
+  /**
+   * @return the total number of hours that at least one candidate in this list is available.
+   */
+  public int numCoveredHours() {
+    return coveredHours;
+  }
+
+  /**
+   * Returns the packed set of hours covered by this list. The returned array is shared with this
+   * list and must not be modified.
+   * 
+   * @return the covered hours packed 64 hours per word.
+   */
+  public long[] getCoveredBits() {
+    return coveredBits;
+  }
+
+  /**
+   * @param c a candidate that is not in this list.
+   * @return the number of hours c would add to this list's coverage.
+   */
+  public int numNewHours(Candidate c) {
+    return c.numNewHours(coveredBits);
+  }
+
+  /**
+   * Copies this list into a new CandidateList, in the order the candidates were added.
+   * 
+   * @return a new CandidateList containing the candidates in this list.
+   */
+  public CandidateList toCandidateList() {
+    Candidate[] candidates = new Candidate[size];
+    CandidateChain link = this;
+    for (int i = size - 1; i >= 0; --i) {
+      candidates[i] = link.head;
+      link = link.tail;
+    }
+    return new CandidateList(Arrays.asList(candidates));
+  }
+
+  /**
+   * @return a helpful debugging view of the candidates in this list.
+   */
+  @Override
+  public String toString() {
+    return toCandidateList().toString();
+  }
+}
@@ -0,0 +1,405 @@
+import java.io.BufferedOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * A compact binary file of candidates that is memory-mapped instead of parsed. The file is
+ * little-endian and laid out as
+ * 
+ * <pre>{@code
+ * offset 0   "TAHC"                   magic
+ *        4   int version              currently 1
+ *        8   int hours                number of hours in every schedule
+ *       12   int count                number of candidates
+ *       16   int flags                bit 0 set if pay rates follow the availability rows
+ *       20   12 bytes of zeros        so the rows start 8-byte aligned
+ *       32   count rows of availability, each numWords(hours) longs packed as by Candidate.pack
+ *        .   count ints of pay rates  only if flags bit 0 is set
+ * }</pre>
+ * 
+ * Opening a file only reads the header and maps the rest, so it takes constant time; rows are
+ * paged in from disk as they are accessed. The row accessors ({@link #getWord(int, int)},
+ * {@link #isAvailable(int, int)}, {@link #getPayRate(int)}) read straight from the mapping without
+ * copying anything.
+ *
+ * <p>
+ * A Candidate keeps its availability in its own array, so turning rows into Candidates copies
+ * them: {@link #getCandidate(int)} copies one row, and {@link #toCandidateList()} copies every row
+ * once, straight into the arrays the Candidates keep. The solvers work on Candidates, so a program
+ * that solves a problem from a file (such as HiringDriver --binary) still takes time and memory
+ * proportional to the file size; what the file saves is the parsing, not the copy.
+ */
+public class CandidateFile {
+
+  /**
+   * The first four bytes of every candidate file.
+   */
+  private static final byte[] MAGIC = {'T', 'A', 'H', 'C'};
+
+  /**
+   * The version of the format written by this class.
+   */
+  private static final int VERSION = 1;
+
+  /**
+   * The size of the header in bytes.
+   */
+  private static final int HEADER_SIZE = 32;
+
+  /**
+   * The flag bit set when the file has pay rates.
+   */
+  private static final int FLAG_PAY_RATES = 1;
+
+  /**
+   * The number of hours in every schedule.
+   */
+  private final int numHours;
+
+  /**
+   * The number of candidates in the file.
+   */
+  private final int count;
+
+  /**
+   * The number of longs in each availability row.
+   */
+  private final int rowWords;
+
+  /**
+   * The availability rows, split into mappings of at most 2 GB each that hold whole rows.
+   */
+  private final ByteBuffer[] rowSegments;
+
+  /**
+   * rowSegments viewed as longs, for copying whole rows at once.
+   */
+  private final LongBuffer[] rowWordSegments;
+
+  /**
+   * The number of rows in each of rowSegments (except perhaps the last).
+   */
+  private final int rowsPerSegment;
+
+  /**
+   * The pay rates, split into mappings of at most 2 GB each, or null if the file has none.
+   */
+  private final ByteBuffer[] payRateSegments;
+
+  /**
+   * The number of pay rates in each of payRateSegments (except perhaps the last).
+   */
+  private final int payRatesPerSegment;
+
+  /**
+   * Maps a candidate file. Use {@link #open(Path)} instead.
+   */
+  private CandidateFile(FileChannel channel) throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    while (header.hasRemaining() && channel.read(header) != -1) {
+      // keep reading until the header is full or the file ends
+    }
+    header.flip();
+    if (header.remaining() < HEADER_SIZE) {
+      throw new IOException("Not a candidate file: too short");
+    }
+    for (byte b : MAGIC) {
+      if (header.get() != b) {
+        throw new IOException("Not a candidate file: bad magic number");
+      }
+    }
+    int version = header.getInt();
+    if (version != VERSION) {
+      throw new IOException("Unsupported candidate file version " + version);
+    }
+    this.numHours = header.getInt();
+    this.count = header.getInt();
+    int flags = header.getInt();
+    if (numHours < 0 || count < 0) {
+      throw new IOException("Corrupt candidate file header");
+    }
+
+    this.rowWords = Candidate.numWords(numHours);
+    long rowBytes = 8L * rowWords;
+    long payRateOffset = HEADER_SIZE + rowBytes * count;
+    long expectedSize = payRateOffset + ((flags & FLAG_PAY_RATES) != 0 ? 4L * count : 0);
+    if (channel.size() < expectedSize) {
+      throw new IOException("Truncated candidate file: expected " + expectedSize + " bytes, found "
+          + channel.size());
+    }
+
+    this.rowsPerSegment = (int) Math.max(1, Integer.MAX_VALUE / Math.max(rowBytes, 1));
+    this.rowSegments = map(channel, HEADER_SIZE, count, rowsPerSegment, rowBytes);
+    this.rowWordSegments = new LongBuffer[rowSegments.length];
+    for (int s = 0; s < rowSegments.length; ++s) {
+      rowWordSegments[s] = rowSegments[s].asLongBuffer();
+    }
+    if ((flags & FLAG_PAY_RATES) != 0) {
+      this.payRatesPerSegment = Integer.MAX_VALUE / 4;
+      this.payRateSegments = map(channel, payRateOffset, count, payRatesPerSegment, 4);
+    } else {
+      this.payRatesPerSegment = 0;
+      this.payRateSegments = null;
+    }
+  }
+
+  /**
+   * Maps a candidate file.
+   * 
+   * @param path the file to open.
+   * @return a view of the candidates in the file.
+   * @throws IOException if the file cannot be read or is not a valid candidate file.
+   */
+  public static CandidateFile open(Path path) throws IOException {
+    // the mappings stay valid after the channel is closed
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return new CandidateFile(channel);
+    }
+  }
+
+  /**
+   * @return the number of hours in every schedule.
+   */
+  public int getNumHours() {
+    return numHours;
+  }
+
+  /**
+   * @return the number of candidates in the file.
+   */
+  public int size() {
+    return count;
+  }
+
+  /**
+   * @return true if the file has a pay rate for each candidate.
+   */
+  public boolean hasPayRates() {
+    return payRateSegments != null;
+  }
+
+  /**
+   * @param i the index of a candidate in the file.
+   * @param w the index of a word of that candidate's availability.
+   * @return the w'th word of candidate i's packed availability.
+   */
+  public long getWord(int i, int w) {
+    checkIndex(i);
+    if (w < 0 || w >= rowWords) {
+      throw new IndexOutOfBoundsException("Word " + w + " out of bounds for " + rowWords);
+    }
+    return rowSegments[i / rowsPerSegment].getLong(
+        (int) ((long) (i % rowsPerSegment) * rowWords * 8 + 8L * w));
+  }
+
+  /**
+   * @param i the index of a candidate in the file.
+   * @param h the hour we want to check; index starts at 0.
+   * @return true if candidate i is available at hour h.
+   */
+  public boolean isAvailable(int i, int h) {
+    if (h < 0 || h >= numHours) {
+      throw new IndexOutOfBoundsException("Hour " + h + " out of bounds for " + numHours);
+    }
+    return (getWord(i, h >>> 6) & (1L << h)) != 0;
+  }
+
+  /**
+   * @param i the index of a candidate in the file.
+   * @return candidate i's pay rate, or -1 if the file has no pay rates.
+   */
+  public int getPayRate(int i) {
+    checkIndex(i);
+    if (payRateSegments == null) {
+      return -1;
+    }
+    return payRateSegments[i / payRatesPerSegment].getInt(4 * (i % payRatesPerSegment));
+  }
+
+  /**
+   * Copies candidate i's row into a new Candidate. Each call creates a new Candidate with a new id,
+   * so call it once per candidate (or use {@link #toCandidateList()}).
+   * 
+   * @param i the index of a candidate in the file.
+   * @return a new Candidate with candidate i's availability and pay rate.
+   */
+  public Candidate getCandidate(int i) {
+    return new Candidate(readRow(i), numHours, getPayRate(i));
+  }
+
+  /**
+   * @return a new list with one new Candidate per row of the file, in file order, with consecutive
+   *         ids (see {@link Candidate#createAll(long[][], int, int[], int)}).
+   */
+  public CandidateList toCandidateList() {
+    long[][] rows = new long[count][];
+    int[] payRates = hasPayRates() ? new int[count] : null;
+    for (int i = 0; i < count; ++i) {
+      rows[i] = readRow(i);
+      if (payRates != null) {
+        payRates[i] = getPayRate(i);
+      }
+    }
+    return Candidate.createAll(rows, numHours, payRates, count);
+  }
+
+  /**
+   * Writes candidates to a new candidate file.
+   * 
+   * @param path        the file to write; replaced if it exists.
+   * @param numHours    the number of hours in every schedule.
+   * @param candidates  the candidates to write, in order.
+   * @param hasPayRates true to write each candidate's pay rate.
+   * @throws IOException              if the file cannot be written.
+   * @throws IllegalArgumentException if a candidate's schedule is not numHours long.
+   */
+  public static void write(Path path, int numHours, List<Candidate> candidates,
+      boolean hasPayRates) throws IOException {
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path), 1 << 16)) {
+      writeHeader(out, numHours, candidates.size(), hasPayRates);
+      ByteBuffer row = ByteBuffer.allocate(8 * Candidate.numWords(numHours))
+          .order(ByteOrder.LITTLE_ENDIAN);
+      for (Candidate c : candidates) {
+        if (c.getNumHours() != numHours) {
+          throw new IllegalArgumentException("Expected " + numHours + " hours: " + c);
+        }
+        row.clear();
+        for (long word : c.getAvailabilityBits()) {
+          row.putLong(word);
+        }
+        out.write(row.array());
+      }
+      if (hasPayRates) {
+        ByteBuffer rate = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        for (Candidate c : candidates) {
+          rate.clear();
+          out.write(rate.putInt(c.getPayRate()).array());
+        }
+      }
+    }
+  }
+
+  /**
+   * Converts the HiringDriver text format to a candidate file, streaming one candidate at a time
+   * so that inputs larger than memory can be converted. The problem type and its parameter are
+   * read but not stored; type 2 means the candidates have pay rates.
+   * 
+   * @param text the text input, starting with "hours count type param".
+   * @param path the candidate file to write; replaced if it exists.
+   * @throws IOException if the input is malformed or the file cannot be written.
+   */
+  public static void convert(InputStream text, Path path) throws IOException {
+    HiringInputReader reader = new HiringInputReader(text);
+    int numHours = reader.nextInt();
+    int count = reader.nextInt();
+    int probType = reader.nextInt();
+    reader.nextInt(); // number of hires or hours; not part of the candidate file
+    if (numHours < 1 || count < 0 || (probType != 1 && probType != 2)) {
+      throw new IOException("Invalid problem header");
+    }
+    boolean hasPayRates = probType == 2;
+
+    // rows go straight to the file; pay rates are collected and appended after them
+    int[] payRates = new int[hasPayRates ? count : 0];
+    long[] bits = new long[Candidate.numWords(numHours)];
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path), 1 << 16)) {
+      writeHeader(out, numHours, count, hasPayRates);
+      ByteBuffer row = ByteBuffer.allocate(8 * bits.length).order(ByteOrder.LITTLE_ENDIAN);
+      for (int i = 0; i < count; ++i) {
+        reader.nextPackedBooleans(numHours, bits, 0);
+        if (hasPayRates) {
+          payRates[i] = reader.nextInt();
+        }
+        row.clear();
+        for (long word : bits) {
+          row.putLong(word);
+        }
+        out.write(row.array());
+      }
+      ByteBuffer rate = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+      for (int payRate : payRates) {
+        rate.clear();
+        out.write(rate.putInt(payRate).array());
+      }
+    }
+  }
+
+  /**
+   * Converts a text input file to a candidate file.
+   * 
+   * Usage: java CandidateFile <text input> <candidate file>
+   * 
+   * @param args the input and output file names.
+   */
+  public static void main(String[] args) {
+    if (args.length != 2) {
+      System.out.println("Usage: java CandidateFile <text input> <candidate file>");
+      System.exit(1);
+    }
+    try (InputStream in = new FileInputStream(args[0])) {
+      convert(in, Paths.get(args[1]));
+    } catch (IOException e) {
+      System.out.println("Error: " + e.getMessage());
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Writes the file header.
+   */
+  private static void writeHeader(OutputStream out, int numHours, int count, boolean hasPayRates)
+      throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    header.put(MAGIC).putInt(VERSION).putInt(numHours).putInt(count)
+        .putInt(hasPayRates ? FLAG_PAY_RATES : 0);
+    out.write(header.array());
+  }
+
+  /**
+   * Maps a region of fixed-size records as a series of read-only buffers of whole records.
+   */
+  private static ByteBuffer[] map(FileChannel channel, long offset, int records,
+      int recordsPerSegment, long recordBytes) throws IOException {
+    int numSegments = (records + recordsPerSegment - 1) / recordsPerSegment;
+    ByteBuffer[] segments = new ByteBuffer[numSegments];
+    for (int s = 0; s < numSegments; ++s) {
+      int inSegment = Math.min(recordsPerSegment, records - s * recordsPerSegment);
+      MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY,
+          offset + (long) s * recordsPerSegment * recordBytes, inSegment * recordBytes);
+      segments[s] = segment.order(ByteOrder.LITTLE_ENDIAN);
+    }
+    return segments;
+  }
+
+  /**
+   * @param i the index of a candidate in the file.
+   * @return a new array holding candidate i's packed availability, copied in one bulk read.
+   */
+  private long[] readRow(int i) {
+    checkIndex(i);
+    long[] row = new long[rowWords];
+    rowWordSegments[i / rowsPerSegment].get((i % rowsPerSegment) * rowWords, row);
+    return row;
+  }
+
+  /**
+   * @param i an index that should be a candidate in the file.
+   */
+  private void checkIndex(int i) {
+    if (i < 0 || i >= count) {
+      throw new IndexOutOfBoundsException("Candidate " + i + " out of bounds for " + count);
+    }
+  }
+}
@@ -1,6 +1,10 @@
 import java.io.Serial;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.RandomAccess;
 
 /**
  * This class extends ArrayList by adding utilities related to the hiring problem. Note that you may
@@ -13,6 +17,20 @@ public class CandidateList extends ArrayList<Candidate> {
   @Serial
   private static final long serialVersionUID = -1605782814356060242L;
 
+  /**
+   * Per-hour counts of the candidates in this list, with the covered hours and total cost. Not
+   * serialized; rebuilt on the first query after deserialization.
+   */
+  private transient CoverageCounter counts = new CoverageCounter(0);
+
+  /**
+   * The value of modCount when the counters above were last known to match the list contents.
+   * add, remove, set and clear update the counters directly, as does set on a subList view; any
+   * other structural change (e.g. removeIf, retainAll, or removing through a subList) is caught by
+   * comparing against modCount and the counters are rebuilt on the next query.
+   */
+  private int countedModCount;
+
   /**
    * Creates a new empty CandidateList
    */
@@ -28,6 +46,17 @@ public class CandidateList extends ArrayList<Candidate> {
    */
   public CandidateList(List<Candidate> candidates) {
     super(candidates);
+    SolverStats stats = SolverStats.active();
+    if (stats != null) {
+      stats.copied();
+    }
+    if (candidates instanceof CandidateList other && other.countsInSync()) {
+      // Copying another CandidateList: its counters are already correct
+      this.counts = other.counts.copy();
+      this.countedModCount = this.modCount;
+    } else {
+      recount();
+    }
   }
 
   /**
@@ -91,27 +120,65 @@ public class CandidateList extends ArrayList<Candidate> {
    * method should return 3, as the hours of 5 PM, 6 PM, and 8 PM have at least one hired candidate
    * who is available.
    *
+   * The count is kept up to date as candidates are added and removed, so this method runs in
+   * constant time.
+   *
    * @return the total number of hours during the day that there is at least one hired candidate who
    *         is available to hold office hours
    */
   public int numCoveredHours() {
-    if (this.size() == 0)
-      return 0;
+    syncCounts();
+    return counts.numCoveredHours();
+  }
 
-    int hours = 0;
-    // For each hour...
-    for (int h = 0; h < this.get(0).getAvailability().length; ++h) {
-      for (Candidate c : this) {
-        if (c.isAvailable(h)) {
-          // If ANY candidate is available at this hour, increment the number of hours available
-          hours++;
-          // To stop double-counting
-          break;
-        }
-      }
+  /**
+   * Multi-coverage version of {@link #numCoveredHours()} for hours that need more than one TA at
+   * once: each hour h counts for as many of the demand[h] TAs needed as there are candidates in
+   * this list available then. With a demand of 1 at every hour this is numCoveredHours().
+   * 
+   * @param demand demand[h] is the (non-negative) number of TAs needed at hour h; hours past the
+   *               end of the array need none.
+   * @return the sum over hours h of min(demand[h], the number of candidates available at h)
+   */
+  public int numCoveredHours(int[] demand) {
+    syncCounts();
+    int covered = 0;
+    for (int h = 0; h < demand.length; ++h) {
+      covered += Math.min(demand[h], counts.getHourCount(h));
     }
+    return covered;
+  }
+
+  /**
+   * Returns the packed set of hours covered by this list. The returned array is shared with this
+   * list, must not be modified, and is only valid until the list is next modified.
+   * 
+   * @return the covered hours packed 64 hours per word.
+   */
+  public long[] getCoveredBits() {
+    syncCounts();
+    return counts.getCoveredBits();
+  }
+
+  /**
+   * @param h the hour we want to check; index starts at 0.
+   * @return the number of candidates in this list who are available at hour h.
+   */
+  public int getHourCount(int h) {
+    syncCounts();
+    return counts.getHourCount(h);
+  }
 
-    return hours;
+  /**
+   * Computes how many more hours would be covered if the given candidate were added to this list,
+   * without copying the list.
+   * 
+   * @param c a candidate that is not in this list.
+   * @return withCandidate(c).numCoveredHours() - numCoveredHours()
+   */
+  public int numNewHours(Candidate c) {
+    syncCounts();
+    return counts.numNewHours(c);
   }
 
   /**
@@ -120,11 +187,214 @@ public class CandidateList extends ArrayList<Candidate> {
    * @return the sum of pay rates for all candidates in this list.
    */
   public int totalCost() {
-    int total = 0;
-    for (Candidate c : this) {
-      total += c.getPayRate();
+    syncCounts();
+    return counts.totalCost();
+  }
+
+  @Override
+  public boolean add(Candidate c) {
+    boolean inSync = countsInSync();
+    super.add(c);
+    updateCounts(inSync, c, 1);
+    return true;
+  }
+
+  @Override
+  public void add(int index, Candidate c) {
+    boolean inSync = countsInSync();
+    super.add(index, c);
+    updateCounts(inSync, c, 1);
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends Candidate> candidates) {
+    boolean inSync = countsInSync();
+    // candidates may be this list, which grows as it is added
+    Object[] added = candidates.toArray();
+    boolean changed = super.addAll(candidates);
+    for (Object c : added) {
+      updateCounts(inSync, (Candidate) c, 1);
+    }
+    return changed;
+  }
+
+  @Override
+  public boolean addAll(int index, Collection<? extends Candidate> candidates) {
+    boolean inSync = countsInSync();
+    Object[] added = candidates.toArray();
+    boolean changed = super.addAll(index, candidates);
+    for (Object c : added) {
+      updateCounts(inSync, (Candidate) c, 1);
+    }
+    return changed;
+  }
+
+  @Override
+  public Candidate remove(int index) {
+    boolean inSync = countsInSync();
+    Candidate removed = super.remove(index);
+    updateCounts(inSync, removed, -1);
+    return removed;
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    // Remove by index so that the counters are updated with the element actually stored
+    int index = indexOf(o);
+    if (index < 0) {
+      return false;
+    }
+    remove(index);
+    return true;
+  }
+
+  @Override
+  public Candidate set(int index, Candidate c) {
+    boolean inSync = countsInSync();
+    Candidate old = super.set(index, c);
+    updateCounts(inSync, old, -1);
+    updateCounts(inSync, c, 1);
+    return old;
+  }
+
+  @Override
+  public void clear() {
+    super.clear();
+    counts = new CoverageCounter(0);
+    countedModCount = modCount;
+  }
+
+  /**
+   * Returns a view of part of this list, as ArrayList.subList does, whose set method also updates
+   * this list's counters.
+   */
+  @Override
+  public List<Candidate> subList(int fromIndex, int toIndex) {
+    return new SubList(super.subList(fromIndex, toIndex));
+  }
+
+  /**
+   * Returns a copy of this list with its own counters, so changes to one do not affect the other.
+   *
+   * @return a shallow copy of this list.
+   */
+  @Override
+  public CandidateList clone() {
+    CandidateList copy = (CandidateList) super.clone();
+    copy.counts = countsInSync() ? counts.copy() : null;
+    copy.countedModCount = copy.modCount;
+    return copy;
+  }
+
+  @Override
+  public void sort(Comparator<? super Candidate> c) {
+    // Reordering does not change any of the counters
+    boolean inSync = countsInSync();
+    super.sort(c);
+    if (inSync) {
+      countedModCount = modCount;
+    }
+  }
+
+  /**
+   * Adds (delta = 1) or removes (delta = -1) a candidate's hours and pay rate from the counters.
+   * This costs time proportional to the number of hours the candidate is available.
+   * 
+   * @param inSync true if the counters matched the list before the change that is being recorded;
+   *               if false, the counters are left for syncCounts() to rebuild.
+   * @param c      the candidate that was added or removed; null is ignored.
+   * @param delta  1 if c was added, -1 if it was removed.
+   */
+  private void updateCounts(boolean inSync, Candidate c, int delta) {
+    if (!inSync) {
+      return;
+    }
+    countedModCount = modCount;
+    if (c == null) {
+      return;
+    }
+
+    if (delta > 0) {
+      counts.add(c);
+    } else {
+      counts.remove(c);
+    }
+  }
+
+  /**
+   * @return true if the counters match the current contents of the list.
+   */
+  private boolean countsInSync() {
+    return counts != null && countedModCount == modCount;
+  }
+
+  /**
+   * Rebuilds the counters if the list was changed by an operation that does not update them.
+   */
+  private void syncCounts() {
+    if (!countsInSync()) {
+      recount();
+    }
+  }
+
+  /**
+   * Rebuilds all of the counters from the current contents of the list.
+   */
+  private void recount() {
+    counts = new CoverageCounter(this, 0);
+    countedModCount = modCount;
+  }
+
+  /**
+   * A subList view of this list. ArrayList's own view writes set straight to the backing array
+   * without changing modCount, so set goes through the counters here; adding and removing through
+   * the view change modCount and are caught by countsInSync.
+   */
+  private class SubList extends AbstractList<Candidate> implements RandomAccess {
+
+    /**
+     * ArrayList's view of the same part of this list.
+     */
+    private final List<Candidate> view;
+
+    /**
+     * Wraps one of ArrayList's subList views.
+     */
+    private SubList(List<Candidate> view) {
+      this.view = view;
+    }
+
+    @Override
+    public Candidate get(int index) {
+      return view.get(index);
+    }
+
+    @Override
+    public int size() {
+      return view.size();
+    }
+
+    @Override
+    public Candidate set(int index, Candidate c) {
+      boolean inSync = countsInSync();
+      Candidate old = view.set(index, c);
+      updateCounts(inSync, old, -1);
+      updateCounts(inSync, c, 1);
+      return old;
+    }
+
+    @Override
+    public void add(int index, Candidate c) {
+      view.add(index, c);
+      modCount++;
+    }
+
+    @Override
+    public Candidate remove(int index) {
+      Candidate removed = view.remove(index);
+      modCount++;
+      return removed;
     }
-    return total;
   }
 
   /**
@@ -0,0 +1,376 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A column-oriented copy of a list of candidates for solvers that scan many candidates per step.
+ * Instead of one Candidate object (and one availability array) per candidate, the pool keeps
+ * every candidate's packed availability in one contiguous array of rows, and the pay rates and ids
+ * in int arrays, so scanning the candidates in order reads memory sequentially.
+ *
+ * <p>
+ * Candidates are referred to by their index in the pool, and sets of candidates by int arrays of
+ * indices. {@link #toCandidateList(int[])} turns such a set back into the original Candidate
+ * objects; {@link #indicesOf(List)} does the reverse. {@link PoolHiring} has the solvers.
+ *
+ * <p>
+ * A pool can be kept across changes to its candidates with {@link #add(Candidate)},
+ * {@link #set(int, Candidate)} and {@link #remove(int)}, which leave every other candidate at the
+ * same index: a removed candidate's index stays in the pool, and the solvers skip it. These
+ * methods must not be called while a solver or another thread is using the pool.
+ */
+public final class CandidatePool {
+
+  /**
+   * The number of hours in every row; the longest schedule of any candidate in the pool.
+   */
+  private int numHours;
+
+  /**
+   * The number of words in each row.
+   */
+  private int numWords;
+
+  /**
+   * The number of candidates in the pool, including removed ones.
+   */
+  private int size;
+
+  /**
+   * The number of removed candidates.
+   */
+  private int numRemoved;
+
+  /**
+   * Candidate i's availability is words [i * numWords, (i + 1) * numWords), packed as by
+   * {@link Candidate#pack(boolean[])}. May be longer than size rows.
+   */
+  private long[] rows;
+
+  /**
+   * payRates[i] is candidate i's pay rate, or -1 if it has none.
+   */
+  private int[] payRates;
+
+  /**
+   * ids[i] is candidate i's id.
+   */
+  private int[] ids;
+
+  /**
+   * The candidates the pool holds, for turning indices back into candidates; null at the index
+   * of a removed candidate.
+   */
+  private Candidate[] candidates;
+
+  /**
+   * Maps ids to indices; built the first time indicesOf is called.
+   */
+  private volatile Map<Integer, Integer> indexById;
+
+  /**
+   * Creates a pool of the given candidates, in the same order.
+   *
+   * @param candidates the candidates; candidate i of the pool is candidates.get(i).
+   */
+  public CandidatePool(List<Candidate> candidates) {
+    this.candidates = candidates.toArray(new Candidate[0]);
+    int hours = 0;
+    for (Candidate c : this.candidates) {
+      hours = Math.max(hours, c.getNumHours());
+    }
+    this.numHours = hours;
+    this.numWords = Candidate.numWords(hours);
+
+    int n = this.candidates.length;
+    this.size = n;
+    this.rows = new long[Math.multiplyExact(n, numWords)];
+    this.payRates = new int[n];
+    this.ids = new int[n];
+    for (int i = 0; i < n; ++i) {
+      long[] bits = this.candidates[i].getAvailabilityBits();
+      System.arraycopy(bits, 0, rows, i * numWords, bits.length);
+      payRates[i] = this.candidates[i].getPayRate();
+      ids[i] = this.candidates[i].getId();
+    }
+  }
+
+  /**
+   * @return the number of candidates in the pool, including removed ones: every index below this
+   *         is a candidate or a removed one.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return the number of candidates removed from the pool.
+   */
+  public int numRemoved() {
+    return numRemoved;
+  }
+
+  /**
+   * @param i the index of a candidate in the pool.
+   * @return true if candidate i was removed.
+   */
+  public boolean isRemoved(int i) {
+    return candidates[i] == null;
+  }
+
+  /**
+   * Adds a candidate at the end of the pool. Takes amortized time proportional to its row, unless
+   * its schedule is longer than any in the pool, which widens every row.
+   *
+   * @param c the candidate to add.
+   * @return its index.
+   */
+  public int add(Candidate c) {
+    if (size == candidates.length) {
+      int capacity = Math.max(8, 2 * size);
+      rows = Arrays.copyOf(rows, Math.multiplyExact(capacity, numWords));
+      payRates = Arrays.copyOf(payRates, capacity);
+      ids = Arrays.copyOf(ids, capacity);
+      candidates = Arrays.copyOf(candidates, capacity);
+    }
+    put(size++, c);
+    return size - 1;
+  }
+
+  /**
+   * Replaces candidate i (or fills in a removed one) with another candidate.
+   *
+   * @param i the index of a candidate in the pool.
+   * @param c the candidate to put at index i.
+   */
+  public void set(int i, Candidate c) {
+    if (candidates[i] == null) {
+      numRemoved--;
+    }
+    put(i, c);
+  }
+
+  /**
+   * Writes c's row, pay rate and id at index i, in place of whatever was there.
+   */
+  private void put(int i, Candidate c) {
+    if (c.getNumHours() > numHours) {
+      widen(c.getNumHours());
+    }
+    unindex(i);
+    long[] bits = c.getAvailabilityBits();
+    Arrays.fill(rows, i * numWords, (i + 1) * numWords, 0);
+    System.arraycopy(bits, 0, rows, i * numWords, bits.length);
+    payRates[i] = c.getPayRate();
+    ids[i] = c.getId();
+    candidates[i] = c;
+    if (indexById != null) {
+      indexById.putIfAbsent(ids[i], i);
+    }
+  }
+
+  /**
+   * Removes candidate i; the other candidates keep their indices, and the solvers skip i.
+   *
+   * @param i the index of a candidate in the pool.
+   */
+  public void remove(int i) {
+    if (candidates[i] == null) {
+      return;
+    }
+    unindex(i);
+    Arrays.fill(rows, i * numWords, (i + 1) * numWords, 0);
+    candidates[i] = null;
+    numRemoved++;
+  }
+
+  /**
+   * Takes candidate i out of indexById, if it is there.
+   */
+  private void unindex(int i) {
+    if (indexById != null && candidates[i] != null) {
+      indexById.remove(ids[i], i);
+    }
+  }
+
+  /**
+   * Makes every row wide enough for the given number of hours.
+   */
+  private void widen(int hours) {
+    int words = Candidate.numWords(hours);
+    if (words > numWords) {
+      long[] wider = new long[Math.multiplyExact(candidates.length, words)];
+      for (int i = 0; i < size; ++i) {
+        System.arraycopy(rows, i * numWords, wider, i * words, numWords);
+      }
+      rows = wider;
+      numWords = words;
+    }
+    numHours = hours;
+  }
+
+  /**
+   * @return the number of hours in every row.
+   */
+  public int getNumHours() {
+    return numHours;
+  }
+
+  /**
+   * @return the number of 64-bit words in every row.
+   */
+  public int getNumWords() {
+    return numWords;
+  }
+
+  /**
+   * Returns every candidate's packed availability, one row after another: candidate i's is words
+   * [i * getNumWords(), (i + 1) * getNumWords()). The returned array is shared with this pool and
+   * must not be modified.
+   *
+   * @return the rows of the pool.
+   */
+  public long[] getRows() {
+    return rows;
+  }
+
+  /**
+   * @param i the index of a candidate in the pool.
+   * @return candidate i's pay rate, or -1 if it has none.
+   */
+  public int getPayRate(int i) {
+    return payRates[i];
+  }
+
+  /**
+   * @param i the index of a candidate in the pool.
+   * @return candidate i's id.
+   */
+  public int getId(int i) {
+    return ids[i];
+  }
+
+  /**
+   * @param i the index of a candidate in the pool.
+   * @return the Candidate at index i, or null if it was removed.
+   */
+  public Candidate getCandidate(int i) {
+    return candidates[i];
+  }
+
+  /**
+   * @param i the index of a candidate in the pool.
+   * @param h an hour; index starts at 0.
+   * @return true if candidate i is available at hour h.
+   */
+  public boolean isAvailable(int i, int h) {
+    if (h < 0 || h >= numHours) {
+      throw new ArrayIndexOutOfBoundsException("Index " + h + " out of bounds for length "
+          + numHours);
+    }
+    return (rows[i * numWords + (h >>> 6)] & (1L << h)) != 0;
+  }
+
+  /**
+   * Counts the hours candidate i would add to a packed set of covered hours.
+   *
+   * @param i       the index of a candidate in the pool.
+   * @param covered a packed set of hours at least getNumWords() words long.
+   * @return the number of hours candidate i is available that are not in covered.
+   */
+  public int numNewHours(int i, long[] covered) {
+    int offset = i * numWords;
+    int count = 0;
+    for (int w = 0; w < numWords; ++w) {
+      count += Long.bitCount(rows[offset + w] & ~covered[w]);
+    }
+    return count;
+  }
+
+  /**
+   * Marks every hour candidate i is available as covered.
+   *
+   * @param i       the index of a candidate in the pool.
+   * @param covered a packed set of hours at least getNumWords() words long; modified in place.
+   */
+  public void orInto(int i, long[] covered) {
+    int offset = i * numWords;
+    for (int w = 0; w < numWords; ++w) {
+      covered[w] |= rows[offset + w];
+    }
+  }
+
+  /**
+   * @param indices indices of candidates in the pool.
+   * @return a new packed set of the hours covered by those candidates, getNumWords() words long.
+   */
+  public long[] getCoveredBits(int[] indices) {
+    long[] covered = new long[numWords];
+    for (int i : indices) {
+      orInto(i, covered);
+    }
+    return covered;
+  }
+
+  /**
+   * @param indices indices of candidates in the pool.
+   * @return the number of hours covered by those candidates.
+   */
+  public int numCoveredHours(int[] indices) {
+    return Candidate.popcount(getCoveredBits(indices));
+  }
+
+  /**
+   * @param indices indices of candidates in the pool.
+   * @return the sum of those candidates' pay rates.
+   */
+  public int totalCost(int[] indices) {
+    int total = 0;
+    for (int i : indices) {
+      total += payRates[i];
+    }
+    return total;
+  }
+
+  /**
+   * @param indices indices of candidates in the pool.
+   * @return a new list of those candidates, in the same order.
+   */
+  public CandidateList toCandidateList(int[] indices) {
+    CandidateList list = new CandidateList();
+    for (int i : indices) {
+      list.add(candidates[i]);
+    }
+    return list;
+  }
+
+  /**
+   * Finds the indices of candidates in the pool, matching them by id as Candidate.equals does.
+   *
+   * @param list candidates that are in the pool.
+   * @return the index of each one, in the same order.
+   * @throws IllegalArgumentException if a candidate is not in the pool.
+   */
+  public int[] indicesOf(List<Candidate> list) {
+    Map<Integer, Integer> index = indexById;
+    if (index == null) {
+      index = new HashMap<>();
+      for (int i = size - 1; i >= 0; --i) {
+        if (candidates[i] != null) {
+          index.put(ids[i], i);
+        }
+      }
+      indexById = index;
+    }
+    int[] indices = new int[list.size()];
+    for (int j = 0; j < indices.length; ++j) {
+      Integer i = index.get(list.get(j).getId());
+      if (i == null) {
+        throw new IllegalArgumentException("Not in the pool: " + list.get(j));
+      }
+      indices[j] = i;
+    }
+    return indices;
+  }
+}
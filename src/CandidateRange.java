@@ -0,0 +1,213 @@
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable view of a contiguous range of a list of candidates, used by the recursive solvers
+ * for the candidates they have not decided on yet. Dropping candidates from the front of the range
+ * with {@link #rest()} or {@link #from(int)} creates a new view over the same array instead of
+ * copying the list the way {@link CandidateList#withoutCandidate(Candidate)} does.
+ * 
+ * <p>
+ * When the view is first created it also computes, for every position, the packed set of hours
+ * covered by the candidates from that position to the end. Every view shares those sets, so the
+ * coverage of a range is available in constant time.
+ */
+public final class CandidateRange {
+
+  /**
+   * The candidates this range is a view of. Shared by all ranges created from the same list.
+   */
+  private final Candidate[] candidates;
+
+  /**
+   * suffixCoveredBits[i] is the packed set of hours covered by candidates[i], ...,
+   * candidates[candidates.length - 1]. Shared by all ranges created from the same list.
+   */
+  private final long[][] suffixCoveredBits;
+
+  /**
+   * suffixCoveredHours[i] is the number of bits set in suffixCoveredBits[i].
+   */
+  private final int[] suffixCoveredHours;
+
+  /**
+   * The index in candidates of the first candidate in this range.
+   */
+  private final int start;
+
+  /**
+   * Creates a range containing all of the given candidates, in the same order.
+   * 
+   * @param candidates the candidates to put in the range.
+   */
+  public CandidateRange(List<Candidate> candidates) {
+    this.candidates = candidates.toArray(new Candidate[0]);
+    int n = this.candidates.length;
+
+    int numWords = 0;
+    for (Candidate c : this.candidates) {
+      numWords = Math.max(numWords, c.getAvailabilityBits().length);
+    }
+
+    this.suffixCoveredBits = new long[n + 1][];
+    this.suffixCoveredHours = new int[n + 1];
+    this.suffixCoveredBits[n] = new long[numWords];
+    for (int i = n - 1; i >= 0; --i) {
+      long[] covered = suffixCoveredBits[i + 1].clone();
+      this.candidates[i].orInto(covered);
+      suffixCoveredBits[i] = covered;
+      suffixCoveredHours[i] = Candidate.popcount(covered);
+    }
+    this.start = 0;
+  }
+
+  /**
+   * Creates a view sharing the arrays of another range. Use {@link #from(int)} instead.
+   */
+  private CandidateRange(CandidateRange other, int start) {
+    this.candidates = other.candidates;
+    this.suffixCoveredBits = other.suffixCoveredBits;
+    this.suffixCoveredHours = other.suffixCoveredHours;
+    this.start = start;
+  }
+
+  /**
+   * @return the number of candidates in this range.
+   */
+  public int size() {
+    return candidates.length - start;
+  }
+
+  /**
+   * @return true if there are no candidates in this range.
+   */
+  public boolean isEmpty() {
+    return start == candidates.length;
+  }
+
+  /**
+   * @param i an index into this range; index starts at 0.
+   * @return the candidate at index i of this range.
+   */
+  public Candidate get(int i) {
+    if (i < 0 || start + i >= candidates.length) {
+      throw new IndexOutOfBoundsException("Index " + i + " out of bounds for range of size "
+          + size());
+    }
+    return candidates[start + i];
+  }
+
+  /**
+   * @return the first candidate in this range.
+   */
+  public Candidate first() {
+    return get(0);
+  }
+
+  /**
+   * @return this range without its first candidate.
+   */
+  public CandidateRange rest() {
+    return from(1);
+  }
+
+  /**
+   * @param offset the number of candidates to drop from the front of this range.
+   * @return a view of this range starting at index offset.
+   */
+  public CandidateRange from(int offset) {
+    if (offset < 0 || offset > size()) {
+      throw new IndexOutOfBoundsException("Offset " + offset + " out of bounds for range of size "
+          + size());
+    }
+    return offset == 0 ? this : new CandidateRange(this, start + offset);
+  }
+
+  /**
+   * @return the total number of hours that at least one candidate in this range is available.
+   */
+  public int numCoveredHours() {
+    return suffixCoveredHours[start];
+  }
+
+  /**
+   * Counts the hours covered by this range together with the given hours, without allocating.
+   * 
+   * @param covered a packed set of hours that are already covered, e.g. by the hires so far.
+   * @return the number of hours in covered or covered by a candidate in this range.
+   */
+  public int numCoveredHoursWith(long[] covered) {
+    return numCoveredHoursWith(0, covered);
+  }
+
+  /**
+   * Counts the hours covered by the candidates from index offset to the end of this range together
+   * with the given hours. Equivalent to from(offset).numCoveredHoursWith(covered), without creating
+   * the view.
+   *
+   * @param offset  the number of candidates to leave out from the front of this range.
+   * @param covered a packed set of hours that are already covered, e.g. by the hires so far.
+   * @return the number of hours in covered or covered by a candidate in this range from offset on.
+   */
+  public int numCoveredHoursWith(int offset, long[] covered) {
+    if (offset < 0 || offset > size()) {
+      throw new IndexOutOfBoundsException("Offset " + offset + " out of bounds for range of size "
+          + size());
+    }
+    long[] suffix = suffixCoveredBits[start + offset];
+    int n = Math.min(covered.length, suffix.length);
+    int count = 0;
+    for (int w = 0; w < n; ++w) {
+      count += Long.bitCount(covered[w] | suffix[w]);
+    }
+    for (int w = n; w < covered.length; ++w) {
+      count += Long.bitCount(covered[w]);
+    }
+    for (int w = n; w < suffix.length; ++w) {
+      count += Long.bitCount(suffix[w]);
+    }
+    return count;
+  }
+
+  /**
+   * Counts the hours out of a set of hours still needed that the candidates from index offset to
+   * the end of this range cover, without allocating. The packed counterpart of
+   * {@link #numCoveredHoursWith(int, long[])} for searches that track the hours not covered yet.
+   *
+   * @param offset      the number of candidates to leave out from the front of this range.
+   * @param hoursNeeded a packed set of hours that are not covered yet.
+   * @return the number of hours in hoursNeeded at which a candidate in this range from offset on
+   *         is available.
+   */
+  public int numHoursCovered(int offset, long[] hoursNeeded) {
+    if (offset < 0 || offset > size()) {
+      throw new IndexOutOfBoundsException("Offset " + offset + " out of bounds for range of size "
+          + size());
+    }
+    long[] suffix = suffixCoveredBits[start + offset];
+    int n = Math.min(hoursNeeded.length, suffix.length);
+    int count = 0;
+    for (int w = 0; w < n; ++w) {
+      count += Long.bitCount(hoursNeeded[w] & suffix[w]);
+    }
+    return count;
+  }
+
+  /**
+   * Copies this range into a new CandidateList.
+   * 
+   * @return a new CandidateList containing the candidates in this range.
+   */
+  public CandidateList toCandidateList() {
+    return new CandidateList(Arrays.asList(Arrays.copyOfRange(candidates, start,
+        candidates.length)));
+  }
+
+  /**
+   * @return a helpful debugging view of the candidates in this range.
+   */
+  @Override
+  public String toString() {
+    return toCandidateList().toString();
+  }
+}
@@ -0,0 +1,213 @@
+import java.util.Arrays;
+
+/**
+ * Mutable per-hour counts of how many candidates in a set are available. Adding or removing a
+ * candidate costs time proportional to the number of hours that candidate is available, and the
+ * number of covered hours and the total cost are always known, so solvers can hire a candidate,
+ * search deeper, and undo the hire in place instead of copying lists.
+ * 
+ * <p>
+ * The counter does not remember which candidates were added; removing a candidate that was never
+ * added leaves it in an undefined state.
+ */
+public final class CoverageCounter {
+
+  /**
+   * The number of added candidates available at each hour.
+   */
+  private int[] hourCounts;
+
+  /**
+   * The packed set of hours with at least one added candidate available.
+   */
+  private long[] coveredBits;
+
+  /**
+   * The number of hours with at least one added candidate available.
+   */
+  private int coveredHours;
+
+  /**
+   * The sum of the pay rates of the added candidates.
+   */
+  private int totalCost;
+
+  /**
+   * The number of added candidates.
+   */
+  private int size;
+
+  /**
+   * Creates an empty counter for a schedule with the given number of hours. The counter grows if a
+   * candidate with a longer schedule is added.
+   * 
+   * @param numHours the number of hours in the schedule.
+   */
+  public CoverageCounter(int numHours) {
+    this.hourCounts = new int[numHours];
+    this.coveredBits = new long[Candidate.numWords(numHours)];
+  }
+
+  /**
+   * Creates a counter with all of the given candidates added.
+   * 
+   * @param candidates the candidates to add; null entries are ignored.
+   * @param numHours   the number of hours in the schedule.
+   */
+  public CoverageCounter(Iterable<Candidate> candidates, int numHours) {
+    this(numHours);
+    for (Candidate c : candidates) {
+      if (c != null) {
+        add(c);
+      }
+    }
+  }
+
+  /**
+   * @return a new counter with the same counts as this one.
+   */
+  public CoverageCounter copy() {
+    CoverageCounter copy = new CoverageCounter(0);
+    copy.hourCounts = hourCounts.clone();
+    copy.coveredBits = coveredBits.clone();
+    copy.coveredHours = coveredHours;
+    copy.totalCost = totalCost;
+    copy.size = size;
+    return copy;
+  }
+
+  /**
+   * Adds a candidate's hours and pay rate to the counts.
+   * 
+   * @param c the candidate to add.
+   */
+  public void add(Candidate c) {
+    long[] bits = c.getAvailabilityBits();
+    ensureHours(c.getNumHours());
+    for (int w = 0; w < bits.length; ++w) {
+      long word = bits[w];
+      while (word != 0) {
+        int h = (w << 6) + Long.numberOfTrailingZeros(word);
+        word &= word - 1;
+        if (hourCounts[h]++ == 0) {
+          coveredHours++;
+          coveredBits[w] |= 1L << h;
+        }
+      }
+    }
+    totalCost += c.getPayRate();
+    size++;
+  }
+
+  /**
+   * Removes a previously added candidate's hours and pay rate from the counts.
+   * 
+   * @param c the candidate to remove.
+   */
+  public void remove(Candidate c) {
+    long[] bits = c.getAvailabilityBits();
+    for (int w = 0; w < bits.length; ++w) {
+      long word = bits[w];
+      while (word != 0) {
+        int h = (w << 6) + Long.numberOfTrailingZeros(word);
+        word &= word - 1;
+        if (--hourCounts[h] == 0) {
+          coveredHours--;
+          coveredBits[w] &= ~(1L << h);
+        }
+      }
+    }
+    totalCost -= c.getPayRate();
+    size--;
+  }
+
+  /**
+   * Removes every candidate from the counts.
+   */
+  public void clear() {
+    Arrays.fill(hourCounts, 0);
+    Arrays.fill(coveredBits, 0);
+    coveredHours = 0;
+    totalCost = 0;
+    size = 0;
+  }
+
+  /**
+   * @param c a candidate that has not been added.
+   * @return the number of hours that would become covered if c were added.
+   */
+  public int numNewHours(Candidate c) {
+    return c.numNewHours(coveredBits);
+  }
+
+  /**
+   * @param c a candidate that has been added.
+   * @return the number of hours that would become uncovered if c were removed.
+   */
+  public int numLostHours(Candidate c) {
+    long[] bits = c.getAvailabilityBits();
+    int lost = 0;
+    for (int w = 0; w < bits.length; ++w) {
+      long word = bits[w];
+      while (word != 0) {
+        int h = (w << 6) + Long.numberOfTrailingZeros(word);
+        word &= word - 1;
+        if (hourCounts[h] == 1) {
+          lost++;
+        }
+      }
+    }
+    return lost;
+  }
+
+  /**
+   * @param h the hour we want to check; index starts at 0.
+   * @return the number of added candidates available at hour h.
+   */
+  public int getHourCount(int h) {
+    return h < hourCounts.length ? hourCounts[h] : 0;
+  }
+
+  /**
+   * Returns the packed set of covered hours. The returned array is shared with this counter, must
+   * not be modified, and changes as candidates are added and removed.
+   * 
+   * @return the covered hours packed 64 hours per word.
+   */
+  public long[] getCoveredBits() {
+    return coveredBits;
+  }
+
+  /**
+   * @return the number of hours with at least one added candidate available.
+   */
+  public int numCoveredHours() {
+    return coveredHours;
+  }
+
+  /**
+   * @return the sum of the pay rates of the added candidates.
+   */
+  public int totalCost() {
+    return totalCost;
+  }
+
+  /**
+   * @return the number of added candidates.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Grows the count arrays so that they cover at least numHours hours.
+   * 
+   * @param numHours the number of hours in a candidate's schedule.
+   */
+  private void ensureHours(int numHours) {
+    if (numHours > hourCounts.length) {
+      hourCounts = Arrays.copyOf(hourCounts, numHours);
+      coveredBits = Arrays.copyOf(coveredBits, Candidate.numWords(numHours));
+    }
+  }
+}
@@ -0,0 +1,231 @@
+import java.util.Arrays;
+
+/**
+ * The multi-coverage counterpart of {@link CoverageCounter}: each hour h needs demand[h] candidates
+ * at once, and the coverage of a set of candidates is the sum over hours of min(demand[h], number
+ * of candidates available at h). With a demand of 1 at every hour this is the usual number of
+ * covered hours.
+ *
+ * <p>
+ * Besides the per-hour counts the counter keeps the packed set of hours whose demand is not met
+ * yet, so the gain of adding a candidate is a popcount over a few words, as cheap as for single
+ * coverage. Adding or removing a candidate costs time proportional to the number of hours that
+ * candidate is available. As with CoverageCounter, removing a candidate that was never added leaves
+ * the counter in an undefined state.
+ */
+public final class DemandCounter {
+
+  /**
+   * demand[h] is the number of candidates needed at hour h. Hours past the end need none.
+   */
+  private final int[] demand;
+
+  /**
+   * The number of added candidates available at each hour.
+   */
+  private final int[] hourCounts;
+
+  /**
+   * The packed set of hours h with hourCounts[h] < demand[h].
+   */
+  private final long[] unmetBits;
+
+  /**
+   * The sum over hours of min(demand[h], hourCounts[h]).
+   */
+  private int coverage;
+
+  /**
+   * The sum of the pay rates of the added candidates.
+   */
+  private int totalCost;
+
+  /**
+   * The number of added candidates.
+   */
+  private int size;
+
+  /**
+   * Creates an empty counter for the given demand.
+   *
+   * @param demand demand[h] is the number of candidates needed at hour h; copied. Hours past the
+   *               end of the array need none.
+   * @throws IllegalArgumentException if any demand is negative.
+   */
+  public DemandCounter(int[] demand) {
+    this.demand = demand.clone();
+    this.hourCounts = new int[demand.length];
+    this.unmetBits = new long[Candidate.numWords(demand.length)];
+    for (int h = 0; h < demand.length; ++h) {
+      if (demand[h] < 0) {
+        throw new IllegalArgumentException("Negative demand " + demand[h] + " at hour " + h);
+      }
+      if (demand[h] > 0) {
+        unmetBits[h >>> 6] |= 1L << h;
+      }
+    }
+  }
+
+  /**
+   * Creates a counter for the given demand with all of the given candidates added.
+   *
+   * @param candidates the candidates to add; null entries are ignored.
+   * @param demand     demand[h] is the number of candidates needed at hour h; copied.
+   * @throws IllegalArgumentException if any demand is negative.
+   */
+  public DemandCounter(Iterable<Candidate> candidates, int[] demand) {
+    this(demand);
+    for (Candidate c : candidates) {
+      if (c != null) {
+        add(c);
+      }
+    }
+  }
+
+  /**
+   * @param demand a demand for each hour.
+   * @return the sum of the demands, the largest coverage any set of candidates can reach.
+   */
+  public static int totalDemand(int[] demand) {
+    int total = 0;
+    for (int d : demand) {
+      total += d;
+    }
+    return total;
+  }
+
+  /**
+   * Adds a candidate's hours and pay rate to the counts.
+   *
+   * @param c the candidate to add.
+   */
+  public void add(Candidate c) {
+    long[] bits = c.getAvailabilityBits();
+    int words = Math.min(bits.length, unmetBits.length);
+    for (int w = 0; w < words; ++w) {
+      long word = bits[w];
+      while (word != 0) {
+        int h = (w << 6) + Long.numberOfTrailingZeros(word);
+        word &= word - 1;
+        if (h < hourCounts.length && hourCounts[h]++ < demand[h]) {
+          coverage++;
+          if (hourCounts[h] == demand[h]) {
+            unmetBits[w] &= ~(1L << h);
+          }
+        }
+      }
+    }
+    totalCost += c.getPayRate();
+    size++;
+  }
+
+  /**
+   * Removes a previously added candidate's hours and pay rate from the counts.
+   *
+   * @param c the candidate to remove.
+   */
+  public void remove(Candidate c) {
+    long[] bits = c.getAvailabilityBits();
+    int words = Math.min(bits.length, unmetBits.length);
+    for (int w = 0; w < words; ++w) {
+      long word = bits[w];
+      while (word != 0) {
+        int h = (w << 6) + Long.numberOfTrailingZeros(word);
+        word &= word - 1;
+        if (h < hourCounts.length && --hourCounts[h] < demand[h]) {
+          coverage--;
+          unmetBits[w] |= 1L << h;
+        }
+      }
+    }
+    totalCost -= c.getPayRate();
+    size--;
+  }
+
+  /**
+   * @param c a candidate that has not been added.
+   * @return how much the coverage would grow if c were added: the number of hours c is available
+   *         whose demand is not met yet.
+   */
+  public int numNewHours(Candidate c) {
+    return c.numHoursCovered(unmetBits);
+  }
+
+  /**
+   * @param c a candidate that has been added.
+   * @return how much the coverage would shrink if c were removed: the number of hours c is
+   *         available where no more candidates are available than needed.
+   */
+  public int numLostHours(Candidate c) {
+    long[] bits = c.getAvailabilityBits();
+    int words = Math.min(bits.length, unmetBits.length);
+    int lost = 0;
+    for (int w = 0; w < words; ++w) {
+      long word = bits[w];
+      while (word != 0) {
+        int h = (w << 6) + Long.numberOfTrailingZeros(word);
+        word &= word - 1;
+        if (h < hourCounts.length && hourCounts[h] <= demand[h]) {
+          lost++;
+        }
+      }
+    }
+    return lost;
+  }
+
+  /**
+   * @return the sum over hours of min(demand, number of added candidates available).
+   */
+  public int numCoveredHours() {
+    return coverage;
+  }
+
+  /**
+   * Returns the packed set of hours whose demand is not met. The returned array is shared with
+   * this counter, must not be modified, and changes as candidates are added and removed.
+   *
+   * @return the hours with fewer added candidates available than needed, packed 64 per word.
+   */
+  public long[] getUnmetBits() {
+    return unmetBits;
+  }
+
+  /**
+   * @param h the hour we want to check; index starts at 0.
+   * @return the number of added candidates available at hour h (counted up to the demand's
+   *         length; hours past it are not counted).
+   */
+  public int getHourCount(int h) {
+    return h < hourCounts.length ? hourCounts[h] : 0;
+  }
+
+  /**
+   * @return a copy of the demand this counter was created with.
+   */
+  public int[] getDemand() {
+    return demand.clone();
+  }
+
+  /**
+   * @return the sum of the pay rates of the added candidates.
+   */
+  public int totalCost() {
+    return totalCost;
+  }
+
+  /**
+   * @return the number of added candidates.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return the counts at every hour, for debugging.
+   */
+  @Override
+  public String toString() {
+    return "coverage " + coverage + " of " + totalDemand(demand) + ", counts "
+        + Arrays.toString(hourCounts);
+  }
+}
@@ -0,0 +1,319 @@
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Versions of the solvers in {@link Hiring} for hours that need more than one TA at once. Each
+ * takes a demand array, demand[h] being the number of TAs needed at hour h, and measures coverage
+ * as {@link CandidateList#numCoveredHours(int[])} does: the sum over hours of min(demand[h], the
+ * number of hires available at h). With a demand of 1 at every hour, each solver returns the same
+ * hires as its counterpart in Hiring.
+ *
+ * <p>
+ * The solvers hire and un-hire candidates in place on {@link DemandCounter}s, so evaluating a
+ * candidate's gain is a popcount against the hours whose demand is not met yet, and hiring one
+ * costs time proportional to the hours it is available.
+ */
+public class DemandHiring {
+
+  /**
+   * Greedy multi-coverage hiring: hires, one at a time, the first candidate that adds the most
+   * coverage, like Hiring.greedyHiring.
+   *
+   * @param candidates the set of available candidates to hire from (excluding already hired)
+   * @param hired      the list of those currently hired
+   * @param hiresLeft  the maximum number of candidates to hire
+   * @param demand     demand[h] is the number of TAs needed at hour h
+   * @return hired plus the greedily chosen hires
+   * @throws IllegalArgumentException if any demand is negative
+   */
+  public static CandidateList greedyHiring(CandidateList candidates, CandidateList hired,
+      int hiresLeft, int[] demand) {
+    DemandCounter counter = new DemandCounter(orEmpty(hired), demand);
+    if (hiresLeft <= 0) {
+      return (hired == null || hired.isEmpty()) ? new CandidateList() : hired;
+    }
+
+    CandidateList newHired = (hired == null) ? new CandidateList() : new CandidateList(hired);
+    boolean[] taken = new boolean[candidates.size()];
+    int picks = Math.min(hiresLeft, candidates.size());
+    for (int pick = 0; pick < picks; ++pick) {
+      // find the first candidate that increases coverage the most
+      int best = -1;
+      int maxDifference = -1;
+      for (int i = 0; i < candidates.size(); ++i) {
+        if (!taken[i]) {
+          int difference = counter.numNewHours(candidates.get(i));
+          if (difference > maxDifference) {
+            best = i;
+            maxDifference = difference;
+          }
+        }
+      }
+      taken[best] = true;
+      counter.add(candidates.get(best));
+      newHired.add(candidates.get(best));
+    }
+    return newHired;
+  }
+
+  /**
+   * Exhaustive multi-coverage hiring: finds the set of at most hiresLeft hires with the most
+   * coverage, with the same branch and bound as Hiring.optimalHiring.
+   *
+   * @param candidates the set of available candidates to hire from (excluding those already hired)
+   * @param hired      the list of those currently hired
+   * @param hiresLeft  the maximum number of candidates to hire
+   * @param demand     demand[h] is the number of TAs needed at hour h
+   * @return hired plus the hires with the most coverage, in list order
+   * @throws IllegalArgumentException if any demand is negative
+   */
+  public static CandidateList optimalHiring(CandidateList candidates, CandidateList hired,
+      int hiresLeft, int[] demand) {
+    Search search = new Search(candidates, hired, demand, hiresLeft);
+    if (hiresLeft <= 0) {
+      return (hired == null || hired.isEmpty()) ? new CandidateList() : hired;
+    }
+    search.bestHours = search.current.numCoveredHours();
+    search.maxHours = search.potential.numCoveredHours();
+    search.optimal(0, 0, hiresLeft);
+    return search.result(hired);
+  }
+
+  /**
+   * Min-cost multi-coverage hiring: finds the cheapest set of hires that, together with hired,
+   * reaches a coverage of at least minHours, like Hiring.minCoverageHiring.
+   *
+   * @param candidates the set of available candidates to hire from (excluding those already hired)
+   * @param hired      the set of candidates already hired
+   * @param minHours   the minimum coverage
+   * @param demand     demand[h] is the number of TAs needed at hour h
+   * @return hired plus the cheapest hires in list order, or null if even hiring everyone does not
+   *         reach minHours
+   * @throws IllegalArgumentException if any demand is negative
+   */
+  public static CandidateList minCoverageHiring(CandidateList candidates, CandidateList hired,
+      int minHours, int[] demand) {
+    Search search = new Search(candidates, hired, demand, candidates.size());
+    if (minHours <= 0 || search.current.numCoveredHours() >= minHours) {
+      return hired;
+    }
+    search.minHours = minHours;
+    search.bestCost = Integer.MAX_VALUE;
+    search.cheapest(0, 0);
+    return search.bestSize < 0 ? null : search.result(hired);
+  }
+
+  /**
+   * @return list, or an empty list if it is null.
+   */
+  private static Iterable<Candidate> orEmpty(CandidateList list) {
+    return list == null ? Collections.emptyList() : list;
+  }
+
+  /**
+   * The state of one optimalHiring or minCoverageHiring search.
+   */
+  private static class Search {
+
+    /**
+     * The candidates that may be hired, in list order.
+     */
+    private final Candidate[] candidates;
+
+    /**
+     * The hired candidates and the hires on the current search path.
+     */
+    private final DemandCounter current;
+
+    /**
+     * The hired candidates, the hires on the current path, and the candidates that may still be
+     * hired further down it: the most any extension of the path can cover.
+     */
+    private final DemandCounter potential;
+
+    /**
+     * chosen[d] is the index of the (d + 1)th hire on the current path.
+     */
+    private final int[] chosen;
+
+    /**
+     * The indices of the best hires found so far.
+     */
+    private final int[] best;
+
+    /**
+     * The number of hires in best, or -1 if no solution has been found.
+     */
+    private int bestSize = -1;
+
+    /**
+     * optimalHiring: the coverage of the best hires found so far.
+     */
+    private int bestHours;
+
+    /**
+     * optimalHiring: the most coverage any set of hires can reach.
+     */
+    private int maxHours;
+
+    /**
+     * optimalHiring: scratch space for maxGain.
+     */
+    private final int[] top;
+
+    /**
+     * minCoverageHiring: the coverage to reach.
+     */
+    private int minHours;
+
+    /**
+     * minCoverageHiring: the cost of the best hires found so far.
+     */
+    private int bestCost;
+
+    /**
+     * minCoverageHiring: true if no candidate has a negative pay rate, so hiring more never
+     * lowers the cost.
+     */
+    private final boolean costsOnlyGrow;
+
+    /**
+     * Sets up a search that hires at most maxHires candidates.
+     */
+    private Search(CandidateList candidates, CandidateList hired, int[] demand, int maxHires) {
+      this.candidates = candidates.toArray(new Candidate[0]);
+      this.current = new DemandCounter(orEmpty(hired), demand);
+      this.potential = new DemandCounter(orEmpty(hired), demand);
+      boolean nonNegative = true;
+      for (Candidate c : this.candidates) {
+        potential.add(c);
+        nonNegative &= c.getPayRate() >= 0;
+      }
+      this.costsOnlyGrow = nonNegative;
+      int depth = Math.max(0, Math.min(maxHires, this.candidates.length));
+      this.chosen = new int[depth];
+      this.best = new int[depth];
+      this.top = new int[depth];
+    }
+
+    /**
+     * Records the current path of depth hires as the best.
+     */
+    private void keep(int depth) {
+      System.arraycopy(chosen, 0, best, 0, depth);
+      bestSize = depth;
+    }
+
+    /**
+     * @return the sum of the picks largest gains of candidates[from..] on the current path. The
+     *         coverage is submodular (each hire adds no more than it would to a subset of the
+     *         hires), so this bounds what picks more hires can add.
+     */
+    private int maxGain(int from, int picks) {
+      int size = Math.min(picks, candidates.length - from);
+      if (size <= 0) {
+        return 0;
+      }
+      Arrays.fill(top, 0, size, 0);
+      for (int i = from; i < candidates.length; ++i) {
+        int gain = current.numNewHours(candidates[i]);
+        if (gain > top[size - 1]) {
+          int t = size - 1;
+          while (t > 0 && top[t - 1] < gain) {
+            top[t] = top[t - 1];
+            t--;
+          }
+          top[t] = gain;
+        }
+      }
+      int sum = 0;
+      for (int t = 0; t < size; ++t) {
+        sum += top[t];
+      }
+      return sum;
+    }
+
+    /**
+     * optimalHiring's branch and bound over candidates[from..], with depth hires on the path and
+     * hiresLeft more allowed. Candidates passed over at this level are taken out of potential
+     * while the later ones are searched, and put back before returning.
+     */
+    private void optimal(int depth, int from, int hiresLeft) {
+      int bestGain = maxGain(from, hiresLeft);
+      int i = from;
+      for (; i < candidates.length; ++i) {
+        // stop early once the most coverage possible is reached
+        if (bestHours >= maxHours) {
+          break;
+        }
+        // prune: hiring candidates[i] (and any of the ones after it) cannot beat the best so far
+        if (Math.min(current.numCoveredHours() + bestGain, potential.numCoveredHours())
+            <= bestHours) {
+          break;
+        }
+
+        current.add(candidates[i]);
+        chosen[depth] = i;
+        if (current.numCoveredHours() > bestHours) {
+          bestHours = current.numCoveredHours();
+          keep(depth + 1);
+        }
+        if (hiresLeft > 1) {
+          optimal(depth + 1, i + 1, hiresLeft - 1);
+        }
+        current.remove(candidates[i]);
+        potential.remove(candidates[i]);
+      }
+      for (int j = from; j < i; ++j) {
+        potential.add(candidates[j]);
+      }
+    }
+
+    /**
+     * minCoverageHiring's search over candidates[from..], with depth hires on the path: tries
+     * hiring each remaining candidate in turn, which visits the solutions in the same order as
+     * Hiring's hire-or-skip recursion.
+     */
+    private void cheapest(int depth, int from) {
+      int i = from;
+      for (; i < candidates.length; ++i) {
+        // no extension of the path through candidates[i..] reaches minHours
+        if (potential.numCoveredHours() < minHours) {
+          break;
+        }
+
+        int newCost = current.totalCost() + candidates[i].getPayRate();
+        // with costsOnlyGrow, hiring candidates[i] cannot be cheaper than the best so far
+        if (!costsOnlyGrow || newCost < bestCost) {
+          current.add(candidates[i]);
+          chosen[depth] = i;
+          if (current.numCoveredHours() >= minHours) {
+            // hiring anyone else would only add cost
+            if (newCost < bestCost) {
+              bestCost = newCost;
+              keep(depth + 1);
+            }
+          } else {
+            cheapest(depth + 1, i + 1);
+          }
+          current.remove(candidates[i]);
+        }
+        potential.remove(candidates[i]);
+      }
+      for (int j = from; j < i; ++j) {
+        potential.add(candidates[j]);
+      }
+    }
+
+    /**
+     * @return hired followed by the best hires.
+     */
+    private CandidateList result(CandidateList hired) {
+      CandidateList result = (hired == null) ? new CandidateList() : new CandidateList(hired);
+      for (int d = 0; d < Math.max(bestSize, 0); ++d) {
+        result.add(candidates[best[d]]);
+      }
+      return result;
+    }
+  }
+}
@@ -36,13 +36,32 @@
 //
 ///////////////////////////////////////////////////////////////////////////////
 
-
+import java.util.PriorityQueue;
 
 /**
  * A simple program for solving various hiring problems.
  */
 public class Hiring {
 
+  /**
+   * The strategies greedyHiring can use to find the candidate that increases hours covered the
+   * most. Both make exactly the same hires.
+   */
+  public enum GreedyMode {
+    /**
+     * Re-evaluate every remaining candidate on each pick.
+     */
+    EAGER,
+
+    /**
+     * Lazy greedy (CELF): keep each candidate's last known gain in a max-heap and only re-evaluate
+     * the candidate at the top. A candidate's gain can only shrink as more hours are covered, so a
+     * stale gain is an upper bound, and once the top candidate's gain is up to date no other
+     * candidate can beat it.
+     */
+    LAZY
+  }
+
   /**
    * Given a set of `candidates` that we can hire, a list of candidates we've already hired, and a
    * maximum number of tas to hire, return the set of hires made using a greedy strategy that 
@@ -56,6 +75,29 @@ public class Hiring {
    */
   public static CandidateList greedyHiring(CandidateList candidates, 
       CandidateList hired, int hiresLeft) {
+    SolverStats stats = SolverStats.active();
+    if (stats != null) {
+      stats.startSolve();
+    }
+    return eagerGreedyHiring(candidates, hired, hiresLeft);
+  }
+
+  /**
+   * Recursive helper for greedyHiring: hires the candidate that adds the most hours, then recurses
+   * on the rest.
+   * 
+   * @param candidates - the set of available candidates to hire from (excluding already hired)
+   * @param hired - the list of those currently hired
+   * @param hiresLeft - the maximum number of candidates to hire
+   * @return hired plus the greedily chosen hires
+   */
+  private static CandidateList eagerGreedyHiring(CandidateList candidates, 
+      CandidateList hired, int hiresLeft) {
+    SolverStats stats = SolverStats.active();
+    if (stats != null) {
+      stats.expanded(hired == null ? 0 : hired.size());
+      stats.evaluated(candidates.size());
+    }
 
     //System.out.println(candidates);
     //System.out.println("Hires left: " + hiresLeft);
@@ -69,23 +111,23 @@ public class Hiring {
       return hired; // Return the new hires made
     }
 
+    // every candidate has been hired already
+    if (candidates.isEmpty()) {
+      return hired;
+    }
+
     // set the initial max difference and best candidate to compare against
     int maxDifference = -1; 
     Candidate bestCandidate = null;
 
-    // loop through current candidates to find candidate available for max # hours
-    for (Candidate candidate : candidates ) {
-
-      // get numCoveredHours with current list of candidates
-      int currentHours = hired.numCoveredHours();
-      //System.out.println("currentHours: " + currentHours);
-
-      // get numCoveredHours with adding candidate
-      int hoursWithCandidate = hired.withCandidate(candidate).numCoveredHours();
-      //System.out.println("hoursWithCandidate: " + hoursWithCandidate);
+    // loop through current candidates to find candidate available for max # hours. The hours
+    // hired covers are computed once; each candidate's new hours are counted against them without
+    // copying hired.
+    long[] covered = hired.getCoveredBits();
+    for (Candidate candidate : candidates) {
 
       // add candidate if difference is larger than with previous candidate; break 
-      int hoursDifference = hoursWithCandidate - currentHours;
+      int hoursDifference = candidate.numNewHours(covered);
       if (hoursDifference > maxDifference) {
         bestCandidate = candidate;
         maxDifference = hoursDifference; 
@@ -101,8 +143,89 @@ public class Hiring {
     remainingCandidates.remove(bestCandidate);
 
     // call greedyHiring on the remaining candidates with hiresLeft-1
-    return greedyHiring(remainingCandidates, newHired, hiresLeft - 1);
+    return eagerGreedyHiring(remainingCandidates, newHired, hiresLeft - 1);
+
+  }
+
+  /**
+   * Same as greedyHiring(candidates, hired, hiresLeft), but with a choice of how the best candidate
+   * is found on each pick. Ties are broken the same way in both modes: among candidates that add
+   * the same number of hours, the one earliest in `candidates` is hired.
+   * 
+   * @param candidates - the set of available candidates to hire from (excluding already hired)
+   * @param hired - the list of those currently hired
+   * @param hiresLeft - the maximum number of candidates to hire
+   * @param mode - the strategy used to find the best candidate on each pick
+   * @return hired plus the greedily chosen hires
+   */
+  public static CandidateList greedyHiring(CandidateList candidates, 
+      CandidateList hired, int hiresLeft, GreedyMode mode) {
+    if (mode == GreedyMode.LAZY) {
+      SolverStats stats = SolverStats.active();
+      if (stats != null) {
+        stats.startSolve();
+      }
+      return lazyGreedyHiring(candidates, hired, hiresLeft);
+    }
+    return greedyHiring(candidates, hired, hiresLeft);
+  }
+
+  /**
+   * Lazy greedy (CELF) version of greedyHiring. Each candidate is kept in a max-heap ordered by the
+   * number of hours it added when it was last evaluated (then by position in `candidates`). On each
+   * pick the top candidate is re-evaluated if its gain is stale and pushed back; once the top
+   * candidate's gain is current it is hired.
+   * 
+   * @param candidates - the set of available candidates to hire from (excluding already hired)
+   * @param hired - the list of those currently hired
+   * @param hiresLeft - the maximum number of candidates to hire
+   * @return hired plus the greedily chosen hires
+   */
+  private static CandidateList lazyGreedyHiring(CandidateList candidates, 
+      CandidateList hired, int hiresLeft) {
+    CandidateList newHired = (hired == null) ? new CandidateList() : new CandidateList(hired);
+    if (hiresLeft <= 0) {
+      return newHired;
+    }
+
+    // gain[i] is the number of hours candidate i added as of pick evaluatedAt[i]
+    int n = candidates.size();
+    int[] gain = new int[n];
+    int[] evaluatedAt = new int[n];
+    PriorityQueue<Integer> heap = new PriorityQueue<>(Math.max(n, 1), (a, b) -> 
+        gain[a] != gain[b] ? Integer.compare(gain[b], gain[a]) : Integer.compare(a, b));
+
+    for (int i = 0; i < n; ++i) {
+      gain[i] = newHired.numNewHours(candidates.get(i));
+      heap.add(i);
+    }
+    SolverStats stats = SolverStats.active();
+    if (stats != null) {
+      stats.evaluated(n);
+    }
+
+    int picks = 0;
+    while (picks < hiresLeft && !heap.isEmpty()) {
+      int top = heap.poll();
+      if (evaluatedAt[top] == picks) {
+        // up to date, so no other candidate can add more hours (or as many, from earlier)
+        newHired.add(candidates.get(top));
+        picks++;
+        if (stats != null) {
+          stats.expanded(picks);
+        }
+      } else {
+        // stale: re-evaluate against the current hires and put it back
+        gain[top] = newHired.numNewHours(candidates.get(top));
+        evaluatedAt[top] = picks;
+        heap.add(top);
+        if (stats != null) {
+          stats.evaluated(1);
+        }
+      }
+    }
 
+    return newHired;
   }
 
   /**
@@ -120,7 +243,7 @@ public class Hiring {
 
     // base case: no hires left, return empty CandidateList if no candidates in hired parameter
     // or return hired parameter if there are candidates in hired parameter
-    if (hiresLeft == 0) {
+    if (hiresLeft <= 0) {
       if (hired == null || hired.size() == 0) {
         return new CandidateList(); 
         // Return an empty CandidateList when no hires are made and no initial hired candidates
@@ -128,48 +251,126 @@ public class Hiring {
       return hired; // Return the new hires made, or the original hired parameter
     }
 
-    // set the max covered hours and optimal hires to be compared against
-    int maxCoveredHours = 0;
-    CandidateList optimalHires = new CandidateList();
+    SolverStats stats = SolverStats.active();
+    if (stats != null) {
+      stats.startSolve();
+    }
+
+    // search the combinations of candidates in list order, starting from the current hires
+    CandidateChain start = CandidateChain.of(hired);
+    CandidateRange remaining = new CandidateRange(candidates);
+
+    // no set of hires can cover more than every hour that anyone is available
+    int maxHours = remaining.numCoveredHoursWith(start.getCoveredBits());
+
+    CandidateChain optimalHires = optimalHiring(remaining, start, hiresLeft, start, maxHours);
+
+    // return the current list of optimal hires
+    return optimalHires.toCandidateList();
+  }
+
+  /**
+   * Branch-and-bound helper for optimalHiring. Only tries hires in the same order as they appear in
+   * `candidates` (each set of hires is visited once, not once per ordering), and gives up on a
+   * branch as soon as it cannot cover more hours than the best hires found so far.
+   * 
+   * <p>
+   * A branch hiring candidates[i] (and then others after it) can cover at most the current hours
+   * plus the sum of the hiresLeft largest gains among the remaining candidates, and at most every
+   * hour covered by the current hires or candidates[i..]. If that is not more than the best so
+   * far, neither that branch nor any later one can do better.
+   * 
+   * @param candidates - the candidates that may still be hired, in list order
+   * @param hired - the candidates hired so far
+   * @param hiresLeft - the maximum number of candidates left to hire
+   * @param best - the best hires found so far
+   * @param maxHours - the most hours any set of hires can cover; the search stops when best
+   *                 reaches it
+   * @return the first set of hires (in search order) covering more hours than best, or best
+   */
+  private static CandidateChain optimalHiring(CandidateRange candidates, 
+      CandidateChain hired, int hiresLeft, CandidateChain best, int maxHours) {
+    SolverStats stats = SolverStats.active();
+    if (stats != null) {
+      stats.expanded(hired.size());
+      stats.evaluated(candidates.size());
+    }
+
+    // the gains of the remaining candidates only shrink deeper in this branch
+    int bestGain = maxGain(candidates, hired.getCoveredBits(), hiresLeft);
 
-    // loop through candidates (like permutations)
     for (int i = 0; i < candidates.size(); i++) {
-      Candidate firstCandidate = candidates.get(i);
-      // System.out.println("firstCandidate: " + firstCandidate);
-
-      // "permute" the REST of the candidates
-      CandidateList updatedHired = hired.withCandidate(firstCandidate);
-      CandidateList remainingCandidates = candidates.withoutCandidate(firstCandidate);
-
-      // System.out.println("updatedHired: " + updatedHired);
-      // System.out.println("remainingCandidates" + remainingCandidates);
-
-      // check if the possible new max covered hours is > the current max covered hours
-      if (updatedHired.numCoveredHours() > maxCoveredHours ) {
-        // if new max is larger, update the max covered hours and the optimal hires CharacterList
-        maxCoveredHours = updatedHired.numCoveredHours();
-        optimalHires = updatedHired.deepCopy();
-        //        System.out.println();
-        //        System.out.println("--");
-        //        System.out.println("maxCoveredHours: " + maxCoveredHours);
-        //        System.out.println("optimalHires" + optimalHires);
-        //        System.out.println("--");
-        //        System.out.println();
+      // stop early once every coverable hour is covered
+      if (best.numCoveredHours() >= maxHours) {
+        if (stats != null) {
+          stats.pruned(SolverStats.Prune.ALL_COVERED);
+        }
+        break;
       }
 
-      // compute the recursive call with the remaining candidates and hiresLeft-1
-      CandidateList result = optimalHiring(remainingCandidates, updatedHired, hiresLeft - 1);
+      // prune: hiring candidates[i] (and any of the ones after it) cannot beat the best so far
+      int gainBound = hired.numCoveredHours() + bestGain;
+      int bound = Math.min(gainBound, 
+          candidates.from(i).numCoveredHoursWith(hired.getCoveredBits()));
+      if (stats != null) {
+        stats.evaluated(1);
+      }
+      if (bound <= best.numCoveredHours()) {
+        if (stats != null) {
+          stats.pruned(gainBound <= best.numCoveredHours() ? SolverStats.Prune.GAIN_BOUND
+              : SolverStats.Prune.UNION_BOUND);
+        }
+        break;
+      }
 
-      // Compare result with optimalHires and update if necessary
-      if (result.numCoveredHours() > maxCoveredHours) {
-        maxCoveredHours = result.numCoveredHours();
-        optimalHires = result.deepCopy();
+      // hire candidates[i]; only the candidates after it may be hired next
+      CandidateChain updatedHired = hired.with(candidates.get(i));
+      if (updatedHired.numCoveredHours() > best.numCoveredHours()) {
+        best = updatedHired;
+        if (stats != null) {
+          stats.improved(best.numCoveredHours(), best.size());
+        }
+      }
+      if (hiresLeft > 1) {
+        best = optimalHiring(candidates.from(i + 1), updatedHired, hiresLeft - 1, best, maxHours);
       }
     }
 
-    // return the current list of optimal hires
-    //System.out.println("returning: " + optimalHires);
-    return optimalHires;
+    return best;
+  }
+
+  /**
+   * Computes the sum of the `picks` largest numbers of hours that individual candidates would add
+   * to the covered hours. This is an upper bound on how many hours hiring `picks` more of them can
+   * add.
+   * 
+   * @param candidates - the candidates that may be hired
+   * @param covered - the packed set of hours already covered
+   * @param picks - the number of candidates that may be hired
+   * @return the sum of the largest `picks` gains
+   */
+  static int maxGain(CandidateRange candidates, long[] covered, int picks) {
+    // top holds the largest gains seen so far, in decreasing order
+    int[] top = new int[Math.max(0, Math.min(picks, candidates.size()))];
+    if (top.length == 0) {
+      return 0;
+    }
+    for (int i = 0; i < candidates.size(); i++) {
+      int gain = candidates.get(i).numNewHours(covered);
+      if (gain > top[top.length - 1]) {
+        int j = top.length - 1;
+        while (j > 0 && top[j - 1] < gain) {
+          top[j] = top[j - 1];
+          j--;
+        }
+        top[j] = gain;
+      }
+    }
+    int sum = 0;
+    for (int gain : top) {
+      sum += gain;
+    }
+    return sum;
   }
 
 
@@ -187,48 +388,88 @@ public class Hiring {
    */
   public static CandidateList minCoverageHiring(CandidateList candidates, 
       CandidateList hired, int minHours) {
-    // base case: if no minimum hours are required, return an empty CandidateList
+    // base case: if no minimum hours are required, return the current hires
     if (minHours <= 0) {
       return hired; 
     }
 
+    SolverStats stats = SolverStats.active();
+    if (stats != null) {
+      stats.startSolve();
+    }
+
+    // search over a shared view of the candidates so no step of the recursion copies a list
+    CandidateChain bestSolution = minCoverageHiring(new CandidateRange(candidates), 
+        CandidateChain.of(hired), minHours);
+
+    // convert the best solution back to a CandidateList (or null if there is no solution)
+    if (bestSolution == null) {
+      return null;
+    }
+    return bestSolution.toCandidateList();
+  }
+
+  /**
+   * Recursive helper for minCoverageHiring. Hiring or skipping a candidate only creates a new link
+   * in `hired` or a new view of `candidates`, so each step takes constant time and memory instead
+   * of copying both lists.
+   * 
+   * @param candidates - the candidates not yet decided on
+   * @param hired - the candidates hired so far
+   * @param minHours - the minimum number of hours we want to cover total
+   * @return the cheapest extension of hired covering minHours, or null if there is none
+   */
+  private static CandidateChain minCoverageHiring(CandidateRange candidates, 
+      CandidateChain hired, int minHours) {
+    SolverStats stats = SolverStats.active();
+    if (stats != null) {
+      stats.expanded(hired.size());
+    }
+
+    // base case: the current hires already cover the minimum hours
+    if (hired.numCoveredHours() >= minHours) {
+      if (stats != null) {
+        stats.offerCost(hired.totalCost(), hired.size());
+      }
+      return hired;
+    }
+
     // base case: if there are no more candidates to hire, return null 
     if (candidates.isEmpty()) {
       return null;
     }
 
     // account for case where there is no solution as the min required hours cannot be met
-    if ((candidates.numCoveredHours() + hired.numCoveredHours())< minHours) {
+    if (stats != null) {
+      stats.evaluated(1);
+    }
+    if (candidates.numCoveredHoursWith(hired.getCoveredBits()) < minHours) {
+      if (stats != null) {
+        stats.pruned(SolverStats.Prune.INFEASIBLE);
+      }
       return null;
     }
 
     // initialize the best solution and its cost
-    CandidateList bestSolution = null;
+    CandidateChain bestSolution = null;
     int bestCost = Integer.MAX_VALUE;
 
     // hire the current candidate
-    Candidate currentCandidate = candidates.get(0);
-    CandidateList withCurrent = hired.withCandidate(currentCandidate);
-    CandidateList remainingCandidates = candidates.withoutCandidate(currentCandidate);
-
-    // calculate the cost with the current candidate hired
-    int costWithCurrent = withCurrent.totalCost();
-
-    // get the current hours covered
-    int hoursCovered = withCurrent.numCoveredHours();
+    Candidate currentCandidate = candidates.first();
+    CandidateChain withCurrent = hired.with(currentCandidate);
+    CandidateRange remainingCandidates = candidates.rest();
 
     // check if the solution with the current candidate meets the minimum hours
-    if (hoursCovered >= minHours) {
-      // check if the current cost is less than the best cost
-      if (costWithCurrent < bestCost) {
-        // update the best cost and solution to the current cost and solution
-        bestCost = costWithCurrent;
-        bestSolution = withCurrent;
+    if (withCurrent.numCoveredHours() >= minHours) {
+      // hiring anyone else would only add cost
+      bestCost = withCurrent.totalCost();
+      bestSolution = withCurrent;
+      if (stats != null) {
+        stats.pruned(SolverStats.Prune.ENOUGH_HOURS);
+        stats.offerCost(bestCost, withCurrent.size());
       }
-    } else { // if the current hours does not meet the minimum hours, hire the current candidate
-      // call minCoverageHiring again with the current candidate hired (in hired param)
-      // update the minimum hours needed to be what remains after hiring the current candidate
-      CandidateList solutionWithCurrent = minCoverageHiring(remainingCandidates, withCurrent, 
+    } else { // if the current hours does not meet the minimum hours, keep hiring
+      CandidateChain solutionWithCurrent = minCoverageHiring(remainingCandidates, withCurrent, 
           minHours);
 
       // if the new cost is lower than the previous cost, update the best cost and solution
@@ -239,7 +480,8 @@ public class Hiring {
     }
 
     // see if not hiring the current candidate would result in a lower totalCost
-    CandidateList solutionWithoutCurrent = minCoverageHiring(remainingCandidates, hired, minHours);
+    CandidateChain solutionWithoutCurrent = minCoverageHiring(remainingCandidates, hired, 
+        minHours);
     if (solutionWithoutCurrent != null && solutionWithoutCurrent.totalCost() < bestCost) {
       bestSolution = solutionWithoutCurrent;
     }
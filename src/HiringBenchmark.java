@@ -0,0 +1,217 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntSupplier;
+
+/**
+ * A small benchmark harness for the coverage primitives and the solvers. Each benchmark is run on
+ * inputs from {@link HiringTestingUtilities#generateRandomInput(Random, int, int, int, double)}
+ * for every combination of the parameters, first for a number of warmup rounds so the JIT settles,
+ * then for a number of measured rounds. A round repeats the operation until it has run for at
+ * least the round time and reports the average time per operation; the table shows the mean and
+ * standard deviation over the measured rounds.
+ *
+ * <p>
+ * Usage: java HiringBenchmark [name=value ...], where each value may be a comma-separated list:
+ *
+ * <pre>
+ * bench      benchmarks to run (default: all of them, see BENCHMARKS)
+ * n          number of candidates (default: 20)
+ * h          number of hours (default: 24)
+ * k          hires for greedyHiring and optimalHiring (default: 4)
+ * density    probability that a candidate is available at an hour (default: 0.5)
+ * seed       seed for the generated candidates (default: 205)
+ * warmup     warmup rounds (default: 5)
+ * rounds     measured rounds (default: 10)
+ * roundMs    minimum length of each round in milliseconds (default: 200)
+ * </pre>
+ *
+ * minCoverageHiring is asked to cover three quarters of the hours. The pool benchmarks run the
+ * PoolHiring solvers on a CandidatePool built once, outside the timed operation. The exact solvers
+ * take time exponential in n, so keep n small when running them.
+ */
+public class HiringBenchmark {
+
+  /**
+   * The names of the benchmarks, in the order they run.
+   */
+  public static final String[] BENCHMARKS = {"numCoveredHours", "hire", "hireInto",
+      "withCandidate", "withoutCandidate", "greedyHiring", "greedyHiringLazy", "poolGreedyHiring",
+      "optimalHiring", "poolOptimalHiring", "minCoverageHiring", "poolMinCoverageHiring"};
+
+  /**
+   * Written by every benchmark so the JIT cannot remove the work being measured.
+   */
+  private static volatile int sink;
+
+  /**
+   * Runs the benchmarks named on the command line, or all of them.
+   *
+   * @param args name=value parameters as described in the class comment.
+   */
+  public static void main(String[] args) {
+    Map<String, String> params = new LinkedHashMap<>();
+    params.put("bench", String.join(",", BENCHMARKS));
+    params.put("n", "20");
+    params.put("h", "24");
+    params.put("k", "4");
+    params.put("density", "0.5");
+    params.put("seed", "205");
+    params.put("warmup", "5");
+    params.put("rounds", "10");
+    params.put("roundMs", "200");
+    for (String arg : args) {
+      int eq = arg.indexOf('=');
+      if (eq < 0 || !params.containsKey(arg.substring(0, eq))) {
+        System.out.println("Error: expected one of " + params.keySet() + " as name=value: " + arg);
+        System.exit(1);
+      }
+      params.put(arg.substring(0, eq), arg.substring(eq + 1));
+    }
+
+    int warmup = Integer.parseInt(params.get("warmup"));
+    int rounds = Integer.parseInt(params.get("rounds"));
+    long roundNanos = Long.parseLong(params.get("roundMs")) * 1_000_000L;
+
+    System.out.printf("%-21s %6s %5s %3s %7s %6s %14s %12s%n", "benchmark", "n", "h", "k",
+        "density", "seed", "ns/op", "stddev");
+    for (String bench : params.get("bench").split(",")) {
+      for (String n : params.get("n").split(",")) {
+        for (String h : params.get("h").split(",")) {
+          for (String k : params.get("k").split(",")) {
+            for (String density : params.get("density").split(",")) {
+              for (String seed : params.get("seed").split(",")) {
+                IntSupplier op = benchmark(bench, Integer.parseInt(n), Integer.parseInt(h),
+                    Integer.parseInt(k), Double.parseDouble(density), Long.parseLong(seed));
+                double[] stats = measure(op, warmup, rounds, roundNanos);
+                System.out.printf(Locale.ROOT, "%-21s %6s %5s %3s %7s %6s %14.1f %12.1f%n",
+                    bench, n, h, k, density, seed, stats[0], stats[1]);
+              }
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Creates the operation to time for one benchmark and one set of parameters. The inputs are
+   * generated here, outside the timed operation.
+   *
+   * @param bench   the name of the benchmark, one of BENCHMARKS
+   * @param n       the number of candidates
+   * @param h       the number of hours
+   * @param k       the number of hires for greedyHiring and optimalHiring
+   * @param density the probability that a candidate is available at an hour
+   * @param seed    the seed for the generated candidates
+   * @return the operation, which returns something computed from its result
+   * @throws IllegalArgumentException if bench is not a known benchmark
+   */
+  public static IntSupplier benchmark(String bench, int n, int h, int k, double density,
+      long seed) {
+    CandidateList candidates =
+        HiringTestingUtilities.generateRandomInput(new Random(seed), h, n + 1, 10, density);
+    // one more candidate that is not in the list, for withCandidate
+    Candidate extra = candidates.remove(n);
+    // a plain list, so that building a CandidateList from it counts the coverage from scratch
+    List<Candidate> plain = new ArrayList<>(candidates);
+    Candidate first = candidates.get(0);
+    boolean[] allHours = new boolean[h];
+    Arrays.fill(allHours, true);
+    boolean[] remaining = new boolean[h];
+    CandidatePool pool = new CandidatePool(candidates);
+    int[] none = new int[0];
+
+    switch (bench) {
+      case "numCoveredHours":
+        return () -> new CandidateList(plain).numCoveredHours();
+      case "hire":
+        return () -> first.hire(allHours).length;
+      case "hireInto":
+        return () -> first.hire(allHours, remaining).length;
+      case "withCandidate":
+        return () -> candidates.withCandidate(extra).size();
+      case "withoutCandidate":
+        return () -> candidates.withoutCandidate(first).size();
+      case "greedyHiring":
+        return () -> Hiring.greedyHiring(candidates, new CandidateList(), k).size();
+      case "greedyHiringLazy":
+        return () -> Hiring.greedyHiring(candidates, new CandidateList(), k,
+            Hiring.GreedyMode.LAZY).size();
+      case "poolGreedyHiring":
+        return () -> PoolHiring.greedyHiring(pool, none, k).length;
+      case "optimalHiring":
+        return () -> Hiring.optimalHiring(candidates, new CandidateList(), k).size();
+      case "poolOptimalHiring":
+        return () -> PoolHiring.optimalHiring(pool, none, k).length;
+      case "minCoverageHiring":
+        return () -> {
+          CandidateList solution =
+              Hiring.minCoverageHiring(candidates, new CandidateList(), h * 3 / 4);
+          return solution == null ? -1 : solution.size();
+        };
+      case "poolMinCoverageHiring":
+        return () -> {
+          int[] solution = PoolHiring.minCoverageHiring(pool, none, h * 3 / 4);
+          return solution == null ? -1 : solution.length;
+        };
+      default:
+        throw new IllegalArgumentException("Unknown benchmark: " + bench);
+    }
+  }
+
+  /**
+   * Times an operation.
+   *
+   * @param op         the operation to time
+   * @param warmup     the number of rounds to run before measuring
+   * @param rounds     the number of rounds to measure
+   * @param roundNanos the minimum length of a round
+   * @return {mean, standard deviation} of the nanoseconds per operation over the measured rounds
+   */
+  public static double[] measure(IntSupplier op, int warmup, int rounds, long roundNanos) {
+    for (int r = 0; r < warmup; ++r) {
+      round(op, roundNanos);
+    }
+    double[] times = new double[Math.max(rounds, 1)];
+    double sum = 0;
+    for (int r = 0; r < times.length; ++r) {
+      times[r] = round(op, roundNanos);
+      sum += times[r];
+    }
+    double mean = sum / times.length;
+    double squares = 0;
+    for (double time : times) {
+      squares += (time - mean) * (time - mean);
+    }
+    return new double[] {mean, Math.sqrt(squares / times.length)};
+  }
+
+  /**
+   * Runs an operation until at least roundNanos have passed, doubling the batch size between
+   * clock reads so that reading the clock does not dominate fast operations.
+   *
+   * @return the average nanoseconds per operation
+   */
+  private static double round(IntSupplier op, long roundNanos) {
+    int result = 0;
+    long ops = 0;
+    long batch = 1;
+    long start = System.nanoTime();
+    long elapsed;
+    do {
+      for (long i = 0; i < batch; ++i) {
+        result += op.getAsInt();
+      }
+      ops += batch;
+      batch *= 2;
+      elapsed = System.nanoTime() - start;
+    } while (elapsed < roundNanos);
+    sink = result;
+    return (double) elapsed / ops;
+  }
+}
@@ -0,0 +1,438 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache of solver results in front of {@link Hiring}. Instances are keyed on a canonical form
+ * that does not depend on candidate ids: the packed availability rows and pay rates of the hired
+ * candidates and of the candidates, the problem type, and the number of hires or minimum hours. A
+ * hit maps the cached hires back to the caller's own Candidate objects.
+ *
+ * <p>
+ * By default the candidates' rows are kept in list order, so a hit returns exactly the hires the
+ * solver would. A cache created to match equivalent instances sorts the rows for optimalHiring and
+ * minCoverageHiring, so the same candidates in a different order are the same instance; a hit for
+ * a reordered instance then returns hires that are as good as the solver's (the same coverage, or
+ * the same cost), though not necessarily the same set among equally good ones. greedyHiring breaks
+ * ties by list order, so its key always keeps the order.
+ *
+ * <p>
+ * The cache holds at most a number of entries and an (approximate) number of bytes, evicting the
+ * least recently used entries first. It is safe to use from several threads; two threads missing on the
+ * same instance at once both solve it.
+ */
+public class HiringCache {
+
+  /**
+   * Key kind for greedyHiring.
+   */
+  private static final int GREEDY = 0;
+
+  /**
+   * Key kind for optimalHiring.
+   */
+  private static final int OPTIMAL = 1;
+
+  /**
+   * Key kind for minCoverageHiring.
+   */
+  private static final int MIN_COVERAGE = 2;
+
+  /**
+   * The approximate number of bytes an entry takes besides its arrays.
+   */
+  private static final long ENTRY_OVERHEAD = 128;
+
+  /**
+   * The most entries kept.
+   */
+  private final int maxEntries;
+
+  /**
+   * The most bytes kept, approximately.
+   */
+  private final long maxBytes;
+
+  /**
+   * True if optimalHiring and minCoverageHiring share entries between reorderings of the same
+   * candidates.
+   */
+  private final boolean equivalentInstances;
+
+  /**
+   * The cached hires for each key, least recently used first.
+   */
+  private final LinkedHashMap<Key, int[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+  /**
+   * The approximate number of bytes of the entries.
+   */
+  private long bytes;
+
+  /**
+   * The number of lookups that found an entry.
+   */
+  private long hits;
+
+  /**
+   * The number of lookups that did not.
+   */
+  private long misses;
+
+  /**
+   * The number of entries evicted.
+   */
+  private long evictions;
+
+  /**
+   * Creates an empty cache whose hits return exactly what the solvers would.
+   *
+   * @param maxEntries the most results to keep.
+   * @param maxBytes   the most bytes of keys and results to keep, approximately.
+   * @throws IllegalArgumentException if either limit is negative.
+   */
+  public HiringCache(int maxEntries, long maxBytes) {
+    this(maxEntries, maxBytes, false);
+  }
+
+  /**
+   * Creates an empty cache.
+   *
+   * @param maxEntries          the most results to keep.
+   * @param maxBytes            the most bytes of keys and results to keep, approximately.
+   * @param equivalentInstances true to let optimalHiring and minCoverageHiring hit on the same
+   *                            candidates in a different order, returning equally good hires.
+   * @throws IllegalArgumentException if either limit is negative.
+   */
+  public HiringCache(int maxEntries, long maxBytes, boolean equivalentInstances) {
+    if (maxEntries < 0 || maxBytes < 0) {
+      throw new IllegalArgumentException("Expected non-negative limits, got " + maxEntries
+          + " entries and " + maxBytes + " bytes");
+    }
+    this.maxEntries = maxEntries;
+    this.maxBytes = maxBytes;
+    this.equivalentInstances = equivalentInstances;
+  }
+
+  /**
+   * Cached {@link Hiring#greedyHiring(CandidateList, CandidateList, int)}.
+   *
+   * @param candidates the set of available candidates to hire from (excluding already hired)
+   * @param hired      the list of those currently hired
+   * @param hiresLeft  the maximum number of candidates to hire
+   * @return hired plus the greedily chosen hires, in the order they were chosen
+   */
+  public CandidateList greedyHiring(CandidateList candidates, CandidateList hired,
+      int hiresLeft) {
+    if (hiresLeft <= 0) {
+      return Hiring.greedyHiring(candidates, hired, hiresLeft);
+    }
+    return solve(GREEDY, candidates, hired, hiresLeft);
+  }
+
+  /**
+   * Cached {@link Hiring#optimalHiring(CandidateList, CandidateList, int)}.
+   *
+   * @param candidates the set of available candidates to hire from (excluding those already hired)
+   * @param hired      the list of those currently hired
+   * @param hiresLeft  the maximum number of candidates to hire
+   * @return hired plus Hiring.optimalHiring's hires, or with equivalentInstances hires covering as
+   *         many hours, in list order
+   */
+  public CandidateList optimalHiring(CandidateList candidates, CandidateList hired,
+      int hiresLeft) {
+    if (hiresLeft <= 0) {
+      return Hiring.optimalHiring(candidates, hired, hiresLeft);
+    }
+    return solve(OPTIMAL, candidates, hired, hiresLeft);
+  }
+
+  /**
+   * Cached {@link Hiring#minCoverageHiring(CandidateList, CandidateList, int)}.
+   *
+   * @param candidates the set of available candidates to hire from (excluding those already hired)
+   * @param hired      the set of candidates already hired
+   * @param minHours   the minimum number of hours we want to cover total
+   * @return hired plus Hiring.minCoverageHiring's hires, or with equivalentInstances hires costing
+   *         as little, in list order; or null if there are none
+   */
+  public CandidateList minCoverageHiring(CandidateList candidates, CandidateList hired,
+      int minHours) {
+    if (minHours <= 0) {
+      return Hiring.minCoverageHiring(candidates, hired, minHours);
+    }
+    return solve(MIN_COVERAGE, candidates, hired, minHours);
+  }
+
+  /**
+   * Looks the instance up, solving and storing it on a miss.
+   */
+  private CandidateList solve(int kind, CandidateList candidates, CandidateList hired,
+      int param) {
+    if (hired == null) {
+      hired = new CandidateList();
+    }
+    // order[j] is the position in candidates of the j'th candidate in the canonical order
+    Integer[] order = canonicalOrder(candidates, equivalentInstances && kind != GREEDY);
+    Key key = new Key(kind, param, hired, candidates, order);
+
+    int[] hires;
+    synchronized (this) {
+      hires = entries.get(key);
+      if (hires != null || entries.containsKey(key)) {
+        hits++;
+        return toSolution(kind, candidates, hired, order, hires);
+      }
+      misses++;
+    }
+
+    CandidateList solution = (kind == GREEDY) ? Hiring.greedyHiring(candidates, hired, param)
+        : (kind == OPTIMAL) ? Hiring.optimalHiring(candidates, hired, param)
+        : Hiring.minCoverageHiring(candidates, hired, param);
+    put(key, solution == null ? null : toCanonical(candidates, order, solution));
+    return solution;
+  }
+
+  /**
+   * @return the positions of the candidates sorted by availability and pay rate, or in list order
+   *         if sort is false.
+   */
+  private static Integer[] canonicalOrder(CandidateList candidates, boolean sort) {
+    Integer[] order = new Integer[candidates.size()];
+    for (int i = 0; i < order.length; ++i) {
+      order[i] = i;
+    }
+    if (sort) {
+      Comparator<Candidate> rows = HiringCache::compareRows;
+      Arrays.sort(order, (a, b) -> rows.compare(candidates.get(a), candidates.get(b)));
+    }
+    return order;
+  }
+
+  /**
+   * Orders candidates by their packed availability, word by word, then by pay rate.
+   */
+  private static int compareRows(Candidate a, Candidate b) {
+    long[] x = a.getAvailabilityBits();
+    long[] y = b.getAvailabilityBits();
+    for (int w = 0; w < Math.max(x.length, y.length); ++w) {
+      int c = Long.compare(w < x.length ? x[w] : 0, w < y.length ? y[w] : 0);
+      if (c != 0) {
+        return c;
+      }
+    }
+    return Integer.compare(a.getPayRate(), b.getPayRate());
+  }
+
+  /**
+   * @return the canonical positions of the hires in solution that are from candidates, in the
+   *         order they appear in solution.
+   */
+  private static int[] toCanonical(CandidateList candidates, Integer[] order,
+      CandidateList solution) {
+    Map<Candidate, Integer> canonical = new IdentityHashMap<>();
+    for (int j = 0; j < order.length; ++j) {
+      canonical.put(candidates.get(order[j]), j);
+    }
+    return solution.stream().filter(canonical::containsKey).mapToInt(canonical::get).toArray();
+  }
+
+  /**
+   * @return hired followed by the caller's candidates at the cached canonical positions: in pick
+   *         order for greedyHiring and in list order otherwise; or null if hires is null.
+   */
+  private static CandidateList toSolution(int kind, CandidateList candidates, CandidateList hired,
+      Integer[] order, int[] hires) {
+    if (hires == null) {
+      return null;
+    }
+    int[] positions = new int[hires.length];
+    for (int m = 0; m < hires.length; ++m) {
+      positions[m] = order[hires[m]];
+    }
+    if (kind != GREEDY) {
+      Arrays.sort(positions);
+    }
+    CandidateList solution = new CandidateList(hired);
+    for (int i : positions) {
+      solution.add(candidates.get(i));
+    }
+    return solution;
+  }
+
+  /**
+   * Stores an entry and evicts the least recently used entries until the cache is within its
+   * limits again.
+   */
+  private synchronized void put(Key key, int[] hires) {
+    if (entries.containsKey(key)) {
+      // a thread that missed at the same time has stored it already
+      bytes -= sizeOf(key, entries.get(key));
+    }
+    entries.put(key, hires);
+    bytes += sizeOf(key, hires);
+    Iterator<Map.Entry<Key, int[]>> eldest = entries.entrySet().iterator();
+    while ((entries.size() > maxEntries || bytes > maxBytes) && eldest.hasNext()) {
+      Map.Entry<Key, int[]> entry = eldest.next();
+      bytes -= sizeOf(entry.getKey(), entry.getValue());
+      eldest.remove();
+      evictions++;
+    }
+  }
+
+  /**
+   * @return the approximate number of bytes an entry takes.
+   */
+  private static long sizeOf(Key key, int[] hires) {
+    return ENTRY_OVERHEAD + 8L * key.rows.length + (hires == null ? 0 : 4L * hires.length);
+  }
+
+  /**
+   * @return the number of lookups that found a cached result.
+   */
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  /**
+   * @return the number of lookups that had to run the solver.
+   */
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+  /**
+   * @return the number of entries evicted to stay within the limits.
+   */
+  public synchronized long getEvictions() {
+    return evictions;
+  }
+
+  /**
+   * @return the number of cached results.
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * @return the approximate number of bytes of the cached results.
+   */
+  public synchronized long getBytes() {
+    return bytes;
+  }
+
+  /**
+   * Removes every entry; the counters keep their values.
+   */
+  public synchronized void clear() {
+    entries.clear();
+    bytes = 0;
+  }
+
+  /**
+   * @return for example "hits 3, misses 2, evictions 0, entries 2, bytes 528".
+   */
+  @Override
+  public synchronized String toString() {
+    return "hits " + hits + ", misses " + misses + ", evictions " + evictions + ", entries "
+        + entries.size() + ", bytes " + bytes;
+  }
+
+  /**
+   * The canonical form of an instance.
+   */
+  private static final class Key {
+
+    /**
+     * GREEDY, OPTIMAL or MIN_COVERAGE.
+     */
+    private final int kind;
+
+    /**
+     * The number of hires or the minimum hours.
+     */
+    private final int param;
+
+    /**
+     * The number of hired candidates; their rows come first.
+     */
+    private final int numHired;
+
+    /**
+     * The number of words of availability in each row.
+     */
+    private final int numWords;
+
+    /**
+     * The rows of the hired candidates (sorted) and then of the candidates (in canonical order),
+     * each the packed availability followed by the pay rate.
+     */
+    private final long[] rows;
+
+    /**
+     * The hash of all of the above.
+     */
+    private final int hash;
+
+    /**
+     * Builds the key of an instance.
+     */
+    private Key(int kind, int param, CandidateList hired, CandidateList candidates,
+        Integer[] order) {
+      this.kind = kind;
+      this.param = param;
+      this.numHired = hired.size();
+      int words = 0;
+      for (Candidate c : hired) {
+        words = Math.max(words, c.getAvailabilityBits().length);
+      }
+      for (Candidate c : candidates) {
+        words = Math.max(words, c.getAvailabilityBits().length);
+      }
+      this.numWords = words;
+      int rowLength = numWords + 1;
+      this.rows = new long[(hired.size() + candidates.size()) * rowLength];
+
+      Integer[] hiredOrder = canonicalOrder(hired, true);
+      for (int j = 0; j < hiredOrder.length; ++j) {
+        putRow(hired.get(hiredOrder[j]), j * rowLength);
+      }
+      for (int j = 0; j < order.length; ++j) {
+        putRow(candidates.get(order[j]), (numHired + j) * rowLength);
+      }
+      this.hash = 31 * (31 * (31 * (31 * kind + param) + numHired) + numWords)
+          + Arrays.hashCode(rows);
+    }
+
+    /**
+     * Writes c's packed availability and pay rate at the given offset of rows.
+     */
+    private void putRow(Candidate c, int offset) {
+      long[] bits = c.getAvailabilityBits();
+      System.arraycopy(bits, 0, rows, offset, bits.length);
+      rows[offset + numWords] = c.getPayRate();
+    }
+
+    /**
+     * @return the hash of the canonical form.
+     */
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    /**
+     * @return true if obj is the key of the same canonical instance.
+     */
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof Key other && hash == other.hash && kind == other.kind
+          && param == other.param && numHired == other.numHired && numWords == other.numWords
+          && Arrays.equals(rows, other.rows);
+    }
+  }
+}
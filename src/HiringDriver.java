@@ -1,11 +1,30 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Comparator;
-import java.util.Scanner;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 
 /**
  * The driver class for the Hiring application.
  */
 public class HiringDriver {
 
+  /**
+   * The cache the exact and greedy solvers go through, or null without --cache.
+   */
+  private static HiringCache cache;
+
+  /**
+   * The most bytes --cache keeps, approximately.
+   */
+  private static final long CACHE_BYTES = 64L << 20;
+
   /*-
    * Contains the main driver loop, which causes reads input about the availability and pay rate of
    * TAs and the type of problem we would like to solve. Then, it outputs a solution.
@@ -63,137 +82,536 @@ public class HiringDriver {
    * Hours covered: 5
    * Cost: 6
    *
+   * Command-line options:
+   *
+   * --reduce   shrink the problem with InstanceReduction before running the exact solver, and
+   *            print a line saying how much was removed before the solution.
+   * --binary FILE TYPE PARAM
+   *            read the candidates from a CandidateFile instead of standard input, and solve
+   *            problem TYPE with PARAM hires or minimum hours. Problem type 2 needs a file with
+   *            pay rates. Text input can be converted with "java CandidateFile IN OUT". This skips
+   *            parsing, but the rows are still copied into Candidates before solving.
+   * --deadline MS
+   *            stop the exact solver after MS milliseconds and print the best solution found
+   *            (starting from a greedy one) instead, using AnytimeHiring. A "Proven optimal:" line
+   *            after the solution says whether it is optimal, and if not, the best coverage or
+   *            cost that is still possible and the gap to it.
+   * --stats    print statistics about the solvers after the output: nodes expanded per depth,
+   *            branches pruned by each rule, improvements of the best solution, CandidateList
+   *            copies and coverage evaluations. In batch mode they are totals over all problems.
+   * --batch    read problems one after another until the end of the input and solve them on a
+   *            pool of threads. Each problem's output is followed by a blank line, and outputs
+   *            are written in input order as soon as every problem before them is done. Candidate
+   *            numbers in each output start at 0, as they do for a single problem.
+   * --threads N
+   *            the number of threads solving problems in batch mode (default: one per core).
+   * --window N the most problems that may be read but not yet written in batch mode (default: 4
+   *            per thread). Reading waits when a slow problem holds up this many outputs, so
+   *            memory stays bounded.
+   * --cache N  keep the results of up to N problems (and up to 64 MB) in a HiringCache, so a
+   *            problem that repeats an earlier one, with its candidates in the same order, is not
+   *            solved again and prints the same solution. Not used with --deadline. With --stats,
+   *            the cache's hits and misses are printed too.
+   *
    */
   public static void main(String[] args) {
-    Scanner scanner = new Scanner(System.in);
+    boolean reduce = false;
+    boolean batch = false;
+    int threads = Runtime.getRuntime().availableProcessors();
+    int window = 0;
+    long deadlineMillis = -1;
+    boolean stats = false;
+    String binaryFile = null;
+    int binaryType = 0;
+    int binaryParam = 0;
+    for (int a = 0; a < args.length; ++a) {
+      if (args[a].equals("--reduce")) {
+        reduce = true;
+      } else if (args[a].equals("--stats")) {
+        stats = true;
+      } else if (args[a].equals("--batch")) {
+        batch = true;
+      } else if (args[a].equals("--threads")) {
+        threads = intOption(args, ++a, "--threads expects a positive number");
+      } else if (args[a].equals("--deadline")) {
+        deadlineMillis = intOption(args, ++a, "--deadline expects a number of milliseconds");
+        if (deadlineMillis < 0) {
+          System.out.println("Error: --deadline expects a number of milliseconds");
+          System.exit(1);
+        }
+      } else if (args[a].equals("--cache")) {
+        int entries = intOption(args, ++a, "--cache expects a number of problems");
+        if (entries < 0) {
+          System.out.println("Error: --cache expects a number of problems");
+          System.exit(1);
+        }
+        cache = new HiringCache(entries, CACHE_BYTES);
+      } else if (args[a].equals("--window")) {
+        window = intOption(args, ++a, "--window expects a positive number");
+      } else if (args[a].equals("--binary") && a + 3 < args.length) {
+        binaryFile = args[a + 1];
+        binaryType = intOption(args, a + 2, "--binary expects FILE TYPE PARAM");
+        binaryParam = intOption(args, a + 3, "--binary expects FILE TYPE PARAM");
+        a += 3;
+      } else {
+        System.out.println("Error: unknown option: " + args[a]);
+        System.exit(1);
+      }
+    }
+    if (threads < 1 || window < 0) {
+      System.out.println("Error: --threads and --window expect a positive number");
+      System.exit(1);
+    }
+    if (window == 0) {
+      window = 4 * threads;
+    }
+    if (stats) {
+      SolverStats.enable();
+    }
 
+    if (binaryFile != null) {
+      if (batch) {
+        System.out.println("Error: --binary cannot be combined with --batch");
+        System.exit(1);
+      }
+      CandidateList candidates;
+      try {
+        CandidateFile file = CandidateFile.open(Paths.get(binaryFile));
+        if (binaryType == 2 && !file.hasPayRates()) {
+          System.out.println("Error: " + binaryFile + " has no pay rates for problem type 2");
+          System.exit(1);
+        }
+        candidates = file.toCandidateList();
+      } catch (IOException e) {
+        System.out.println("Error: " + e.getMessage());
+        System.exit(1);
+        return;
+      }
+      if (candidates.isEmpty() || (binaryType != 1 && binaryType != 2) || binaryParam < 0) {
+        System.out.println("Exiting due to invalid input.");
+        return;
+      }
+      System.out.print(solve(new Problem(candidates, binaryType, binaryParam), reduce,
+          deadlineMillis));
+      printStats();
+      return;
+    }
+
+    HiringInputReader reader = new HiringInputReader(System.in);
+    try {
+      if (batch) {
+        solveBatch(reader, reduce, deadlineMillis, threads, window);
+      } else {
+        Problem problem = readProblem(reader);
+        if (problem == null) {
+          System.out.println("Exiting due to invalid input.");
+          return;
+        }
+        System.out.print(solve(problem, reduce, deadlineMillis));
+      }
+    } catch (IOException e) {
+      System.out.println("Error: " + e.getMessage());
+      System.exit(1);
+    }
+    printStats();
+
+    try {
+      reader.close();
+    } catch (IOException e) {
+      // nothing more to read anyway
+    }
+  }
+
+  /**
+   * Print the solver statistics, if they are enabled, after a "Stats:" line.
+   */
+  private static void printStats() {
+    SolverStats stats = SolverStats.active();
+    if (stats != null) {
+      System.out.println("Stats:");
+      System.out.println(stats);
+      if (cache != null) {
+        System.out.println("cache: " + cache);
+      }
+    }
+  }
+
+  /**
+   * A problem read from the input: the candidates, the problem type, and its parameter.
+   */
+  private static class Problem {
+    /**
+     * The candidates to choose from.
+     */
+    private final CandidateList candidates;
+
+    /**
+     * 1 for optimalHiring, 2 for minCoverageHiring.
+     */
+    private final int probType;
+
+    /**
+     * The number of hires to make or the minimum hours to cover.
+     */
+    private final int numHiresOrNumHours;
+
+    /**
+     * Creates a new problem.
+     */
+    private Problem(CandidateList candidates, int probType, int numHiresOrNumHours) {
+      this.candidates = candidates;
+      this.probType = probType;
+      this.numHiresOrNumHours = numHiresOrNumHours;
+    }
+  }
+
+  /**
+   * Read one problem in the format described in {@link #main(String[])}.
+   *
+   * @param reader a HiringInputReader to use for getting input.
+   * @return the problem, or null if its header or a pay rate is out of range.
+   * @throws IOException if the input is malformed or ends early; the message says where.
+   */
+  private static Problem readProblem(HiringInputReader reader) throws IOException {
     // Read some input about the problem.
-    int numHours = readIntOrError(scanner, "enter number of hours");
-    int numCandidates = readIntOrError(scanner, "enter number of candidates");
-    int probType = readIntOrError(scanner, "enter problem type");
+    int numHours = readInt(reader, "enter number of hours");
+    int numCandidates = readInt(reader, "enter number of candidates");
+    int probType = readInt(reader, "enter problem type");
     int numHiresOrNumHours = 0;
     if (probType == 1) {
-      numHiresOrNumHours = readIntOrError(scanner, "enter the number of hires to make");
+      numHiresOrNumHours = readInt(reader, "enter the number of hires to make");
     } else {
-      numHiresOrNumHours = readIntOrError(scanner, "enter the minimum hours to cover");
+      numHiresOrNumHours = readInt(reader, "enter the minimum hours to cover");
     }
 
     // Validate the problem input.
     if (numHours < 1 || numCandidates < 1 || (probType != 1 && probType != 2)
         || numHiresOrNumHours < 0) {
-      System.out.println("Exiting due to invalid input.");
-      return;
+      return null;
     }
 
-    // Now read the list of candidates.
-    CandidateList candidates = new CandidateList();
+    // Now read the list of candidates. The packed rows are gathered, and the candidates are
+    // created together (keeping the rows) once every row has been read. numCandidates comes from
+    // the input, so the arrays grow as rows arrive rather than being sized from it up front.
+    int capacity = Math.min(numCandidates, 1024);
+    long[][] availabilities = new long[capacity][];
+    int[] payRates = new int[capacity];
 
     for (int c = 0; c < numCandidates; ++c) {
       // Read availability.
-      boolean[] availability = readNBoolsOrError(scanner, numHours,
+      long[] availability = readNBools(reader, numHours,
           "availability must be space-separate boolean values");
-      int payRate = 0;
+      int payRate = -1;
 
+      // Read the pay rate.
       if (probType == 2) {
-        payRate = readIntOrError(scanner, "enter the pay rate");
+        payRate = readInt(reader, "enter the pay rate");
+        if (payRate < 0) {
+          return null;
+        }
       }
 
-      if (availability == null || payRate < 0) {
-        System.out.println("Exiting due to invalid input.");
-        return;
+      if (c == capacity) {
+        capacity = (int) Math.min(2L * capacity, numCandidates);
+        availabilities = Arrays.copyOf(availabilities, capacity);
+        payRates = Arrays.copyOf(payRates, capacity);
       }
+      availabilities[c] = availability;
+      payRates[c] = payRate;
+    }
 
-      Candidate candidate;
-      // Read the pay rate.
-      if (probType == 1) {
-        candidate = new Candidate(availability);
-      } else {
-        candidate = new Candidate(availability, payRate);
+    CandidateList candidates =
+        Candidate.createAll(availabilities, numHours, payRates, numCandidates);
+    return new Problem(candidates, probType, numHiresOrNumHours);
+  }
+
+  /**
+   * Read problems until the end of the input and solve them on a pool of threads, writing each
+   * output (followed by a blank line) in input order as soon as every problem before it is done.
+   * At most window problems are held between being read and being written. If a problem is
+   * invalid, the problems before it are finished and written before reporting it.
+   *
+   * @param reader         a HiringInputReader to use for getting input.
+   * @param reduce         true to run InstanceReduction before the exact solver.
+   * @param deadlineMillis the time limit per problem, or -1 for none.
+   * @param threads        the number of solver threads.
+   * @param window         the most problems that may be read but not yet written.
+   * @throws IOException if the input is malformed; earlier problems are written first.
+   */
+  private static void solveBatch(HiringInputReader reader, boolean reduce, long deadlineMillis,
+      int threads, int window) throws IOException {
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    OrderedOutput output = new OrderedOutput(window);
+    try {
+      for (long seq = 0; reader.hasNext(); ++seq) {
+        output.reserve();
+        Problem problem;
+        try {
+          problem = readProblem(reader);
+        } catch (IOException e) {
+          output.unreserve();
+          output.awaitAll();
+          throw e;
+        }
+        if (problem == null) {
+          output.unreserve();
+          output.awaitAll();
+          System.out.println("Exiting due to invalid input.");
+          return;
+        }
+        long thisSeq = seq;
+        pool.execute(() -> {
+          String text = "Error: solver failed" + System.lineSeparator();
+          try {
+            text = solve(problem, reduce, deadlineMillis);
+          } catch (RuntimeException | StackOverflowError e) {
+            text = "Error: " + e + System.lineSeparator();
+          } finally {
+            output.complete(thisSeq, text + System.lineSeparator());
+          }
+        });
       }
+    } finally {
+      pool.shutdown();
+    }
+    output.awaitAll();
+  }
+
+  /**
+   * Writes batch outputs to System.out in sequence order, holding back any that finish before the
+   * ones ahead of them. A window of permits bounds how many outputs can be outstanding at once.
+   */
+  private static class OrderedOutput {
+    /**
+     * Finished outputs waiting for an earlier one, indexed by sequence number mod the window.
+     */
+    private final String[] waiting;
+
+    /**
+     * One permit per problem that may be read but not yet written.
+     */
+    private final Semaphore permits;
+
+    /**
+     * The sequence number of the next output to write.
+     */
+    private long nextToWrite;
+
+    /**
+     * Creates an empty output with room for window outstanding problems.
+     */
+    private OrderedOutput(int window) {
+      this.waiting = new String[window];
+      this.permits = new Semaphore(window);
+    }
+
+    /**
+     * Waits until there is room for another outstanding problem and takes it.
+     */
+    private void reserve() {
+      permits.acquireUninterruptibly();
+    }
+
+    /**
+     * Records the output of problem seq, then writes every output that is now next in line and
+     * gives back their room.
+     */
+    private synchronized void complete(long seq, String text) {
+      waiting[(int) (seq % waiting.length)] = text;
+      int slot = (int) (nextToWrite % waiting.length);
+      while (waiting[slot] != null) {
+        System.out.print(waiting[slot]);
+        waiting[slot] = null;
+        ++nextToWrite;
+        permits.release();
+        slot = (int) (nextToWrite % waiting.length);
+      }
+      System.out.flush();
+    }
+
+    /**
+     * Gives back the room taken by reserve for a problem that will not be submitted.
+     */
+    private void unreserve() {
+      permits.release();
+    }
+
+    /**
+     * Waits until every submitted problem has been written.
+     */
+    private void awaitAll() {
+      permits.acquireUninterruptibly(waiting.length);
+      permits.release(waiting.length);
+    }
+  }
 
-      candidates.add(candidate);
+  /**
+   * Solve one problem and return its output in the format described in {@link #main(String[])}.
+   * Candidates are numbered by their position in the problem, which for a single problem is the
+   * same as their id.
+   *
+   * @param problem        the problem to solve.
+   * @param reduce         true to run InstanceReduction before the exact solver.
+   * @param deadlineMillis the time limit for AnytimeHiring, or -1 to run the exact solver to the
+   *                       end.
+   * @return the lines to print for this problem.
+   */
+  private static String solve(Problem problem, boolean reduce, long deadlineMillis) {
+    CandidateList candidates = problem.candidates;
+    int probType = problem.probType;
+    int numHiresOrNumHours = problem.numHiresOrNumHours;
+    Map<Candidate, Integer> position = new IdentityHashMap<>();
+    for (int i = 0; i < candidates.size(); ++i) {
+      position.put(candidates.get(i), i);
     }
+    StringWriter text = new StringWriter();
+    PrintWriter out = new PrintWriter(text);
 
     // Solve the problem and print the output.
+    InstanceReduction reduction = null;
+    AnytimeHiring.Result anytime = null;
     if (probType == 1) {
-      CandidateList greedySolution =
-          Hiring.greedyHiring(candidates, new CandidateList(), numHiresOrNumHours);
-      CandidateList optimalSolution =
-          Hiring.optimalHiring(candidates, new CandidateList(), numHiresOrNumHours);
+      CandidateList greedySolution = (cache != null)
+          ? cache.greedyHiring(candidates, new CandidateList(), numHiresOrNumHours)
+          : Hiring.greedyHiring(candidates, new CandidateList(), numHiresOrNumHours);
+      CandidateList toSolve = candidates;
+      if (reduce) {
+        reduction = InstanceReduction.forOptimalHiring(candidates, new CandidateList());
+        out.println("Reduction: " + reduction);
+        toSolve = reduction.getCandidates();
+      }
+      CandidateList optimalSolution;
+      if (deadlineMillis >= 0) {
+        anytime = AnytimeHiring.optimalHiring(toSolve, new CandidateList(), numHiresOrNumHours,
+            deadlineMillis);
+        optimalSolution = anytime.getSolution();
+      } else {
+        optimalSolution = (cache != null)
+            ? cache.optimalHiring(toSolve, new CandidateList(), numHiresOrNumHours)
+            : Hiring.optimalHiring(toSolve, new CandidateList(), numHiresOrNumHours);
+      }
+      if (reduction != null) {
+        optimalSolution = reduction.expand(new CandidateList(), optimalSolution);
+      }
       if (optimalSolution == null || greedySolution == null) {
-        System.out.println("No solution.");
+        out.println("No solution.");
       } else {
-        // Sort by candidate id
-        greedySolution.sort(Comparator.comparing(Candidate::getId));
-        optimalSolution.sort(Comparator.comparing(Candidate::getId));
+        // Sort by candidate number
+        greedySolution.sort(Comparator.comparing(position::get));
+        optimalSolution.sort(Comparator.comparing(position::get));
         // Print out
-        System.out.print("Greedy Solution:");
+        out.print("Greedy Solution:");
         for (Candidate c : greedySolution) {
-          System.out.print(" " + c.getId());
+          out.print(" " + position.get(c));
         }
-        System.out.println("\nHours covered: " + greedySolution.numCoveredHours());
-        System.out.print("Optimal Solution:");
+        out.println("\nHours covered: " + greedySolution.numCoveredHours());
+        out.print("Optimal Solution:");
         for (Candidate c : optimalSolution) {
-          System.out.print(" " + c.getId());
+          out.print(" " + position.get(c));
+        }
+        out.println("\nHours covered: " + optimalSolution.numCoveredHours());
+        if (anytime != null) {
+          // the reduction shifts the value and the bound alike, so the gap carries over
+          out.println(anytime.isOptimal() ? "Proven optimal: yes"
+              : "Proven optimal: no (at most " + (optimalSolution.numCoveredHours()
+                  + anytime.getGap()) + " hours, gap " + anytime.getGap() + ")");
         }
-        System.out.println("\nHours covered: " + optimalSolution.numCoveredHours());
       }
     } else {
-      CandidateList optimalSolution =
-          Hiring.minCoverageHiring(candidates, new CandidateList(), numHiresOrNumHours);
+      CandidateList toSolve = candidates;
+      int hoursNeeded = numHiresOrNumHours;
+      if (reduce) {
+        reduction = InstanceReduction.forMinCoverageHiring(candidates, new CandidateList(),
+            numHiresOrNumHours);
+        out.println("Reduction: " + reduction);
+        toSolve = reduction.getCandidates();
+        hoursNeeded = reduction.getHoursNeeded();
+      }
+      CandidateList optimalSolution;
+      if (deadlineMillis >= 0) {
+        anytime = AnytimeHiring.minCoverageHiring(toSolve, new CandidateList(), hoursNeeded,
+            deadlineMillis);
+        optimalSolution = anytime.getSolution();
+      } else {
+        optimalSolution = (cache != null)
+            ? cache.minCoverageHiring(toSolve, new CandidateList(), hoursNeeded)
+            : Hiring.minCoverageHiring(toSolve, new CandidateList(), hoursNeeded);
+      }
+      if (reduction != null) {
+        optimalSolution = reduction.expand(new CandidateList(), optimalSolution);
+      }
       if (optimalSolution == null) {
-        System.out.println("No solution.");
+        out.println("No solution.");
       } else {
-        System.out.print("Optimal Solution:");
+        out.print("Optimal Solution:");
         for (Candidate c : optimalSolution) {
-          System.out.print(" " + c.getId());
+          out.print(" " + position.get(c));
+        }
+        out.println("\nHours covered: " + optimalSolution.numCoveredHours());
+        out.println("Cost: " + optimalSolution.totalCost());
+        if (anytime != null) {
+          out.println(anytime.isOptimal() ? "Proven optimal: yes"
+              : "Proven optimal: no (cost at least " + (optimalSolution.totalCost()
+                  - anytime.getGap()) + ", gap " + anytime.getGap() + ")");
         }
-        System.out.println("\nHours covered: " + optimalSolution.numCoveredHours());
-        System.out.println("Cost: " + optimalSolution.totalCost());
       }
     }
-
-    scanner.close();
+    out.flush();
+    return text.toString();
   }
 
+
   /**
-   * Read an integer from the keyboard and return it, or print an error message and exit if there is
-   * an error.
+   * Read an integer from the input and return it.
    *
-   * @param sc     a Scanner to use for getting input.
-   * @param errMsg the error message to print in case of an error.
-   * @return the read integer or -1 if there is an error.
+   * @param in     a HiringInputReader to use for getting input.
+   * @param errMsg the message to add to the error if the input is not an integer.
+   * @return the read integer.
+   * @throws IOException if there is an error; the message says where in the input it is.
    */
-  private static int readIntOrError(Scanner sc, String errMsg) {
+  private static int readInt(HiringInputReader in, String errMsg) throws IOException {
     try {
-      return sc.nextInt();
-    } catch (Exception e) {
-      System.out.println("Error: expected integer: " + errMsg);
-      System.exit(1);
-      return -1; // never happens, but gotta appease the compiler
+      return in.nextInt();
+    } catch (IOException e) {
+      throw new IOException(e.getMessage() + ": " + errMsg, e);
     }
   }
 
   /**
-   * Read a list of boolean values from the keyboard and return as an array. If there is an error,
-   * print the message and exit.
+   * Read a list of boolean values from the input and return them packed 64 per word.
    *
-   * @param sc     a Scanner to use for getting input.
+   * @param in     a HiringInputReader to use for getting input.
    * @param n      the number of boolean values to attempt to read.
+   * @param errMsg the message to add to the error if the input is not n booleans.
+   * @return the packed booleans.
+   * @throws IOException if there is an error; the message says where in the input it is.
+   */
+  private static long[] readNBools(HiringInputReader in, int n, String errMsg)
+      throws IOException {
+    try {
+      return in.nextPackedBooleans(n);
+    } catch (IOException e) {
+      throw new IOException("expected " + n + " boolean values: " + e.getMessage() + ": "
+          + errMsg, e);
+    }
+  }
+
+  /**
+   * Parse the integer command-line argument args[a], or print an error message and exit if it is
+   * missing or not an integer.
+   *
+   * @param args   the command-line arguments.
+   * @param a      the index of the argument to parse.
    * @param errMsg the error message to print in case of an error.
-   * @return the array of read booleans or null if there is an error.
+   * @return the parsed integer.
    */
-  private static boolean[] readNBoolsOrError(Scanner sc, int n, String errMsg) {
-    boolean[] values = new boolean[n];
+  private static int intOption(String[] args, int a, String errMsg) {
     try {
-      for (int i = 0; i < n; ++i) {
-        values[i] = sc.nextBoolean();
-      }
-      return values;
-    } catch (Exception e) {
-      System.out.println("Error: expected " + n + " boolean values: " + errMsg);
+      return Integer.parseInt(args[a]);
+    } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+      System.out.println("Error: " + errMsg);
       System.exit(1);
-      return null; // never happens, but gotta appease the compiler
+      return -1; // never happens, but gotta appease the compiler
     }
   }
 
@@ -0,0 +1,295 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A parallel fuzz runner for the exact solvers. Every instance has its own seed, drawn from a
+ * {@link SplittableRandom} seeded with the run's seed, and is generated only from that seed, so
+ * the instances are the same however many threads run them and in whatever order. Each instance
+ * is checked against the reference solutions in {@link HiringTestingUtilities}, and every failure
+ * or timeout is reported with the instance's seed so it can be replayed on its own.
+ *
+ * <p>
+ * Usage: java HiringFuzz [name=value ...]:
+ *
+ * <pre>
+ * instances  number of instances to check (default: 2000)
+ * seed       seed the instance seeds are drawn from (default: 205)
+ * n          largest number of candidates in an instance (default: 16)
+ * h          largest number of hours in an instance (default: 24)
+ * threads    number of threads (default: the number of processors)
+ * timeoutMs  time allowed for each instance in milliseconds (default: 10000)
+ * replay     the seed of one instance to check and print on this thread (default: none)
+ * </pre>
+ *
+ * The best coverage and cost are found by enumerating all 2^n subsets of the candidates, so n much
+ * past 24 makes each instance slow. The solvers do not check for interruption, so an instance that
+ * times out keeps its thread busy until the run ends; the runner adds a thread in its place, and
+ * its threads are daemons that do not keep the JVM alive.
+ */
+public class HiringFuzz {
+
+  /**
+   * How often the runner looks for instances that have run out of time, in milliseconds.
+   */
+  private static final long POLL_MILLIS = 50;
+
+  /**
+   * The time limit given to AnytimeHiring, in milliseconds: long enough that its search always
+   * finishes first, and short enough that its deadline does not overflow.
+   */
+  private static final long NO_DEADLINE_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+  /**
+   * Runs the instances described on the command line and exits with status 1 if any failed.
+   *
+   * @param args name=value parameters as described in the class comment.
+   */
+  public static void main(String[] args) {
+    Map<String, String> params = new LinkedHashMap<>();
+    params.put("instances", "2000");
+    params.put("seed", "205");
+    params.put("n", "16");
+    params.put("h", "24");
+    params.put("threads", Integer.toString(Runtime.getRuntime().availableProcessors()));
+    params.put("timeoutMs", "10000");
+    params.put("replay", "");
+    for (String arg : args) {
+      int eq = arg.indexOf('=');
+      if (eq < 0 || !params.containsKey(arg.substring(0, eq))) {
+        System.out.println("Error: expected one of " + params.keySet() + " as name=value: " + arg);
+        System.exit(1);
+      }
+      params.put(arg.substring(0, eq), arg.substring(eq + 1));
+    }
+
+    int maxCandidates = Integer.parseInt(params.get("n"));
+    int maxHours = Integer.parseInt(params.get("h"));
+    if (!params.get("replay").isEmpty()) {
+      String failure = checkInstance(Long.parseLong(params.get("replay")), maxCandidates, maxHours,
+          true);
+      System.out.println(failure == null ? "passed" : failure);
+      System.exit(failure == null ? 0 : 1);
+    }
+
+    int instances = Integer.parseInt(params.get("instances"));
+    long start = System.nanoTime();
+    List<String> failures = run(Long.parseLong(params.get("seed")), instances, maxCandidates,
+        maxHours, Integer.parseInt(params.get("threads")), Long.parseLong(params.get("timeoutMs")));
+    for (String failure : failures) {
+      System.out.println(failure);
+    }
+    System.out.printf("%d instances, %d failed, %.1f s%n", instances, failures.size(),
+        (System.nanoTime() - start) / 1e9);
+    System.exit(failures.isEmpty() ? 0 : 1);
+  }
+
+  /**
+   * Draws the seeds of a run's instances.
+   *
+   * @param seed      the run's seed.
+   * @param instances the number of instances.
+   * @return the seed of each instance; the same for the same arguments.
+   */
+  public static long[] instanceSeeds(long seed, int instances) {
+    SplittableRandom root = new SplittableRandom(seed);
+    long[] seeds = new long[instances];
+    for (int i = 0; i < instances; ++i) {
+      seeds[i] = root.split().nextLong();
+    }
+    return seeds;
+  }
+
+  /**
+   * Checks a run's instances on a pool of threads.
+   *
+   * @param seed          the run's seed.
+   * @param instances     the number of instances to check.
+   * @param maxCandidates the largest number of candidates in an instance.
+   * @param maxHours      the largest number of hours in an instance.
+   * @param threads       the number of threads to check them on.
+   * @param timeoutMillis the time each instance may take, from when a thread starts it.
+   * @return a message naming the seed of each instance that failed, threw, or timed out, in the
+   *         order they were found; empty if every instance passed.
+   * @throws IllegalArgumentException if threads is not positive.
+   */
+  public static List<String> run(long seed, int instances, int maxCandidates, int maxHours,
+      int threads, long timeoutMillis) {
+    ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(), r -> {
+          Thread t = new Thread(r, "HiringFuzz");
+          t.setDaemon(true);
+          return t;
+        });
+    CompletionService<String> done = new ExecutorCompletionService<>(pool);
+    // the instances being checked, by seed, and when each started
+    Map<Long, Long> running = new ConcurrentHashMap<>();
+    Map<Long, Future<String>> futures = new LinkedHashMap<>();
+    for (long s : instanceSeeds(seed, instances)) {
+      futures.put(s, done.submit(() -> {
+        running.put(s, System.nanoTime());
+        try {
+          return checkInstance(s, maxCandidates, maxHours, false);
+        } catch (RuntimeException e) {
+          return "seed " + s + ": threw " + e;
+        } finally {
+          running.remove(s);
+        }
+      }));
+    }
+
+    List<String> failures = new ArrayList<>();
+    Set<Long> timedOut = new HashSet<>();
+    int remaining = futures.size();
+    try {
+      while (remaining > 0) {
+        Future<String> result = done.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (result != null) {
+          remaining--;
+          if (!result.isCancelled() && result.get() != null) {
+            failures.add(result.get());
+          }
+        }
+        long now = System.nanoTime();
+        for (Map.Entry<Long, Long> entry : running.entrySet()) {
+          long s = entry.getKey();
+          if (now - entry.getValue() > timeoutMillis * 1_000_000L && timedOut.add(s)) {
+            failures.add("seed " + s + ": timed out after " + timeoutMillis + " ms");
+            futures.get(s).cancel(true);
+            // the instance keeps its thread, so add one for the instances still waiting
+            pool.setMaximumPoolSize(pool.getMaximumPoolSize() + 1);
+            pool.setCorePoolSize(pool.getCorePoolSize() + 1);
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      failures.add("interrupted with " + remaining + " instances left");
+    } catch (ExecutionException e) {
+      // checkInstance's wrapper catches what the solvers throw
+      throw new IllegalStateException(e);
+    } finally {
+      pool.shutdownNow();
+    }
+    return failures;
+  }
+
+  /**
+   * Generates the instance with the given seed, solves it with Hiring.optimalHiring and
+   * Hiring.minCoverageHiring and with every exact alternative to them: PoolHiring,
+   * ParallelHiring, IterativeHiring, MeetInTheMiddleHiring, BitmaskHiring (for at most
+   * BitmaskHiring.MAX_HOURS hours), AnytimeHiring with no deadline, and DemandHiring with a demand
+   * of 1 at every hour. Each result is checked against the best coverage and cost found by
+   * enumerating every subset of the candidates.
+   *
+   * @param seed          the instance's seed.
+   * @param maxCandidates the largest number of candidates in the instance.
+   * @param maxHours      the largest number of hours in the instance.
+   * @param verbose       true to print the instance and the results.
+   * @return null if every result is an optimal solution, or a message naming the seed and the
+   *         first result that is not.
+   */
+  public static String checkInstance(long seed, int maxCandidates, int maxHours,
+      boolean verbose) {
+    Random random = new Random(seed);
+    int numHours = random.nextInt(maxHours) + 1;
+    int numCandidates = random.nextInt(maxCandidates) + 1;
+    int desiredHires = random.nextInt(numCandidates) + 1;
+    int minHours = random.nextInt(numHours + 1) + 1;
+    CandidateList candidates = HiringTestingUtilities.generateRandomInput(random, numHours,
+        numCandidates, random.nextInt(10) + 1, random.nextDouble(0.1, 0.6));
+    if (verbose) {
+      System.out.println("seed " + seed + ": " + numCandidates + " candidates, " + numHours
+          + " hours, desiredHires " + desiredHires + ", minHours " + minHours);
+      System.out.println(candidates);
+    }
+
+    Integer maxCovered = HiringTestingUtilities.maxCoveredHours(candidates, desiredHires, false);
+    Integer minCost = HiringTestingUtilities.minTotalCost(candidates, minHours, false);
+    Map<String, CandidateList> results = new LinkedHashMap<>();
+    results.put("optimalHiring",
+        Hiring.optimalHiring(candidates, new CandidateList(), desiredHires));
+    results.put("PoolHiring.optimalHiring",
+        PoolHiring.optimalHiring(candidates, new CandidateList(), desiredHires));
+    results.put("minCoverageHiring",
+        Hiring.minCoverageHiring(candidates, new CandidateList(), minHours));
+    results.put("PoolHiring.minCoverageHiring",
+        PoolHiring.minCoverageHiring(candidates, new CandidateList(), minHours));
+    results.put("ParallelHiring.optimalHiring",
+        ParallelHiring.optimalHiring(candidates, new CandidateList(), desiredHires));
+    results.put("IterativeHiring.optimalHiring",
+        IterativeHiring.optimalHiring(candidates, new CandidateList(), desiredHires));
+    results.put("IterativeHiring.minCoverageHiring",
+        IterativeHiring.minCoverageHiring(candidates, new CandidateList(), minHours));
+    results.put("MeetInTheMiddleHiring.optimalHiring",
+        MeetInTheMiddleHiring.optimalHiring(candidates, new CandidateList(), desiredHires));
+    if (numHours <= BitmaskHiring.MAX_HOURS) {
+      results.put("BitmaskHiring.minCoverageHiring",
+          BitmaskHiring.minCoverageHiring(candidates, new CandidateList(), minHours));
+    }
+    AnytimeHiring.Result anytimeOptimal = AnytimeHiring.optimalHiring(candidates,
+        new CandidateList(), desiredHires, NO_DEADLINE_MILLIS);
+    AnytimeHiring.Result anytimeMinCoverage = AnytimeHiring.minCoverageHiring(candidates,
+        new CandidateList(), minHours, NO_DEADLINE_MILLIS);
+    if (!anytimeOptimal.isOptimal() || !anytimeMinCoverage.isOptimal()) {
+      return "seed " + seed + ": AnytimeHiring did not finish: " + anytimeOptimal + ", "
+          + anytimeMinCoverage;
+    }
+    results.put("AnytimeHiring.optimalHiring", anytimeOptimal.getSolution());
+    results.put("AnytimeHiring.minCoverageHiring", anytimeMinCoverage.getSolution());
+    int[] demand = new int[numHours];
+    Arrays.fill(demand, 1);
+    results.put("DemandHiring.optimalHiring",
+        DemandHiring.optimalHiring(candidates, new CandidateList(), desiredHires, demand));
+    results.put("DemandHiring.minCoverageHiring",
+        DemandHiring.minCoverageHiring(candidates, new CandidateList(), minHours, demand));
+
+    for (Map.Entry<String, CandidateList> result : results.entrySet()) {
+      CandidateList actual = result.getValue();
+      if (verbose) {
+        System.out.println(result.getKey() + ": " + actual);
+      }
+      String wrong;
+      if (result.getKey().endsWith("optimalHiring")) {
+        wrong = (actual == null || !isSubset(actual, candidates) || actual.size() > desiredHires)
+            ? "not a set of at most " + desiredHires + " candidates"
+            : (actual.numCoveredHours() != maxCovered)
+                ? "covers " + actual.numCoveredHours() + " hours, not " + maxCovered : null;
+      } else if (minCost == null || actual == null) {
+        wrong = (minCost == null) == (actual == null) ? null
+            : "expected " + (minCost == null ? "no solution" : "cost " + minCost);
+      } else {
+        wrong = (!isSubset(actual, candidates) || actual.numCoveredHours() < minHours)
+            ? "not a set of candidates covering " + minHours + " hours"
+            : (actual.totalCost() != minCost)
+                ? "costs " + actual.totalCost() + ", not " + minCost : null;
+      }
+      if (wrong != null) {
+        return "seed " + seed + ": " + result.getKey() + " returned " + actual + ", " + wrong;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return true if list has no repeated candidates and all of them are in candidates.
+   */
+  private static boolean isSubset(CandidateList list, CandidateList candidates) {
+    Set<Candidate> distinct = new HashSet<>(list);
+    return distinct.size() == list.size() && new HashSet<>(candidates).containsAll(distinct);
+  }
+}
@@ -0,0 +1,391 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A fast reader for the text input format used by {@link HiringDriver}. It works directly on bytes
+ * from a large buffer, instead of going through java.util.Scanner's regular expressions, and reads
+ * availability straight into packed words without creating a String or boolean per token.
+ * 
+ * <p>
+ * Tokens are separated by any whitespace. Booleans are "true" or "false" (in any case), and
+ * integers are an optional sign followed by decimal digits. When a token is not what was expected,
+ * an {@link InputFormatException} reports the line and column where the token starts.
+ */
+public class HiringInputReader implements Closeable {
+
+  /**
+   * The default size of the read buffer.
+   */
+  public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+  /**
+   * Thrown when the input does not contain the expected kind of token.
+   */
+  public static class InputFormatException extends IOException {
+
+    /**
+     * Ignore this. Makes the compiler happy.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The line of the offending token; lines start at 1.
+     */
+    private final int line;
+
+    /**
+     * The column of the offending token; columns start at 1.
+     */
+    private final int column;
+
+    /**
+     * Creates a new exception.
+     * 
+     * @param expected a description of what was expected, e.g. "integer".
+     * @param line     the line of the offending token.
+     * @param column   the column of the offending token.
+     */
+    public InputFormatException(String expected, int line, int column) {
+      super("expected " + expected + " at line " + line + ", column " + column);
+      this.line = line;
+      this.column = column;
+    }
+
+    /**
+     * @return the line of the offending token; lines start at 1.
+     */
+    public int getLine() {
+      return line;
+    }
+
+    /**
+     * @return the column of the offending token; columns start at 1.
+     */
+    public int getColumn() {
+      return column;
+    }
+  }
+
+  /**
+   * The stream being read.
+   */
+  private final InputStream in;
+
+  /**
+   * Bytes read from in; buffer[pos..limit) have not been consumed yet.
+   */
+  private final byte[] buffer;
+
+  /**
+   * The index in buffer of the next byte to consume.
+   */
+  private int pos;
+
+  /**
+   * The number of valid bytes in buffer.
+   */
+  private int limit;
+
+  /**
+   * The line of buffer[pos]; lines start at 1.
+   */
+  private int line = 1;
+
+  /**
+   * The column of buffer[pos]; columns start at 1.
+   */
+  private int column = 1;
+
+  /**
+   * The line where the most recent token started.
+   */
+  private int tokenLine;
+
+  /**
+   * The column where the most recent token started.
+   */
+  private int tokenColumn;
+
+  /**
+   * Creates a reader with the default buffer size.
+   * 
+   * @param in the stream to read.
+   */
+  public HiringInputReader(InputStream in) {
+    this(in, DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * Creates a reader.
+   * 
+   * @param in         the stream to read.
+   * @param bufferSize the number of bytes to read from in at a time.
+   */
+  public HiringInputReader(InputStream in, int bufferSize) {
+    this.in = in;
+    this.buffer = new byte[bufferSize];
+  }
+
+  /**
+   * @return true if there is another token before the end of the input.
+   * @throws IOException if the stream cannot be read.
+   */
+  public boolean hasNext() throws IOException {
+    skipWhitespace();
+    return peek() != -1;
+  }
+
+  /**
+   * Reads an integer.
+   * 
+   * @return the integer read.
+   * @throws InputFormatException if the next token is not an integer that fits in an int.
+   * @throws IOException          if the stream cannot be read.
+   */
+  public int nextInt() throws IOException {
+    startToken();
+    boolean negative = false;
+    if (peek() == '-' || peek() == '+') {
+      negative = read() == '-';
+    }
+
+    long value = 0;
+    int digits = 0;
+    while (peek() >= '0' && peek() <= '9') {
+      value = value * 10 + (read() - '0');
+      if (value > (long) Integer.MAX_VALUE + 1) {
+        throw error("integer");
+      }
+      digits++;
+    }
+    value = negative ? -value : value;
+    if (digits == 0 || !atTokenEnd() || value > Integer.MAX_VALUE) {
+      throw error("integer");
+    }
+    return (int) value;
+  }
+
+  /**
+   * Reads a boolean.
+   * 
+   * @return true if the next token is "true", false if it is "false".
+   * @throws InputFormatException if the next token is neither.
+   * @throws IOException          if the stream cannot be read.
+   */
+  public boolean nextBoolean() throws IOException {
+    startToken();
+
+    // Fast path: the whole token and the byte after it are already in the buffer
+    if (limit - pos >= 6) {
+      int length = matchBuffered();
+      if (length != 0) {
+        pos += length;
+        column += length;
+        return length == 4;
+      }
+    }
+
+    int first = peek() | 0x20; // lower case
+    if (first == 't' && matchRest("true")) {
+      return true;
+    } else if (first == 'f' && matchRest("false")) {
+      return false;
+    }
+    throw error("true or false");
+  }
+
+  /**
+   * Reads n booleans directly into packed words.
+   * 
+   * @param n the number of booleans to read.
+   * @return the booleans packed 64 per word, as by Candidate.pack.
+   * @throws InputFormatException if one of the next n tokens is not a boolean.
+   * @throws IOException          if the stream cannot be read.
+   */
+  public long[] nextPackedBooleans(int n) throws IOException {
+    long[] words = new long[Candidate.numWords(n)];
+    nextPackedBooleans(n, words, 0);
+    return words;
+  }
+
+  /**
+   * Reads n booleans directly into packed words in the caller's array.
+   * 
+   * @param n      the number of booleans to read.
+   * @param words  the array to pack them into; words [offset, offset + numWords(n)) are
+   *               overwritten.
+   * @param offset the index of the first word to write.
+   * @throws InputFormatException if one of the next n tokens is not a boolean.
+   * @throws IOException          if the stream cannot be read.
+   */
+  public void nextPackedBooleans(int n, long[] words, int offset) throws IOException {
+    long word = 0;
+    for (int h = 0; h < n; ++h) {
+      if (nextBoolean()) {
+        word |= 1L << h;
+      }
+      if ((h & 63) == 63) {
+        words[offset + (h >>> 6)] = word;
+        word = 0;
+      }
+    }
+    if ((n & 63) != 0) {
+      words[offset + (n >>> 6)] = word;
+    }
+  }
+
+  /**
+   * @return the line where the most recently read token started; lines start at 1.
+   */
+  public int getLine() {
+    return tokenLine;
+  }
+
+  /**
+   * @return the column where the most recently read token started; columns start at 1.
+   */
+  public int getColumn() {
+    return tokenColumn;
+  }
+
+  /**
+   * Closes the underlying stream.
+   * 
+   * @throws IOException if the stream cannot be closed.
+   */
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+
+  /**
+   * Checks for "true" or "false" (in any case) followed by whitespace at buffer[pos], which must
+   * have at least 6 bytes available. Nothing is consumed.
+   * 
+   * @return 4 for "true", 5 for "false", or 0 for anything else.
+   */
+  private int matchBuffered() {
+    byte[] b = buffer;
+    int p = pos;
+    if ((b[p] | 0x20) == 't' && (b[p + 1] | 0x20) == 'r' && (b[p + 2] | 0x20) == 'u'
+        && (b[p + 3] | 0x20) == 'e' && isWhitespace(b[p + 4])) {
+      return 4;
+    }
+    if ((b[p] | 0x20) == 'f' && (b[p + 1] | 0x20) == 'a' && (b[p + 2] | 0x20) == 'l'
+        && (b[p + 3] | 0x20) == 's' && (b[p + 4] | 0x20) == 'e' && isWhitespace(b[p + 5])) {
+      return 5;
+    }
+    return 0;
+  }
+
+  /**
+   * Consumes the rest of a keyword whose first letter has been checked but not consumed.
+   * 
+   * @param keyword the lower-case keyword.
+   * @return true if the token is exactly the keyword, in any case.
+   * @throws IOException if the stream cannot be read.
+   */
+  private boolean matchRest(String keyword) throws IOException {
+    for (int i = 0; i < keyword.length(); ++i) {
+      if ((peek() | 0x20) != keyword.charAt(i)) {
+        return false;
+      }
+      read();
+    }
+    return atTokenEnd();
+  }
+
+  /**
+   * Skips whitespace and records where the next token starts.
+   * 
+   * @throws IOException if the stream cannot be read.
+   */
+  private void startToken() throws IOException {
+    skipWhitespace();
+    tokenLine = line;
+    tokenColumn = column;
+  }
+
+  /**
+   * @return true if the next byte ends a token.
+   * @throws IOException if the stream cannot be read.
+   */
+  private boolean atTokenEnd() throws IOException {
+    int b = peek();
+    return b == -1 || isWhitespace(b);
+  }
+
+  /**
+   * @param expected a description of what was expected.
+   * @return an exception pointing at the start of the current token.
+   */
+  private InputFormatException error(String expected) {
+    return new InputFormatException(expected, tokenLine, tokenColumn);
+  }
+
+  /**
+   * Consumes whitespace up to the next token or the end of the input.
+   * 
+   * @throws IOException if the stream cannot be read.
+   */
+  private void skipWhitespace() throws IOException {
+    while (peek() != -1) {
+      // consume as much whitespace as the buffer holds without going through read()
+      while (pos < limit && isWhitespace(buffer[pos])) {
+        if (buffer[pos] == '\n') {
+          line++;
+          column = 1;
+        } else {
+          column++;
+        }
+        pos++;
+      }
+      if (pos < limit) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * @param b a byte of input.
+   * @return true if b is an ASCII whitespace character.
+   */
+  private static boolean isWhitespace(int b) {
+    return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f' || b == 0x0B;
+  }
+
+  /**
+   * @return the next byte without consuming it, or -1 at the end of the input.
+   * @throws IOException if the stream cannot be read.
+   */
+  private int peek() throws IOException {
+    if (pos == limit) {
+      limit = in.read(buffer, 0, buffer.length);
+      pos = 0;
+      if (limit <= 0) {
+        limit = 0;
+        return -1;
+      }
+    }
+    return buffer[pos] & 0xFF;
+  }
+
+  /**
+   * @return the next byte, consuming it, or -1 at the end of the input.
+   * @throws IOException if the stream cannot be read.
+   */
+  private int read() throws IOException {
+    int b = peek();
+    if (b != -1) {
+      pos++;
+      if (b == '\n') {
+        line++;
+        column = 1;
+      } else {
+        column++;
+      }
+    }
+    return b;
+  }
+}
@@ -0,0 +1,361 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps the solution of a hiring problem up to date while the candidates change. A session holds
+ * the current candidates and hires; {@link #addCandidate(Candidate)},
+ * {@link #removeCandidate(Candidate)} and {@link #updateCandidate(Candidate, Candidate)} change the
+ * candidates, repair the hires, and report whether the hires changed.
+ *
+ * <p>
+ * With {@link Solver#GREEDY} the hires are always what Hiring.greedyHiring would return for the
+ * current candidates. The session remembers the hours covered before each pick, so a change only
+ * costs the new or changed candidate's gain at each pick, and the picks are only redone from the
+ * first one the change affects.
+ *
+ * <p>
+ * With {@link Solver#OPTIMAL} the hires always cover as many hours as Hiring.optimalHiring's. The
+ * session keeps a {@link CandidatePool} of the candidates and changes it in place as they change.
+ * After a candidate joins, only sets of hires that include it can be better, so only those are
+ * searched, and only for one that beats the current hires. A candidate that is not hired leaving
+ * changes nothing. After a hire leaves, any set of hires without it may be the new best, so the
+ * search cannot be limited to some of them; instead it starts with the remaining hires as the
+ * incumbent to beat and stops as soon as it finds hires covering as many hours as before.
+ */
+public class HiringSession {
+
+  /**
+   * How the session chooses its hires.
+   */
+  public enum Solver {
+    /**
+     * The hires of Hiring.greedyHiring.
+     */
+    GREEDY,
+
+    /**
+     * Hires covering as many hours as those of Hiring.optimalHiring.
+     */
+    OPTIMAL
+  }
+
+  /**
+   * How this session chooses its hires.
+   */
+  private final Solver solver;
+
+  /**
+   * The maximum number of candidates to hire.
+   */
+  private final int maxHires;
+
+  /**
+   * The current candidates, in order: added candidates go at the end, and an updated candidate
+   * takes the place of the one it replaces.
+   */
+  private final CandidateList candidates = new CandidateList();
+
+  /**
+   * The current hires. For GREEDY, in the order they were picked.
+   */
+  private List<Candidate> hires = new ArrayList<>();
+
+  /**
+   * GREEDY: covered.get(s) is the packed set of hours covered by hires 0, ..., s - 1, for s from
+   * 0 to hires.size().
+   */
+  private final List<long[]> covered = new ArrayList<>();
+
+  /**
+   * The number of words in each set in covered; enough for every candidate seen so far.
+   */
+  private int numWords;
+
+  /**
+   * The packed set of hours the current hires cover, numWords words long.
+   */
+  private long[] hiresCovered;
+
+  /**
+   * The number of hours the current hires cover.
+   */
+  private int coveredHours;
+
+  /**
+   * OPTIMAL: the candidates, index for index with the candidates list once removed candidates are
+   * skipped; null for GREEDY.
+   */
+  private CandidatePool pool;
+
+  /**
+   * Starts a session and solves the problem for the given candidates.
+   *
+   * @param candidates the initial candidates; the list is copied.
+   * @param maxHires   the maximum number of candidates to hire.
+   * @param solver     how to choose the hires.
+   */
+  public HiringSession(CandidateList candidates, int maxHires, Solver solver) {
+    this.solver = solver;
+    this.maxHires = maxHires;
+    this.candidates.addAll(candidates);
+    for (Candidate c : candidates) {
+      numWords = Math.max(numWords, c.getAvailabilityBits().length);
+    }
+    covered.add(new long[numWords]);
+    if (solver == Solver.GREEDY) {
+      replayGreedy(0);
+    } else {
+      pool = new CandidatePool(this.candidates);
+      setHires(pool.toCandidateList(PoolHiring.optimalHiring(pool, new int[0], maxHires)));
+    }
+  }
+
+  /**
+   * @return a new list of the current hires.
+   */
+  public CandidateList getHires() {
+    return new CandidateList(hires);
+  }
+
+  /**
+   * @return the number of hours the current hires cover.
+   */
+  public int numCoveredHours() {
+    return coveredHours;
+  }
+
+  /**
+   * @return a new list of the current candidates, in order.
+   */
+  public CandidateList getCandidates() {
+    return new CandidateList(candidates);
+  }
+
+  /**
+   * Adds a candidate at the end of the candidates and repairs the hires.
+   *
+   * @param c the new candidate.
+   * @return true if the hires changed.
+   * @throws IllegalArgumentException if c is already a candidate.
+   */
+  public boolean addCandidate(Candidate c) {
+    if (candidates.contains(c)) {
+      throw new IllegalArgumentException("Already a candidate: " + c);
+    }
+    candidates.add(c);
+    growWords(c);
+    if (solver == Solver.GREEDY) {
+      return repairGreedy(c, candidates.size() - 1, hires.size());
+    }
+    pool.add(c);
+    return searchWith(c);
+  }
+
+  /**
+   * Removes a candidate and repairs the hires.
+   *
+   * @param c the candidate to remove.
+   * @return true if the hires changed, which happens exactly when c was hired.
+   * @throws IllegalArgumentException if c is not a candidate.
+   */
+  public boolean removeCandidate(Candidate c) {
+    if (!candidates.contains(c)) {
+      throw new IllegalArgumentException("Not a candidate: " + c);
+    }
+    candidates.remove(c);
+    if (pool != null) {
+      pool.remove(pool.indicesOf(List.of(c))[0]);
+      compactPool();
+    }
+    int step = hires.indexOf(c);
+    if (step < 0) {
+      // every pick (and the optimal hires) is still the best without c
+      return false;
+    }
+    if (solver == Solver.GREEDY) {
+      replayGreedy(step);
+    } else {
+      // no set of hires without c covers more than the hires with it did
+      searchWithout(c, coveredHours);
+    }
+    return true;
+  }
+
+  /**
+   * Replaces a candidate, for example with one whose availability or pay rate was edited, and
+   * repairs the hires. The replacement takes the old candidate's place in the order.
+   *
+   * @param old         the candidate to replace.
+   * @param replacement the new candidate.
+   * @return true if the hires changed.
+   * @throws IllegalArgumentException if old is not a candidate or replacement already is one.
+   */
+  public boolean updateCandidate(Candidate old, Candidate replacement) {
+    int position = candidates.indexOf(old);
+    if (position < 0) {
+      throw new IllegalArgumentException("Not a candidate: " + old);
+    }
+    if (candidates.contains(replacement)) {
+      throw new IllegalArgumentException("Already a candidate: " + replacement);
+    }
+    if (pool != null) {
+      pool.set(pool.indicesOf(List.of(old))[0], replacement);
+    }
+    candidates.set(position, replacement);
+    growWords(replacement);
+
+    int step = hires.indexOf(old);
+    if (solver == Solver.GREEDY) {
+      return repairGreedy(replacement, position, step < 0 ? hires.size() : step);
+    }
+    if (step >= 0) {
+      // the replacement may let some hires cover more than before, so there is no upper bound
+      searchWithout(old, Integer.MAX_VALUE);
+      return true;
+    }
+    return searchWith(replacement);
+  }
+
+  /**
+   * GREEDY: redoes the picks from the first one that c, at the given position in the candidates,
+   * would now win, or from lastValid if it wins none before that.
+   *
+   * @param c         a candidate that was added or changed.
+   * @param position  its position in the candidates.
+   * @param lastValid the first pick that has to be redone anyway (hires.size() if none).
+   * @return true if the hires changed.
+   */
+  private boolean repairGreedy(Candidate c, int position, int lastValid) {
+    for (int s = 0; s < lastValid; ++s) {
+      int gain = c.numNewHours(covered.get(s));
+      int pickGain = hires.get(s).numNewHours(covered.get(s));
+      // ties go to the candidate earlier in the order
+      if (gain > pickGain
+          || (gain == pickGain && position < candidates.indexOf(hires.get(s)))) {
+        return replayGreedy(s);
+      }
+    }
+    if (lastValid < hires.size() || hires.size() < maxHires) {
+      return replayGreedy(lastValid);
+    }
+    return false;
+  }
+
+  /**
+   * GREEDY: keeps the first step picks and picks the rest again, the same way
+   * Hiring.greedyHiring does.
+   *
+   * @param step the first pick to redo.
+   * @return true if the hires changed.
+   */
+  private boolean replayGreedy(int step) {
+    List<Candidate> before = new ArrayList<>(hires);
+    hires.subList(step, hires.size()).clear();
+    covered.subList(step + 1, covered.size()).clear();
+    // taken[i] is true if candidates.get(i) is hired, as in Hiring.greedyHiring
+    boolean[] taken = new boolean[candidates.size()];
+    for (Candidate hire : hires) {
+      taken[candidates.indexOf(hire)] = true;
+    }
+    long[] now = covered.get(step).clone();
+
+    while (hires.size() < maxHires) {
+      // find the first candidate that increases hours covered the most
+      int best = -1;
+      int maxDifference = -1;
+      for (int i = 0; i < candidates.size(); ++i) {
+        if (!taken[i]) {
+          int difference = candidates.get(i).numNewHours(now);
+          if (difference > maxDifference) {
+            best = i;
+            maxDifference = difference;
+          }
+        }
+      }
+      if (best < 0) {
+        break;
+      }
+      hires.add(candidates.get(best));
+      taken[best] = true;
+      candidates.get(best).orInto(now);
+      covered.add(now.clone());
+    }
+    hiresCovered = covered.get(hires.size());
+    coveredHours = Candidate.popcount(hiresCovered);
+    return !hires.equals(before);
+  }
+
+  /**
+   * OPTIMAL: after c joined, searches the sets of hires that include c for one that covers more
+   * hours than the current hires.
+   *
+   * @return true if one was found and the hires changed.
+   */
+  private boolean searchWith(Candidate c) {
+    if (maxHires <= 0) {
+      return false;
+    }
+    int[] better = PoolHiring.optimalHiring(pool, pool.indicesOf(List.of(c)), maxHires - 1,
+        coveredHours);
+    if (better == null) {
+      return false;
+    }
+    setHires(pool.toCandidateList(better));
+    return true;
+  }
+
+  /**
+   * OPTIMAL: after the hire c left, searches for hires that cover more hours than the remaining
+   * hires, and keeps the remaining hires if there are none.
+   *
+   * @param atMost the most hours any set of hires can now cover.
+   */
+  private void searchWithout(Candidate c, int atMost) {
+    List<Candidate> rest = new ArrayList<>(hires);
+    rest.remove(c);
+    setHires(rest);
+    int[] better = PoolHiring.optimalHiring(pool, new int[0], maxHires, coveredHours, atMost);
+    if (better != null) {
+      setHires(pool.toCandidateList(better));
+    }
+  }
+
+  /**
+   * OPTIMAL: makes the given candidates the hires and recounts the hours they cover.
+   */
+  private void setHires(List<Candidate> newHires) {
+    hires = new ArrayList<>(newHires);
+    hiresCovered = new long[numWords];
+    for (Candidate h : hires) {
+      h.orInto(hiresCovered);
+    }
+    coveredHours = Candidate.popcount(hiresCovered);
+  }
+
+  /**
+   * OPTIMAL: rebuilds the pool without its removed candidates once they outnumber the others, so
+   * the pool stays within twice the size of the candidates.
+   */
+  private void compactPool() {
+    if (pool.numRemoved() > candidates.size()) {
+      pool = new CandidatePool(candidates);
+    }
+  }
+
+  /**
+   * Widens the covered sets if c's schedule is longer than any seen so far.
+   */
+  private void growWords(Candidate c) {
+    int words = c.getAvailabilityBits().length;
+    if (words > numWords) {
+      numWords = words;
+      for (int s = 0; s < covered.size(); ++s) {
+        covered.set(s, Arrays.copyOf(covered.get(s), words));
+      }
+      if (hiresCovered != null) {
+        hiresCovered = Arrays.copyOf(hiresCovered, words);
+      }
+    }
+  }
+}
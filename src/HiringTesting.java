@@ -28,8 +28,20 @@
 //
 ///////////////////////////////////////////////////////////////////////////////
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 /**
  * Testing class containing various methods to test the recursive functions present
  * in the Hiring class (including base case, recursive case, and fuzz testing).
@@ -222,6 +234,41 @@ public class HiringTesting {
   }
 
 
+  /**
+   * Fuzz test checking that the lazy greedy mode of greedyHiring makes exactly the same hires,
+   * in the same order, as the eager mode on randomly generated problem instances.
+   * 
+   * @return true if both modes agree on every instance, false otherwise
+   */
+  public static boolean greedyHiringLazyTest() {
+    // create and seed Random instance
+    Random randGen = new Random(333);
+
+    // test 150 randomly generated problem instances
+    for (int i = 0; i < 150; i++) {
+      int numHours = randGen.nextInt(70) + 1; // [1,70], so some need more than one word
+      int numCandidates = randGen.nextInt(20) + 1; // [1,20]
+      int desiredHires = randGen.nextInt(numCandidates) + 1; // [1, numCandidates]
+
+      CandidateList candidates = 
+          HiringTestingUtilities.generateRandomInput(numHours, numCandidates);
+
+      CandidateList eager = Hiring.greedyHiring(candidates, new CandidateList(), desiredHires,
+          Hiring.GreedyMode.EAGER);
+      CandidateList lazy = Hiring.greedyHiring(candidates, new CandidateList(), desiredHires,
+          Hiring.GreedyMode.LAZY);
+
+      // compare in hiring order, so ties must have been broken the same way
+      if (!eager.equals(lazy)) {
+        System.out.println("Error in greedyHiringLazyTest");
+        System.out.println("eager: " + eager);
+        System.out.println("lazy:  " + lazy);
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * Testing method to test greedyHiring on base case (no recursion calls)
    * on a variety of testing cases
@@ -474,6 +521,47 @@ public class HiringTesting {
     return true;
   }
 
+  /**
+   * Fuzz test checking that ParallelHiring.optimalHiring returns exactly the same hires as
+   * Hiring.optimalHiring. A sequential threshold of 2 makes even small instances split into
+   * many fork/join tasks.
+   * 
+   * @return true if the parallel and sequential solvers agree on every instance, false otherwise
+   */
+  public static boolean optimalHiringParallelTest() {
+    // create and seed Random instance
+    Random randGen = new Random(666);
+    ForkJoinPool pool = new ForkJoinPool(4);
+
+    try {
+      // test 150 randomly generated problem instances
+      for (int i = 0; i < 150; i++) {
+        int numHours = randGen.nextInt(20) + 1; // [1,20]
+        int numCandidates = randGen.nextInt(14) + 1; // [1,14]
+        int desiredHires = randGen.nextInt(numCandidates) + 1; // [1, numCandidates]
+
+        CandidateList candidates = 
+            HiringTestingUtilities.generateRandomInput(numHours, numCandidates);
+
+        CandidateList sequential = Hiring.optimalHiring(candidates, new CandidateList(),
+            desiredHires);
+        CandidateList parallel = ParallelHiring.optimalHiring(candidates, new CandidateList(),
+            desiredHires, pool, 2);
+
+        // compare in hiring order, so ties must have been broken the same way
+        if (!sequential.equals(parallel)) {
+          System.out.println("Error in optimalHiringParallelTest");
+          System.out.println("sequential: " + sequential);
+          System.out.println("parallel:   " + parallel);
+          return false;
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+    return true;
+  }
+
   /**
    * Testing method to test minCoverageHiring on base case (no recursion calls)
    * on a variety of testing cases
@@ -775,6 +863,931 @@ public class HiringTesting {
     return true;
   }
 
+  /**
+   * Fuzz test for BitmaskHiring.minCoverageHiring to test 150 randomly-generated problem
+   * instances and ensure the returned solution is present in the expected list of solutions.
+   * 
+   * @return true if all randomly generated problem instances return true, false otherwise
+   */
+  public static boolean minCoverageHiringBitmaskTest() {
+    // create and seed Random instance
+    Random randGen = new Random(777);
+
+    // test 150 randomly generated problem instances
+    for (int i = 0; i < 150; i++) {
+      int numHours = randGen.nextInt(12) + 1; // [1,12]
+      int numCandidates = randGen.nextInt(12) + 1; // [1,12]
+      int minHours = randGen.nextInt(numHours) + 1; // [1, numHours]
+      int maxPayRate = randGen.nextInt(5) + 1; // [1,5]
+
+      CandidateList candidates = 
+          HiringTestingUtilities.generateRandomInput(numHours, numCandidates, maxPayRate);
+
+      CandidateList actual = BitmaskHiring.minCoverageHiring(candidates, new CandidateList(),
+          minHours);
+      ArrayList<CandidateList> expectedLists = 
+          HiringTestingUtilities.allMinCoverageSolutions(candidates, minHours);
+
+      if (!HiringTestingUtilities.compareCandidateLists(expectedLists, actual)) {
+        System.out.println("Error in minCoverageHiringBitmaskTest");
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Fuzz test checking that the non-recursive solvers in IterativeHiring return exactly the same
+   * hires as their recursive counterparts in Hiring on randomly generated problem instances.
+   * 
+   * @return true if every solver agrees on every instance, false otherwise
+   */
+  public static boolean iterativeHiringTest() {
+    // create and seed Random instance
+    Random randGen = new Random(888);
+
+    // test 150 randomly generated problem instances
+    for (int i = 0; i < 150; i++) {
+      int numHours = randGen.nextInt(20) + 1; // [1,20]
+      int numCandidates = randGen.nextInt(12) + 1; // [1,12]
+      int desiredHires = randGen.nextInt(numCandidates) + 1; // [1, numCandidates]
+      int minHours = randGen.nextInt(numHours) + 1; // [1, numHours]
+
+      CandidateList candidates = 
+          HiringTestingUtilities.generateRandomInput(numHours, numCandidates, 5);
+
+      // start with the first candidate already hired half of the time
+      CandidateList hired = new CandidateList();
+      if (randGen.nextBoolean() && numCandidates > 1) {
+        hired.add(candidates.remove(0));
+      }
+
+      CandidateList[][] results = {
+          {Hiring.greedyHiring(candidates, hired, desiredHires),
+              IterativeHiring.greedyHiring(candidates, hired, desiredHires)},
+          {Hiring.optimalHiring(candidates, hired, desiredHires),
+              IterativeHiring.optimalHiring(candidates, hired, desiredHires)},
+          {Hiring.minCoverageHiring(candidates, hired, minHours),
+              IterativeHiring.minCoverageHiring(candidates, hired, minHours)}};
+
+      for (CandidateList[] result : results) {
+        // compare in hiring order, so ties must have been broken the same way
+        if (result[0] == null ? result[1] != null : !result[0].equals(result[1])) {
+          System.out.println("Error in iterativeHiringTest");
+          System.out.println("recursive: " + result[0]);
+          System.out.println("iterative: " + result[1]);
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Fuzz test checking that solving a problem reduced by InstanceReduction still gives one of the
+   * optimal solutions of the original problem. Availability density varies per instance so that
+   * there are plenty of empty, duplicate and dominated candidates to remove.
+   * 
+   * @return true if every reduced solution is optimal for the original problem, false otherwise
+   */
+  public static boolean instanceReductionTest() {
+    // create and seed Random instance
+    Random randGen = new Random(999);
+
+    // test 150 randomly generated problem instances
+    for (int i = 0; i < 150; i++) {
+      int numHours = randGen.nextInt(8) + 1; // [1,8]
+      int numCandidates = randGen.nextInt(10) + 1; // [1,10]
+      int desiredHires = randGen.nextInt(numCandidates) + 1; // [1, numCandidates]
+      int minHours = randGen.nextInt(numHours) + 1; // [1, numHours]
+      double density = randGen.nextDouble();
+
+      CandidateList candidates = new CandidateList();
+      for (int c = 0; c < numCandidates; c++) {
+        boolean[] availability = new boolean[numHours];
+        for (int h = 0; h < numHours; h++) {
+          availability[h] = randGen.nextDouble() < density;
+        }
+        candidates.add(new Candidate(availability, randGen.nextInt(3) + 1));
+      }
+
+      CandidateList optimal = InstanceReduction.optimalHiring(candidates, new CandidateList(),
+          desiredHires);
+      if (!HiringTestingUtilities.compareCandidateLists(
+          HiringTestingUtilities.allOptimalSolutions(candidates, desiredHires), optimal)) {
+        System.out.println("Error in instanceReductionTest (optimalHiring)");
+        return false;
+      }
+
+      CandidateList minCoverage = InstanceReduction.minCoverageHiring(candidates,
+          new CandidateList(), minHours);
+      if (!HiringTestingUtilities.compareCandidateLists(
+          HiringTestingUtilities.allMinCoverageSolutions(candidates, minHours), minCoverage)) {
+        System.out.println("Error in instanceReductionTest (minCoverageHiring)");
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Testing method to check that HiringInputReader reads the driver's input format into packed
+   * availability and reports the position of malformed tokens.
+   * 
+   * @return true if all cases pass, false otherwise
+   */
+  public static boolean hiringInputReaderTest() {
+    try {
+      { // Case (1) - a well-formed candidate line, with mixed whitespace and case
+        String input = "3 1 2 2\ntrue  FALSE\ttrue 7\n";
+        HiringInputReader reader = 
+            new HiringInputReader(new ByteArrayInputStream(input.getBytes()), 8);
+        int[] header = {reader.nextInt(), reader.nextInt(), reader.nextInt(), reader.nextInt()};
+        long[] availability = reader.nextPackedBooleans(3);
+        int payRate = reader.nextInt();
+
+        if (header[0] != 3 || header[3] != 2 || availability[0] != 0b101L || payRate != 7
+            || reader.hasNext()) {
+          System.out.println("Error in hiringInputReaderTest case 1");
+          return false;
+        }
+      }
+
+      { // Case (2) - a misspelled boolean is reported at the start of the token
+        String input = "true\n  fals true";
+        HiringInputReader reader = 
+            new HiringInputReader(new ByteArrayInputStream(input.getBytes()));
+        try {
+          reader.nextPackedBooleans(3);
+          System.out.println("Error in hiringInputReaderTest case 2: no exception");
+          return false;
+        } catch (HiringInputReader.InputFormatException e) {
+          if (e.getLine() != 2 || e.getColumn() != 3) {
+            System.out.println("Error in hiringInputReaderTest case 2: " + e.getMessage());
+            return false;
+          }
+        }
+      }
+    } catch (IOException e) {
+      System.out.println("Error in hiringInputReaderTest: " + e);
+      return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * Testing method to check that candidates written to a CandidateFile and mapped back have the
+   * same availability and pay rates, including schedules longer than one 64-hour word.
+   * 
+   * @return true if all cases pass, false otherwise
+   */
+  public static boolean candidateFileTest() {
+    try {
+      Path path = Files.createTempFile("candidates", ".bin");
+      try {
+        Random random = new Random(311);
+        int numHours = 70;
+        CandidateList candidates = new CandidateList();
+        for (int i = 0; i < 5; ++i) {
+          boolean[] availability = new boolean[numHours];
+          for (int h = 0; h < numHours; ++h) {
+            availability[h] = random.nextBoolean();
+          }
+          candidates.add(new Candidate(availability, random.nextInt(10)));
+        }
+        CandidateFile.write(path, numHours, candidates, true);
+
+        CandidateFile file = CandidateFile.open(path);
+        if (file.size() != candidates.size() || file.getNumHours() != numHours
+            || !file.hasPayRates()) {
+          System.out.println("Error in candidateFileTest: header " + file.size() + " "
+              + file.getNumHours());
+          return false;
+        }
+        CandidateList read = file.toCandidateList();
+        for (int i = 0; i < candidates.size(); ++i) {
+          if (!Arrays.equals(read.get(i).getAvailability(), candidates.get(i).getAvailability())
+              || read.get(i).getPayRate() != candidates.get(i).getPayRate()
+              || file.isAvailable(i, 69) != candidates.get(i).isAvailable(69)) {
+            System.out.println("Error in candidateFileTest: candidate " + i + " read as "
+                + read.get(i));
+            return false;
+          }
+        }
+      } finally {
+        Files.delete(path);
+      }
+    } catch (IOException e) {
+      System.out.println("Error in candidateFileTest: " + e);
+      return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * Fuzz test checking that AnytimeHiring proves the same optimal value as Hiring when it has
+   * time to finish, and that with no time at all its bound still brackets the optimal value.
+   * 
+   * @return true if every result is consistent with the exact solvers, false otherwise
+   */
+  public static boolean anytimeHiringTest() {
+    // create and seed Random instance
+    Random randGen = new Random(1313);
+
+    // test 100 randomly generated problem instances
+    for (int i = 0; i < 100; i++) {
+      int numHours = randGen.nextInt(20) + 1; // [1,20]
+      int numCandidates = randGen.nextInt(12) + 1; // [1,12]
+      int desiredHires = randGen.nextInt(numCandidates) + 1; // [1, numCandidates]
+      int minHours = randGen.nextInt(numHours) + 1; // [1, numHours]
+
+      CandidateList candidates =
+          HiringTestingUtilities.generateRandomInput(numHours, numCandidates, 5);
+      int optimalHours =
+          Hiring.optimalHiring(candidates, new CandidateList(), desiredHires).numCoveredHours();
+      CandidateList cheapest = Hiring.minCoverageHiring(candidates, new CandidateList(), minHours);
+
+      for (long timeLimit : new long[] {0, 10_000}) {
+        AnytimeHiring.Result coverage =
+            AnytimeHiring.optimalHiring(candidates, new CandidateList(), desiredHires, timeLimit);
+        AnytimeHiring.Result cost =
+            AnytimeHiring.minCoverageHiring(candidates, new CandidateList(), minHours, timeLimit);
+        boolean finished = timeLimit > 0;
+
+        if (coverage.getSolution().size() > desiredHires
+            || coverage.getSolution().numCoveredHours() != coverage.getValue()
+            || coverage.getValue() > optimalHours || coverage.getBound() < optimalHours
+            || (finished && (!coverage.isOptimal() || coverage.getValue() != optimalHours))) {
+          System.out.println("Error in anytimeHiringTest (optimalHiring): " + coverage
+              + ", optimal " + optimalHours);
+          return false;
+        }
+
+        if (cheapest == null) {
+          if (cost.getSolution() != null || !cost.isOptimal()) {
+            System.out.println("Error in anytimeHiringTest: expected no solution, got " + cost);
+            return false;
+          }
+        } else if (cost.getSolution() == null
+            || cost.getSolution().numCoveredHours() < minHours
+            || cost.getSolution().totalCost() != cost.getValue()
+            || cost.getValue() < cheapest.totalCost() || cost.getBound() > cheapest.totalCost()
+            || (finished && (!cost.isOptimal() || cost.getValue() != cheapest.totalCost()))) {
+          System.out.println("Error in anytimeHiringTest (minCoverageHiring): " + cost
+              + ", optimal " + cheapest.totalCost());
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Fuzz test checking that MeetInTheMiddleHiring covers as many hours as Hiring.optimalHiring,
+   * keeps the hired baseline at the front of its result, and never hires more than allowed.
+   * 
+   * @return true if every instance agrees, false otherwise
+   */
+  public static boolean meetInTheMiddleHiringTest() {
+    // create and seed Random instance
+    Random randGen = new Random(1414);
+
+    // test 200 randomly generated problem instances
+    for (int i = 0; i < 200; i++) {
+      int numHours = randGen.nextInt(100) + 1; // [1,100]
+      int numCandidates = randGen.nextInt(14) + 1; // [1,14]
+      int desiredHires = randGen.nextInt(6); // [0,5]
+
+      CandidateList candidates =
+          HiringTestingUtilities.generateRandomInput(numHours, numCandidates);
+
+      // start with the first candidate already hired half of the time
+      CandidateList hired = new CandidateList();
+      if (randGen.nextBoolean() && numCandidates > 1) {
+        hired.add(candidates.remove(0));
+      }
+
+      CandidateList expected = Hiring.optimalHiring(candidates, hired, desiredHires);
+      CandidateList actual = MeetInTheMiddleHiring.optimalHiring(candidates, hired, desiredHires);
+      if (actual.numCoveredHours() != expected.numCoveredHours()
+          || actual.size() > hired.size() + desiredHires
+          || !actual.subList(0, hired.size()).equals(hired)) {
+        System.out.println("Error in meetInTheMiddleHiringTest");
+        System.out.println("expected: " + expected);
+        System.out.println("actual: " + actual);
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Fuzz test checking that LocalSearch never makes a greedy solution worse, keeps within the
+   * hiring limit or the minimum hours, and never beats the exact solvers (which would mean it
+   * miscounted a move).
+   * 
+   * @return true if every improved solution is valid, false otherwise
+   */
+  public static boolean localSearchTest() {
+    // create and seed Random instance
+    Random randGen = new Random(1515);
+
+    // test 150 randomly generated problem instances
+    for (int i = 0; i < 150; i++) {
+      int numHours = randGen.nextInt(40) + 1; // [1,40]
+      int numCandidates = randGen.nextInt(12) + 1; // [1,12]
+      int desiredHires = randGen.nextInt(numCandidates) + 1; // [1, numCandidates]
+      int minHours = randGen.nextInt(numHours) + 1; // [1, numHours]
+
+      CandidateList candidates =
+          HiringTestingUtilities.generateRandomInput(numHours, numCandidates, 5);
+
+      CandidateList greedy = Hiring.greedyHiring(candidates, new CandidateList(), desiredHires);
+      CandidateList improved = LocalSearch.optimalHiring(candidates, new CandidateList(), greedy,
+          desiredHires, LocalSearch.DEFAULT_MAX_ITERATIONS, 0, 2, i);
+      int optimalHours =
+          Hiring.optimalHiring(candidates, new CandidateList(), desiredHires).numCoveredHours();
+      if (improved.size() > desiredHires || improved.numCoveredHours() < greedy.numCoveredHours()
+          || improved.numCoveredHours() > optimalHours) {
+        System.out.println("Error in localSearchTest (optimalHiring): " + greedy + " became "
+            + improved);
+        return false;
+      }
+
+      // start the cost search from hiring everyone
+      CandidateList cheapest = Hiring.minCoverageHiring(candidates, new CandidateList(), minHours);
+      if (cheapest != null) {
+        CandidateList cheaper = LocalSearch.minCoverageHiring(candidates, new CandidateList(),
+            new CandidateList(candidates), minHours, LocalSearch.DEFAULT_MAX_ITERATIONS, 0, 2, i);
+        if (cheaper.numCoveredHours() < minHours || cheaper.totalCost() > candidates.totalCost()
+            || cheaper.totalCost() < cheapest.totalCost()) {
+          System.out.println("Error in localSearchTest (minCoverageHiring): " + cheaper);
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Testing method to check that SolverStats records the work of the solvers while enabled, and
+   * that nothing is recorded once it is disabled.
+   * 
+   * @return true if all cases pass, false otherwise
+   */
+  public static boolean solverStatsTest() {
+    CandidateList candidates = HiringTestingUtilities.makeCandidateList(new boolean[][] {
+        {true, true, true, false, false, true}, {true, true, false, true, false, true},
+        {true, false, true, false, true, true}, {false, false, true, true, false, false}},
+        new int[] {5, 1, 5, 5});
+
+    SolverStats stats = SolverStats.enable();
+    try {
+      Hiring.optimalHiring(candidates, new CandidateList(), 2);
+      Hiring.minCoverageHiring(candidates, new CandidateList(), 5);
+    } finally {
+      SolverStats.disable();
+    }
+
+    if (stats.getSolves() != 2 || stats.getNodes() == 0
+        || stats.getPruned(SolverStats.Prune.ENOUGH_HOURS) == 0
+        || stats.getImprovements().isEmpty() || stats.getCoverageEvaluations() == 0) {
+      System.out.println("Error in solverStatsTest: unexpected statistics\n" + stats);
+      return false;
+    }
+
+    // nothing should be recorded while disabled
+    long nodes = stats.getNodes();
+    Hiring.optimalHiring(candidates, new CandidateList(), 2);
+    if (SolverStats.active() != null || stats.getNodes() != nodes) {
+      System.out.println("Error in solverStatsTest: recorded while disabled");
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Fuzz test checking that the allocation-free variants of Candidate.hire agree with
+   * hire(boolean[]), and that undoing packed hires in reverse order restores the hours needed.
+   * 
+   * @return true if all cases pass, false otherwise
+   */
+  public static boolean candidateResidualTest() {
+    // create and seed Random instance
+    Random randGen = new Random(1818);
+
+    // test 100 randomly generated problem instances
+    for (int i = 0; i < 100; i++) {
+      int numHours = randGen.nextInt(200) + 1; // [1,200]
+      int numCandidates = randGen.nextInt(6) + 1; // [1,6]
+      CandidateList candidates =
+          HiringTestingUtilities.generateRandomInput(numHours, numCandidates, 5);
+
+      boolean[] hoursNeeded = new boolean[numHours];
+      for (int h = 0; h < numHours; h++) {
+        hoursNeeded[h] = randGen.nextBoolean();
+      }
+      long[] packed = Candidate.pack(hoursNeeded);
+      long[] original = packed.clone();
+      long[] undo = new long[numCandidates * packed.length];
+      boolean[] inPlace = hoursNeeded.clone();
+      boolean[] buffer = new boolean[numHours];
+
+      // hire everyone, one after another, checking each variant against hire(boolean[])
+      for (int c = 0; c < numCandidates; c++) {
+        Candidate candidate = candidates.get(c);
+        boolean[] expected = candidate.hire(hoursNeeded);
+        int covered = 0;
+        for (int h = 0; h < numHours; h++) {
+          covered += (hoursNeeded[h] && !expected[h]) ? 1 : 0;
+        }
+
+        if (candidate.hire(hoursNeeded, buffer) != buffer || !Arrays.equals(buffer, expected)
+            || !Arrays.equals(candidate.hire(inPlace, inPlace), expected)
+            || candidate.numHoursCovered(hoursNeeded) != covered
+            || candidate.numHoursCovered(packed) != covered
+            || candidate.hire(packed, undo, c * packed.length) != covered
+            || !Arrays.equals(packed, Candidate.pack(expected))) {
+          System.out.println("Error in candidateResidualTest: " + candidate + " against "
+              + Arrays.toString(hoursNeeded));
+          return false;
+        }
+        hoursNeeded = expected;
+      }
+
+      // backtrack to the start
+      for (int c = numCandidates - 1; c >= 0; c--) {
+        Candidate.undoHire(packed, undo, c * packed.length);
+      }
+      if (!Arrays.equals(packed, original)) {
+        System.out.println("Error in candidateResidualTest: undo did not restore "
+            + Arrays.toString(original));
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Testing method to check that Candidate.createAll builds the candidates described by its packed
+   * rows with consecutive ids, and that creating candidates from several threads at once (with
+   * createAll, the generators and the constructors) never gives two candidates the same id.
+   * 
+   * @return true if all cases pass, false otherwise
+   */
+  public static boolean candidateCreateAllTest() {
+    // one word per row would hide mistakes in the row offsets, so use 70 hours (two words)
+    boolean[][] availabilities = new boolean[3][70];
+    availabilities[0][0] = true;
+    availabilities[1][64] = true;
+    availabilities[1][69] = true;
+    availabilities[2][63] = true;
+    long[] rows = new long[6];
+    for (int c = 0; c < 3; c++) {
+      System.arraycopy(Candidate.pack(availabilities[c]), 0, rows, 2 * c, 2);
+    }
+    int[] payRates = {4, -1, 7};
+
+    CandidateList created = Candidate.createAll(rows, 70, payRates, 3);
+    for (int c = 0; c < 3; c++) {
+      Candidate candidate = created.get(c);
+      if (!Arrays.equals(candidate.getAvailability(), availabilities[c])
+          || candidate.getPayRate() != payRates[c]
+          || candidate.getId() != created.get(0).getId() + c) {
+        System.out.println("Error in candidateCreateAllTest: row " + c + " became " + candidate);
+        return false;
+      }
+    }
+    if (Candidate.createAll(rows, 70, null, 3).get(2).getPayRate() != -1
+        || created.numCoveredHours() != 4) {
+      System.out.println("Error in candidateCreateAllTest: " + created);
+      return false;
+    }
+
+    // four threads creating candidates at once in every way there is
+    ForkJoinPool pool = new ForkJoinPool(4);
+    List<Candidate> all = Collections.synchronizedList(new ArrayList<>());
+    try {
+      pool.submit(() -> IntStream.range(0, 40).parallel().forEach(task -> {
+        Random random = new Random(task);
+        if (task % 4 == 0) {
+          all.addAll(Candidate.createAll(new long[5000], 10, null, 5000));
+        } else if (task % 4 == 1) {
+          all.addAll(HiringTestingUtilities.generateRandomInput(random, 10, 500, 5, 0.5));
+        } else {
+          for (int c = 0; c < 500; c++) {
+            all.add(new Candidate(new boolean[] {random.nextBoolean()}));
+          }
+        }
+      })).get();
+    } catch (Exception e) {
+      System.out.println("Error in candidateCreateAllTest: " + e);
+      return false;
+    } finally {
+      pool.shutdown();
+    }
+
+    // the row-array variant keeps each row instead of copying it
+    long[][] packedRows = {{0b101L}, {0b1110L}};
+    CandidateList kept = Candidate.createAll(packedRows, 3, new int[] {4, 6}, 2);
+    if (kept.get(0).getAvailabilityBits() != packedRows[0]
+        || kept.get(1).getAvailabilityBits() != packedRows[1] || packedRows[1][0] != 0b110L
+        || kept.get(1).getId() != kept.get(0).getId() + 1 || kept.totalCost() != 10) {
+      System.out.println("Error in candidateCreateAllTest: createAll(long[][]) gave " + kept);
+      return false;
+    }
+
+    Set<Integer> ids = new HashSet<>();
+    for (Candidate candidate : all) {
+      if (!ids.add(candidate.getId())) {
+        System.out.println("Error in candidateCreateAllTest: two candidates with id "
+            + candidate.getId());
+        return false;
+      }
+    }
+    return all.size() == 10 * 5000 + 10 * 500 + 20 * 500;
+  }
+
+  /**
+   * Fuzz test checking that the PoolHiring solvers return the same hires as the Hiring solvers,
+   * both through the CandidateList adapters and on a pool where the hired candidates are not the
+   * first ones.
+   * 
+   * @return true if all cases pass, false otherwise
+   */
+  public static boolean poolHiringTest() {
+    // create and seed Random instance
+    Random randGen = new Random(2020);
+
+    // test 200 randomly generated problem instances
+    for (int i = 0; i < 200; i++) {
+      int numHours = randGen.nextInt(100) + 1; // [1,100]
+      int numCandidates = randGen.nextInt(12) + 2; // [2,13]
+      int desiredHires = randGen.nextInt(numCandidates) + 1; // [1, numCandidates]
+      int minHours = randGen.nextInt(numHours) + 1; // [1, numHours]
+
+      CandidateList candidates =
+          HiringTestingUtilities.generateRandomInput(numHours, numCandidates, 5);
+
+      // hire the last candidate up front
+      CandidateList hired = new CandidateList();
+      hired.add(candidates.remove(numCandidates - 1));
+      if (!Hiring.greedyHiring(candidates, hired, desiredHires)
+          .equals(PoolHiring.greedyHiring(candidates, hired, desiredHires))
+          || !Hiring.optimalHiring(candidates, hired, desiredHires)
+              .equals(PoolHiring.optimalHiring(candidates, hired, desiredHires))
+          || !Objects.equals(Hiring.minCoverageHiring(candidates, hired, minHours),
+              PoolHiring.minCoverageHiring(candidates, hired, minHours))) {
+        System.out.println("Error in poolHiringTest: different hires from " + candidates);
+        return false;
+      }
+
+      // the same problem on a pool in the original order, where the hired candidate is last
+      candidates.addAll(hired);
+      CandidatePool pool = new CandidatePool(candidates);
+      int[] hiredIndices = pool.indicesOf(hired);
+      CandidateList expected = Hiring.optimalHiring(candidates.withoutCandidate(hired.get(0)),
+          hired, desiredHires);
+      if (hiredIndices[0] != numCandidates - 1 || !expected
+          .equals(pool.toCandidateList(PoolHiring.optimalHiring(pool, hiredIndices, desiredHires)))
+          || pool.numCoveredHours(pool.indicesOf(expected)) != expected.numCoveredHours()) {
+        System.out.println("Error in poolHiringTest: index-based hires differ from " + expected);
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Fuzz test checking the multi-coverage solvers: with a demand of 1 at every hour they must
+   * return the same hires as the Hiring solvers, and with random demands their coverage and cost
+   * must match a brute-force search over every subset of the candidates.
+   * 
+   * @return true if all cases pass, false otherwise
+   */
+  public static boolean demandHiringTest() {
+    // create and seed Random instance
+    Random randGen = new Random(2121);
+
+    // test 150 randomly generated problem instances
+    for (int i = 0; i < 150; i++) {
+      int numHours = randGen.nextInt(40) + 1; // [1,40]
+      int numCandidates = randGen.nextInt(9) + 1; // [1,9]
+      int desiredHires = randGen.nextInt(numCandidates) + 1; // [1, numCandidates]
+      int minHours = randGen.nextInt(numHours) + 1; // [1, numHours]
+
+      CandidateList candidates =
+          HiringTestingUtilities.generateRandomInput(numHours, numCandidates, 5);
+
+      int[] ones = new int[numHours];
+      Arrays.fill(ones, 1);
+      if (!Hiring.greedyHiring(candidates, new CandidateList(), desiredHires)
+          .equals(DemandHiring.greedyHiring(candidates, new CandidateList(), desiredHires, ones))
+          || !Hiring.optimalHiring(candidates, new CandidateList(), desiredHires).equals(
+              DemandHiring.optimalHiring(candidates, new CandidateList(), desiredHires, ones))
+          || !Objects.equals(Hiring.minCoverageHiring(candidates, new CandidateList(), minHours),
+              DemandHiring.minCoverageHiring(candidates, new CandidateList(), minHours, ones))) {
+        System.out.println("Error in demandHiringTest: different hires from " + candidates);
+        return false;
+      }
+
+      // demands of 0 to 3 TAs, checked against every subset of the candidates
+      int[] demand = new int[numHours];
+      for (int h = 0; h < numHours; h++) {
+        demand[h] = randGen.nextInt(4);
+      }
+      int minCoverage = randGen.nextInt(DemandCounter.totalDemand(demand) + 1);
+      int bestCoverage = 0;
+      int bestCost = Integer.MAX_VALUE;
+      for (int subset = 0; subset < (1 << numCandidates); subset++) {
+        CandidateList hires = new CandidateList();
+        for (int c = 0; c < numCandidates; c++) {
+          if ((subset & (1 << c)) != 0) {
+            hires.add(candidates.get(c));
+          }
+        }
+        int coverage = hires.numCoveredHours(demand);
+        if (hires.size() <= desiredHires) {
+          bestCoverage = Math.max(bestCoverage, coverage);
+        }
+        if (coverage >= minCoverage) {
+          bestCost = Math.min(bestCost, hires.totalCost());
+        }
+      }
+
+      CandidateList optimal =
+          DemandHiring.optimalHiring(candidates, new CandidateList(), desiredHires, demand);
+      CandidateList cheapest =
+          DemandHiring.minCoverageHiring(candidates, new CandidateList(), minCoverage, demand);
+      boolean cheapestWrong = (cheapest == null) ? bestCost != Integer.MAX_VALUE
+          : cheapest.numCoveredHours(demand) < minCoverage || cheapest.totalCost() != bestCost;
+      if (optimal.size() > desiredHires || optimal.numCoveredHours(demand) != bestCoverage
+          || cheapestWrong) {
+        System.out.println("Error in demandHiringTest: " + optimal + " and " + cheapest
+            + " for demand " + Arrays.toString(demand));
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Fuzz test applying random sequences of joins, departures and edits to a HiringSession and
+   * checking after each one that the greedy session has the hires Hiring.greedyHiring would pick
+   * from scratch, that the optimal session covers as many hours as Hiring.optimalHiring and counts
+   * them correctly, and that both report a change exactly when their hires changed.
+   * 
+   * @return true if all cases pass, false otherwise
+   */
+  public static boolean hiringSessionTest() {
+    // create and seed Random instance
+    Random randGen = new Random(2222);
+
+    // test 60 randomly generated problem instances, with 20 changes each
+    for (int i = 0; i < 60; i++) {
+      int numHours = randGen.nextInt(40) + 1; // [1,40]
+      int numCandidates = randGen.nextInt(8) + 1; // [1,8]
+      int desiredHires = randGen.nextInt(4) + 1; // [1,4]
+
+      CandidateList candidates =
+          HiringTestingUtilities.generateRandomInput(numHours, numCandidates, 5);
+      HiringSession greedy = new HiringSession(candidates, desiredHires,
+          HiringSession.Solver.GREEDY);
+      HiringSession optimal = new HiringSession(candidates, desiredHires,
+          HiringSession.Solver.OPTIMAL);
+
+      for (int change = 0; change < 20; change++) {
+        CandidateList greedyBefore = greedy.getHires();
+        CandidateList optimalBefore = optimal.getHires();
+        boolean greedyChanged;
+        boolean optimalChanged;
+        int kind = candidates.isEmpty() ? 0 : randGen.nextInt(3);
+        if (kind == 0) { // a new candidate joins
+          Candidate joining = HiringTestingUtilities.generateRandomInput(numHours, 1, 5).get(0);
+          candidates.add(joining);
+          greedyChanged = greedy.addCandidate(joining);
+          optimalChanged = optimal.addCandidate(joining);
+        } else if (kind == 1) { // a candidate leaves
+          Candidate leaving = candidates.remove(randGen.nextInt(candidates.size()));
+          greedyChanged = greedy.removeCandidate(leaving);
+          optimalChanged = optimal.removeCandidate(leaving);
+        } else { // a candidate's availability is edited
+          int position = randGen.nextInt(candidates.size());
+          Candidate edited = HiringTestingUtilities.generateRandomInput(numHours, 1, 5).get(0);
+          Candidate old = candidates.set(position, edited);
+          greedyChanged = greedy.updateCandidate(old, edited);
+          optimalChanged = optimal.updateCandidate(old, edited);
+        }
+
+        if (!greedy.getHires()
+            .equals(Hiring.greedyHiring(candidates, new CandidateList(), desiredHires))
+            || optimal.numCoveredHours() != Hiring
+                .optimalHiring(candidates, new CandidateList(), desiredHires).numCoveredHours()
+            || optimal.getHires().size() > desiredHires
+            || optimal.numCoveredHours() != optimal.getHires().numCoveredHours()
+            || greedyChanged == greedyBefore.equals(greedy.getHires())
+            || optimalChanged == optimalBefore.equals(optimal.getHires())) {
+          System.out.println("Error in hiringSessionTest: after change " + change + " to "
+              + candidates + " the sessions hire " + greedy.getHires() + " and "
+              + optimal.getHires());
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Testing method to check that Candidate.hashCode agrees with equals, and that HiringCache
+   * returns the caller's own candidates for a repeated or reordered instance, caches "no
+   * solution", counts hits and misses, and evicts the least recently used entries once it is over
+   * its entry or byte limit.
+   * 
+   * @return true if all cases pass, false otherwise
+   */
+  public static boolean hiringCacheTest() {
+    CandidateList candidates = HiringTestingUtilities.makeCandidateList(new boolean[][] {
+        {true, true, true, false, false, true}, {true, true, false, true, false, true},
+        {true, false, true, false, true, true}, {false, false, true, true, false, false}},
+        new int[] {5, 1, 5, 5});
+    Set<Candidate> set = new HashSet<>(candidates);
+    if (!set.containsAll(new CandidateList(candidates)) || set.size() != 4) {
+      System.out.println("Error in hiringCacheTest: hashCode does not agree with equals");
+      return false;
+    }
+
+    HiringCache cache = new HiringCache(2, Long.MAX_VALUE, true);
+    CandidateList first = cache.optimalHiring(candidates, new CandidateList(), 2);
+
+    // the same availabilities and pay rates as new candidates, in reverse order
+    CandidateList reordered = new CandidateList();
+    for (int i = candidates.size() - 1; i >= 0; i--) {
+      Candidate c = candidates.get(i);
+      reordered.add(new Candidate(c.getAvailability().clone(), c.getPayRate()));
+    }
+    CandidateList second = cache.optimalHiring(reordered, new CandidateList(), 2);
+    if (cache.getHits() != 1 || cache.getMisses() != 1 || second.size() != 2
+        || !reordered.containsAll(second) || second.numCoveredHours() != first.numCoveredHours()) {
+      System.out.println("Error in hiringCacheTest: reordered instance gave " + second + " ("
+          + cache + ")");
+      return false;
+    }
+
+    // by default only the same order hits, and a hit is exactly what the solver returns
+    HiringCache exact = new HiringCache(10, Long.MAX_VALUE);
+    exact.optimalHiring(candidates, new CandidateList(), 2);
+    CandidateList again = exact.optimalHiring(reordered, new CandidateList(), 2);
+    if (exact.getHits() != 0
+        || !again.equals(Hiring.optimalHiring(reordered, new CandidateList(), 2))
+        || !exact.optimalHiring(reordered, new CandidateList(), 2).equals(again)
+        || exact.getHits() != 1) {
+      System.out.println("Error in hiringCacheTest: order-preserving cache returned " + again
+          + " (" + exact + ")");
+      return false;
+    }
+
+    // an instance with no solution is cached too
+    if (cache.minCoverageHiring(candidates, new CandidateList(), 7) != null
+        || cache.minCoverageHiring(reordered, new CandidateList(), 7) != null
+        || cache.getHits() != 2 || cache.size() != 2) {
+      System.out.println("Error in hiringCacheTest: unexpected minCoverageHiring " + cache);
+      return false;
+    }
+
+    // a third instance evicts the least recently used entry, the optimalHiring one
+    cache.greedyHiring(candidates, new CandidateList(), 2);
+    cache.optimalHiring(candidates, new CandidateList(), 2);
+    if (cache.getEvictions() < 1 || cache.getMisses() != 4 || cache.size() != 2) {
+      System.out.println("Error in hiringCacheTest: expected an eviction " + cache);
+      return false;
+    }
+
+    // a cache too small in bytes for any entry keeps nothing
+    HiringCache tiny = new HiringCache(10, 16);
+    tiny.optimalHiring(candidates, new CandidateList(), 2);
+    if (!tiny.optimalHiring(candidates, new CandidateList(), 2).equals(first) || tiny.size() != 0
+        || tiny.getHits() != 0 || tiny.getBytes() != 0) {
+      System.out.println("Error in hiringCacheTest: byte limit ignored " + tiny);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Testing method for the streaming reference solutions in HiringTestingUtilities: checks a small
+   * case by hand, and checks that enumerating the subsets in parallel ranges finds the same
+   * solutions as one serial pass.
+   * 
+   * @return true if all cases pass, false otherwise
+   */
+  public static boolean referenceSolutionsTest() {
+    CandidateList candidates = HiringTestingUtilities.makeCandidateList(new boolean[][] {
+        {true, true, false}, {false, true, true}, {true, false, true}}, new int[] {2, 2, 3});
+    // every pair covers all three hours; the cheapest is the first two
+    if (HiringTestingUtilities.allOptimalSolutions(candidates, 2).size() != 3
+        || !HiringTestingUtilities.allMinCoverageSolutions(candidates, 3).toString()
+            .equals(List.of(new CandidateList(candidates.subList(0, 2))).toString())
+        || !HiringTestingUtilities.allOptimalSolutions(candidates, -1).isEmpty()
+        || !HiringTestingUtilities.allMinCoverageSolutions(candidates, 4).isEmpty()) {
+      System.out.println("Error in referenceSolutionsTest: wrong solutions for " + candidates);
+      return false;
+    }
+
+    Random random = new Random(24);
+    CandidateList many = HiringTestingUtilities.generateRandomInput(random, 12, 18, 4, 0.25);
+    for (int k = 3; k <= 5; ++k) {
+      String serial = HiringTestingUtilities.allOptimalSolutions(many, k, false) + " "
+          + HiringTestingUtilities.allMinCoverageSolutions(many, 2 * k, false);
+      String parallel = HiringTestingUtilities.allOptimalSolutions(many, k, true) + " "
+          + HiringTestingUtilities.allMinCoverageSolutions(many, 2 * k, true);
+      if (!serial.equals(parallel)) {
+        System.out.println("Error in referenceSolutionsTest: parallel and serial solutions differ"
+            + " for " + k);
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Testing method for HiringFuzz: checks that the instance seeds depend only on the run's seed,
+   * that a few hundred instances pass on several threads, and that the score-only reference
+   * methods agree with the solutions they summarize.
+   * 
+   * @return true if all cases pass, false otherwise
+   */
+  public static boolean hiringFuzzTest() {
+    long[] seeds = HiringFuzz.instanceSeeds(25, 300);
+    if (!Arrays.equals(seeds, HiringFuzz.instanceSeeds(25, 300))
+        || Arrays.stream(seeds).distinct().count() != seeds.length) {
+      System.out.println("Error in hiringFuzzTest: instance seeds are not reproducible");
+      return false;
+    }
+    List<String> failures = HiringFuzz.run(25, 300, 10, 12, 4, 10_000);
+    if (!failures.isEmpty()) {
+      System.out.println("Error in hiringFuzzTest: " + failures);
+      return false;
+    }
+
+    Random random = new Random(25);
+    for (int i = 0; i < 20; ++i) {
+      CandidateList candidates = HiringTestingUtilities.generateRandomInput(random, 8, 8, 5, 0.3);
+      int k = random.nextInt(5);
+      int minHours = random.nextInt(10);
+      ArrayList<CandidateList> optimal = HiringTestingUtilities.allOptimalSolutions(candidates, k);
+      ArrayList<CandidateList> minCoverage =
+          HiringTestingUtilities.allMinCoverageSolutions(candidates, minHours);
+      if (optimal.get(0).numCoveredHours()
+          != HiringTestingUtilities.maxCoveredHours(candidates, k, false)
+          || !Objects.equals(minCoverage.isEmpty() ? null : minCoverage.get(0).totalCost(),
+              HiringTestingUtilities.minTotalCost(candidates, minHours, true))) {
+        System.out.println("Error in hiringFuzzTest: wrong best coverage or cost for "
+            + candidates);
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Testing method for the coverage and cost counters kept by CandidateList: checks that they stay
+   * right after clone, after adding a list to itself, and after set through a subList view.
+   * 
+   * @return true if all cases pass, false otherwise
+   */
+  public static boolean candidateListCountsTest() {
+    CandidateList candidates = HiringTestingUtilities.makeCandidateList(new boolean[][] {
+        {true, false, false}, {false, true, true}, {true, true, true}}, new int[] {5, 7, 100});
+
+    CandidateList original = new CandidateList(candidates.subList(0, 1));
+    CandidateList copy = original.clone();
+    copy.add(candidates.get(1));
+    if (original.numCoveredHours() != 1 || original.totalCost() != 5
+        || copy.numCoveredHours() != 3 || copy.totalCost() != 12) {
+      System.out.println("Error in candidateListCountsTest: clone shares counters: " + original
+          + " and " + copy);
+      return false;
+    }
+
+    CandidateList twice = new CandidateList(candidates.subList(0, 2));
+    twice.addAll(twice);
+    twice.addAll(0, new CandidateList(twice.subList(0, 1)));
+    if (twice.totalCost() != 29 || twice.getHourCount(0) != 3) {
+      System.out.println("Error in candidateListCountsTest: addAll miscounted: " + twice);
+      return false;
+    }
+
+    CandidateList edited = new CandidateList(candidates.subList(0, 2));
+    edited.subList(0, 1).set(0, candidates.get(2));
+    if (edited.totalCost() != 107 || edited.numCoveredHours() != 3) {
+      System.out.println("Error in candidateListCountsTest: subList set miscounted: " + edited);
+      return false;
+    }
+    return true;
+  }
+
   /**
    * Main method to call the testing methods and print out the results.
    * @param args
@@ -783,25 +1796,66 @@ public class HiringTesting {
     // set boolean values for all the results of the testing methods
     boolean greedyHiringBaseTestResult = greedyHiringBaseTest();
     boolean greedyHiringRecursiveTestResult = greedyHiringRecursiveTest();
+    boolean greedyHiringLazyTestResult = greedyHiringLazyTest();
     boolean optimalHiringBaseTestResult = optimalHiringBaseTest();
     boolean optimalHiringRecursiveTestResult = optimalHiringRecursiveTest();
     boolean optimalHiringFuzzTestResult = optimalHiringFuzzTest();
+    boolean optimalHiringParallelTestResult = optimalHiringParallelTest();
     boolean minCoverageHiringBaseTestResult = minCoverageHiringBaseTest();
     boolean minCoverageHiringRecursiveTestResult = minCoverageHiringRecursiveTest();
     boolean minCoverageHiringFuzzTestResult = minCoverageHiringFuzzTest();
+    boolean minCoverageHiringBitmaskTestResult = minCoverageHiringBitmaskTest();
+    boolean iterativeHiringTestResult = iterativeHiringTest();
+    boolean instanceReductionTestResult = instanceReductionTest();
+    boolean hiringInputReaderTestResult = hiringInputReaderTest();
+    boolean candidateFileTestResult = candidateFileTest();
+    boolean anytimeHiringTestResult = anytimeHiringTest();
+    boolean meetInTheMiddleHiringTestResult = meetInTheMiddleHiringTest();
+    boolean localSearchTestResult = localSearchTest();
+    boolean solverStatsTestResult = solverStatsTest();
+    boolean candidateResidualTestResult = candidateResidualTest();
+    boolean candidateCreateAllTestResult = candidateCreateAllTest();
+    boolean poolHiringTestResult = poolHiringTest();
+    boolean demandHiringTestResult = demandHiringTest();
+    boolean hiringSessionTestResult = hiringSessionTest();
+    boolean hiringCacheTestResult = hiringCacheTest();
+    boolean referenceSolutionsTestResult = referenceSolutionsTest();
+    boolean hiringFuzzTestResult = hiringFuzzTest();
+    boolean candidateListCountsTestResult = candidateListCountsTest();
 
     // print out the results of the test cases
     System.out.println();
     System.out.println("-------------------------------------------------------");
     System.out.println("greedyHiringBaseTest result: " + greedyHiringBaseTestResult);
     System.out.println("greedyHiringRecursiveTest result: " + greedyHiringRecursiveTestResult);
+    System.out.println("greedyHiringLazyTest result: " + greedyHiringLazyTestResult);
     System.out.println("optimalHiringBaseTest result: " + optimalHiringBaseTestResult);
     System.out.println("optimalHiringRecursiveTest result: " + optimalHiringRecursiveTestResult);
     System.out.println("optimalHiringFuzzTest result: " + optimalHiringFuzzTestResult);
+    System.out.println("optimalHiringParallelTest result: " + optimalHiringParallelTestResult);
     System.out.println("minCoverageHiringBaseTest result: " + minCoverageHiringBaseTestResult);
     System.out.println("minCoverageHiringRecursiveTest result: " 
         + minCoverageHiringRecursiveTestResult);
     System.out.println("minCoverageHiringFuzzTest result: " + minCoverageHiringFuzzTestResult);
+    System.out.println("minCoverageHiringBitmaskTest result: "
+        + minCoverageHiringBitmaskTestResult);
+    System.out.println("iterativeHiringTest result: " + iterativeHiringTestResult);
+    System.out.println("instanceReductionTest result: " + instanceReductionTestResult);
+    System.out.println("hiringInputReaderTest result: " + hiringInputReaderTestResult);
+    System.out.println("candidateFileTest result: " + candidateFileTestResult);
+    System.out.println("anytimeHiringTest result: " + anytimeHiringTestResult);
+    System.out.println("meetInTheMiddleHiringTest result: " + meetInTheMiddleHiringTestResult);
+    System.out.println("localSearchTest result: " + localSearchTestResult);
+    System.out.println("solverStatsTest result: " + solverStatsTestResult);
+    System.out.println("candidateResidualTest result: " + candidateResidualTestResult);
+    System.out.println("candidateCreateAllTest result: " + candidateCreateAllTestResult);
+    System.out.println("poolHiringTest result: " + poolHiringTestResult);
+    System.out.println("demandHiringTest result: " + demandHiringTestResult);
+    System.out.println("hiringSessionTest result: " + hiringSessionTestResult);
+    System.out.println("hiringCacheTest result: " + hiringCacheTestResult);
+    System.out.println("referenceSolutionsTest result: " + referenceSolutionsTestResult);
+    System.out.println("hiringFuzzTest result: " + hiringFuzzTestResult);
+    System.out.println("candidateListCountsTest result: " + candidateListCountsTestResult);
     System.out.println("-------------------------------------------------------");
 
   }
@@ -1,9 +1,10 @@
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Random;
+import java.util.function.ToLongFunction;
 import java.util.stream.IntStream;
-import java.util.stream.LongStream;
 
 /**
  * A collection of useful methods for testing the Hiring implementations.
@@ -63,23 +64,40 @@ public class HiringTestingUtilities {
    * @return a list of randomly generated candidates
    */
   public static CandidateList generateRandomInput(int numHours, int numCandidates, int maxPayRate) {
-    CandidateList candidates = new CandidateList();
+    return generateRandomInput(randGen, numHours, numCandidates, maxPayRate, 0.50);
+  }
+
+  /**
+   * Generate a random set of candidates from the given source of randomness, with each candidate
+   * available at each hour with the given probability.
+   * 
+   * @param random        the source of randomness; seed it to get the same candidates every time
+   * @param numHours      the number of hours in our schedule that we are hiring for
+   * @param numCandidates the number of candidate to hire from; the returned list will be this long
+   * @param maxPayRate    the maximum pay rate for any candidate or -1 to indicate no pay rates
+   * @param density       the probability that a candidate is available at any given hour
+   * 
+   * @return a list of randomly generated candidates
+   */
+  public static CandidateList generateRandomInput(Random random, int numHours, int numCandidates,
+      int maxPayRate, double density) {
+    int words = Candidate.numWords(numHours);
+    long[] availabilities = new long[numCandidates * words];
+    int[] payRates = (maxPayRate == -1) ? null : new int[numCandidates];
 
     for (int c = 0; c < numCandidates; ++c) {
-      boolean[] availability = new boolean[numHours];
       for (int h = 0; h < numHours; h++) {
-        // flip a coin to determine if the candidate is available at time h
-        availability[h] = randGen.nextDouble() < 0.50;
+        // flip a weighted coin to determine if the candidate is available at time h
+        if (random.nextDouble() < density) {
+          availabilities[c * words + (h >>> 6)] |= 1L << h;
+        }
       }
-      if (maxPayRate == -1) {
-        candidates.add(new Candidate(availability));
-      } else {
-        int payRate = randGen.nextInt(maxPayRate) + 1;
-        candidates.add(new Candidate(availability, payRate));
+      if (payRates != null) {
+        payRates[c] = random.nextInt(maxPayRate) + 1;
       }
     }
 
-    return candidates;
+    return Candidate.createAll(availabilities, numHours, payRates, numCandidates);
   }
 
   /**
@@ -206,9 +224,21 @@ public class HiringTestingUtilities {
                     .toList());
   }
 
+  /**
+   * The number of candidates from which the all*Solutions methods split the subsets into ranges
+   * and enumerate them in parallel.
+   */
+  private static final int PARALLEL_CANDIDATES = 20;
+
+  /**
+   * The number of subset ranges a parallel enumeration is split into.
+   */
+  private static final int PARALLEL_RANGES = 256;
+
   /**
    * Compute all possible optimal solutions in an iterative manner. This method takes the same
    * parameters with the same meanings as optimalHiring, but it computes all possible solutions.
+   * The subsets are enumerated in parallel once there are PARALLEL_CANDIDATES candidates.
    *
    * @param candidates the set of available candidates to hire from (excluding those already hired)
    * @param hiresLeft the maximum number of candidates to hire
@@ -216,27 +246,30 @@ public class HiringTestingUtilities {
    */
   public static ArrayList<CandidateList> allOptimalSolutions(CandidateList candidates,
       int hiresLeft) {
-    List<CandidateList> options =
-        LongStream.range(0, 1L << candidates.size())
-                .filter(i -> Long.bitCount(i) <= hiresLeft)
-                .mapToObj(i -> bitSubset(candidates, i)).toList();
-
-    if (options.isEmpty()) {
-      return new ArrayList<>();
-    } else {
-      int maxCoveredHours =
-          options.stream().map(CandidateList::numCoveredHours).max(Integer::compareTo).get();
-
-      List<CandidateList> bestChoices =
-          options.stream().filter(c -> c.numCoveredHours() == maxCoveredHours).toList();
+    return allOptimalSolutions(candidates, hiresLeft,
+        candidates.size() >= PARALLEL_CANDIDATES);
+  }
 
-      return new ArrayList<>(bestChoices);
-    }
+  /**
+   * Compute all possible optimal solutions, like allOptimalSolutions(candidates, hiresLeft), with
+   * or without splitting the subsets into ranges that are enumerated in parallel.
+   *
+   * @param candidates the set of available candidates to hire from (excluding those already hired)
+   * @param hiresLeft  the maximum number of candidates to hire
+   * @param parallel   true to enumerate disjoint ranges of subsets in parallel
+   * @return a list of all optimal solutions to the min-cost problem, in the order of their
+   *         bit-vectors
+   */
+  public static ArrayList<CandidateList> allOptimalSolutions(CandidateList candidates,
+      int hiresLeft, boolean parallel) {
+    return enumerate(candidates, parallel, e -> e.size <= hiresLeft ? e.coveredHours
+        : Long.MIN_VALUE);
   }
 
   /**
    * Compute all possible min-coverage solutions in an iterative manner. This method takes the same
    * parameters with the same meanings as minCoverageHiring, but it computes all optimal solutions.
+   * The subsets are enumerated in parallel once there are PARALLEL_CANDIDATES candidates.
    *
    * @param candidates the set of available candidates to hire from (excluding those already hired)
    * @param minHours   the minimum number of hours we want to cover total
@@ -244,21 +277,284 @@ public class HiringTestingUtilities {
    */
   public static ArrayList<CandidateList> allMinCoverageSolutions(CandidateList candidates,
       int minHours) {
-    List<CandidateList> options =
-        LongStream.range(0, 1L << candidates.size())
-                .mapToObj(i -> bitSubset(candidates, i))
-                .filter(c -> c.numCoveredHours() >= minHours).toList();
+    return allMinCoverageSolutions(candidates, minHours,
+        candidates.size() >= PARALLEL_CANDIDATES);
+  }
 
-    if (options.isEmpty()) {
-      return new ArrayList<>();
-    } else {
-      int minTotalCost =
-          options.stream().map(CandidateList::totalCost).min(Integer::compareTo).get();
+  /**
+   * Compute all possible min-coverage solutions, like allMinCoverageSolutions(candidates,
+   * minHours), with or without splitting the subsets into ranges that are enumerated in parallel.
+   *
+   * @param candidates the set of available candidates to hire from (excluding those already hired)
+   * @param minHours   the minimum number of hours we want to cover total
+   * @param parallel   true to enumerate disjoint ranges of subsets in parallel
+   * @return a list containing all optimal solutions to the min-coverage problem, in the order of
+   *         their bit-vectors
+   */
+  public static ArrayList<CandidateList> allMinCoverageSolutions(CandidateList candidates,
+      int minHours, boolean parallel) {
+    return enumerate(candidates, parallel, e -> e.coveredHours >= minHours ? -(long) e.totalCost
+        : Long.MIN_VALUE);
+  }
 
-      List<CandidateList> bestChoices =
-          options.stream().filter(c -> c.totalCost() == minTotalCost).toList();
+  /**
+   * Computes the number of hours covered by optimalHiring's solutions, without collecting them.
+   *
+   * @param candidates the set of available candidates to hire from (excluding those already hired)
+   * @param hiresLeft  the maximum number of candidates to hire
+   * @param parallel   true to enumerate disjoint ranges of subsets in parallel
+   * @return the most hours at most hiresLeft of the candidates cover, or null if hiresLeft is
+   *         negative
+   */
+  public static Integer maxCoveredHours(CandidateList candidates, int hiresLeft,
+      boolean parallel) {
+    long best = bestScore(enumerate(candidates, parallel, false,
+        e -> e.size <= hiresLeft ? e.coveredHours : Long.MIN_VALUE));
+    return best == Long.MIN_VALUE ? null : (int) best;
+  }
 
-      return new ArrayList<>(bestChoices);
+  /**
+   * Computes the total cost of minCoverageHiring's solutions, without collecting them.
+   *
+   * @param candidates the set of available candidates to hire from (excluding those already hired)
+   * @param minHours   the minimum number of hours we want to cover total
+   * @param parallel   true to enumerate disjoint ranges of subsets in parallel
+   * @return the lowest total cost of candidates covering at least minHours hours, or null if even
+   *         all of them do not
+   */
+  public static Integer minTotalCost(CandidateList candidates, int minHours, boolean parallel) {
+    long best = bestScore(enumerate(candidates, parallel, false,
+        e -> e.coveredHours >= minHours ? -(long) e.totalCost : Long.MIN_VALUE));
+    return best == Long.MIN_VALUE ? null : (int) -best;
+  }
+
+  /**
+   * Enumerates every subset of the candidates and returns those with the highest score. Only the
+   * subsets tied for the best score so far are kept, so memory grows with the number of ties and
+   * not with the 2^N subsets.
+   *
+   * @param candidates the candidates; at most 62 of them
+   * @param parallel   true to enumerate disjoint ranges of subsets in parallel
+   * @param score      the score of the current subset, or Long.MIN_VALUE if it is not a solution
+   * @return the subsets with the highest score, in the order of their bit-vectors, or an empty list
+   *         if no subset is a solution
+   * @throws IllegalArgumentException if there are more than 62 candidates
+   */
+  private static ArrayList<CandidateList> enumerate(CandidateList candidates, boolean parallel,
+      ToLongFunction<GrayEnumeration> score) {
+    List<GrayEnumeration> results = enumerate(candidates, parallel, true, score);
+    long bestScore = bestScore(results);
+    ArrayList<CandidateList> bestChoices = new ArrayList<>();
+    if (bestScore == Long.MIN_VALUE) {
+      return bestChoices;
+    }
+    List<Long> ties = new ArrayList<>();
+    for (GrayEnumeration e : results) {
+      for (int t = 0; e.bestScore == bestScore && t < e.numTies; ++t) {
+        ties.add(e.ties[t]);
+      }
+    }
+    ties.sort(null);
+    for (long bits : ties) {
+      bestChoices.add(bitSubset(candidates, bits));
+    }
+    return bestChoices;
+  }
+
+  /**
+   * Enumerates every subset of the candidates, split into one range or, in parallel, into up to
+   * PARALLEL_RANGES disjoint ranges of Gray-code ranks. The subsets are visited in Gray-code order,
+   * so each one differs from the one before by a single candidate and the per-hour counts are
+   * updated rather than recomputed.
+   *
+   * @param candidates the candidates; at most 62 of them
+   * @param parallel   true to enumerate the ranges in parallel
+   * @param keepTies   true to keep the subsets tied for the best score of each range
+   * @param score      the score of the current subset, or Long.MIN_VALUE if it is not a solution
+   * @return the enumeration of each range
+   * @throws IllegalArgumentException if there are more than 62 candidates
+   */
+  private static List<GrayEnumeration> enumerate(CandidateList candidates, boolean parallel,
+      boolean keepTies, ToLongFunction<GrayEnumeration> score) {
+    int n = candidates.size();
+    if (n > 62) {
+      throw new IllegalArgumentException("Too many candidates to enumerate: " + n);
+    }
+    long numSubsets = 1L << n;
+    int numRanges = parallel ? (int) Math.min(PARALLEL_RANGES, numSubsets) : 1;
+    long rangeSize = numSubsets / numRanges;
+
+    IntStream ranges = IntStream.range(0, numRanges);
+    if (parallel) {
+      ranges = ranges.parallel();
+    }
+    return ranges
+        .mapToObj(r -> new GrayEnumeration(candidates, keepTies, score).run(r * rangeSize,
+            (r + 1) * rangeSize))
+        .toList();
+  }
+
+  /**
+   * @return the best score over all the ranges, or Long.MIN_VALUE if no subset is a solution
+   */
+  private static long bestScore(List<GrayEnumeration> results) {
+    long bestScore = Long.MIN_VALUE;
+    for (GrayEnumeration e : results) {
+      bestScore = Math.max(bestScore, e.bestScore);
+    }
+    return bestScore;
+  }
+
+  /**
+   * Walks a range of subsets of a candidate list in Gray-code order, keeping the number of chosen
+   * candidates available at each hour, and collects the subsets tied for the best score.
+   */
+  private static class GrayEnumeration {
+
+    /**
+     * hours[i] lists the hours at which candidate i is available.
+     */
+    private final int[][] hours;
+
+    /**
+     * The pay rate of each candidate.
+     */
+    private final int[] payRates;
+
+    /**
+     * The number of chosen candidates available at each hour.
+     */
+    private final int[] hourCounts;
+
+    /**
+     * The score of a subset, or Long.MIN_VALUE if it is not a solution.
+     */
+    private final ToLongFunction<GrayEnumeration> score;
+
+    /**
+     * True to keep the subsets tied for the best score, false to keep only the score.
+     */
+    private final boolean keepTies;
+
+    /**
+     * The chosen candidates, as a bit-vector.
+     */
+    private long bits;
+
+    /**
+     * The number of chosen candidates.
+     */
+    private int size;
+
+    /**
+     * The number of hours at which at least one chosen candidate is available.
+     */
+    private int coveredHours;
+
+    /**
+     * The total pay rate of the chosen candidates.
+     */
+    private int totalCost;
+
+    /**
+     * The best score seen so far.
+     */
+    private long bestScore = Long.MIN_VALUE;
+
+    /**
+     * The first numTies entries are the subsets seen so far with the best score.
+     */
+    private long[] ties = new long[16];
+
+    /**
+     * The number of subsets with the best score.
+     */
+    private int numTies;
+
+    /**
+     * Prepares to enumerate the subsets of the given candidates.
+     */
+    private GrayEnumeration(CandidateList candidates, boolean keepTies,
+        ToLongFunction<GrayEnumeration> score) {
+      this.score = score;
+      this.keepTies = keepTies;
+      this.hours = new int[candidates.size()][];
+      this.payRates = new int[candidates.size()];
+      int numHours = 0;
+      for (int i = 0; i < candidates.size(); ++i) {
+        Candidate c = candidates.get(i);
+        int k = c.getNumHours();
+        numHours = Math.max(numHours, k);
+        hours[i] = IntStream.range(0, k).filter(c::isAvailable).toArray();
+        payRates[i] = c.getPayRate();
+      }
+      this.hourCounts = new int[numHours];
+    }
+
+    /**
+     * Visits the subsets whose Gray codes have ranks from to to - 1.
+     *
+     * @return this enumeration, with the ties of the range
+     */
+    private GrayEnumeration run(long from, long to) {
+      long first = from ^ (from >>> 1);
+      for (int i = 0; i < hours.length; ++i) {
+        if ((first & (1L << i)) != 0) {
+          flip(i);
+        }
+      }
+      visit();
+      for (long rank = from + 1; rank < to; ++rank) {
+        // the Gray codes of rank - 1 and rank differ in the lowest set bit of rank
+        flip(Long.numberOfTrailingZeros(rank));
+        visit();
+      }
+      return this;
+    }
+
+    /**
+     * Adds candidate i to the chosen candidates if it is not chosen, or removes it if it is.
+     */
+    private void flip(int i) {
+      bits ^= 1L << i;
+      if ((bits & (1L << i)) != 0) {
+        for (int h : hours[i]) {
+          if (hourCounts[h]++ == 0) {
+            coveredHours++;
+          }
+        }
+        size++;
+        totalCost += payRates[i];
+      } else {
+        for (int h : hours[i]) {
+          if (--hourCounts[h] == 0) {
+            coveredHours--;
+          }
+        }
+        size--;
+        totalCost -= payRates[i];
+      }
+    }
+
+    /**
+     * Scores the chosen candidates and keeps them if they tie or beat the best so far.
+     */
+    private void visit() {
+      long s = score.applyAsLong(this);
+      if (s == Long.MIN_VALUE || s < bestScore) {
+        return;
+      }
+      if (s > bestScore) {
+        bestScore = s;
+        numTies = 0;
+      }
+      if (!keepTies) {
+        return;
+      }
+      if (numTies == ties.length) {
+        ties = Arrays.copyOf(ties, 2 * numTies);
+      }
+      ties[numTies++] = bits;
     }
   }
 }
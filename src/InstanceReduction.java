@@ -0,0 +1,428 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shrinks a hiring problem before handing it to one of the exact solvers, whose running time is
+ * exponential in the number of candidates. The reductions are:
+ * 
+ * <ul>
+ * <li>hours that no candidate is available, or that are already covered by someone hired, are
+ * dropped from every schedule;</li>
+ * <li>candidates with no remaining availability are removed;</li>
+ * <li>of several candidates with identical availability only the cheapest (then the first) is
+ * kept;</li>
+ * <li>a candidate whose availability is a subset of another candidate's who costs no more is
+ * removed;</li>
+ * <li>for minCoverageHiring, when every remaining hour must be covered, a candidate who is the only
+ * one available at some hour must be hired, so it is hired up front and the reductions are
+ * repeated.</li>
+ * </ul>
+ * 
+ * None of these can make the best solution worse: any solution using a removed candidate can swap
+ * it for the candidate that dominates it. Pay rates are ignored for optimalHiring. For
+ * minCoverageHiring, if any pay rate is negative only the hours are reduced, since hiring someone
+ * who adds no hours could then lower the cost.
+ * 
+ * <p>
+ * The reduced candidates are new Candidate objects with shorter schedules; {@link #expand} maps a
+ * solution of the reduced problem back to the original candidates.
+ */
+public class InstanceReduction {
+
+  /**
+   * The candidates of the reduced problem.
+   */
+  private final CandidateList candidates;
+
+  /**
+   * The original candidate for each reduced candidate, by the reduced candidate's id.
+   */
+  private final Map<Integer, Candidate> originals;
+
+  /**
+   * Original candidates that every optimal solution can include and were hired up front.
+   */
+  private final CandidateList forced;
+
+  /**
+   * The number of hours the reduced problem still needs covered (minCoverageHiring only).
+   */
+  private final int hoursNeeded;
+
+  /**
+   * The number of candidates in the original problem.
+   */
+  private final int originalCandidates;
+
+  /**
+   * The number of hours in the original problem.
+   */
+  private final int originalHours;
+
+  /**
+   * The number of hours in the reduced problem.
+   */
+  private final int reducedHours;
+
+  /**
+   * The number of candidates removed because they have no open hours.
+   */
+  private final int removedEmpty;
+
+  /**
+   * The number of candidates removed because another has the same open hours for no more pay.
+   */
+  private final int removedDuplicates;
+
+  /**
+   * The number of candidates removed because another has a superset of their open hours for no
+   * more pay.
+   */
+  private final int removedDominated;
+
+  /**
+   * Builds the result of a reduction. Use {@link #forOptimalHiring} or
+   * {@link #forMinCoverageHiring} instead.
+   */
+  private InstanceReduction(CandidateList candidates, Map<Integer, Candidate> originals,
+      CandidateList forced, int hoursNeeded, int originalCandidates, int originalHours,
+      int reducedHours, int removedEmpty, int removedDuplicates, int removedDominated) {
+    this.candidates = candidates;
+    this.originals = originals;
+    this.forced = forced;
+    this.hoursNeeded = hoursNeeded;
+    this.originalCandidates = originalCandidates;
+    this.originalHours = originalHours;
+    this.reducedHours = reducedHours;
+    this.removedEmpty = removedEmpty;
+    this.removedDuplicates = removedDuplicates;
+    this.removedDominated = removedDominated;
+  }
+
+  /**
+   * Reduces the problem solved by Hiring.optimalHiring(candidates, hired, hiresLeft). The reduced
+   * problem has no one hired; solve it with the same number of hires left.
+   * 
+   * @param candidates the set of available candidates to hire from (excluding those already hired)
+   * @param hired      the list of those currently hired
+   * @return the reduced problem
+   */
+  public static InstanceReduction forOptimalHiring(CandidateList candidates, CandidateList hired) {
+    return reduce(candidates, hired, -1, false);
+  }
+
+  /**
+   * Reduces the problem solved by Hiring.minCoverageHiring(candidates, hired, minHours). The
+   * reduced problem has no one hired; solve it for {@link #getHoursNeeded()} hours.
+   * 
+   * @param candidates the set of available candidates to hire from (excluding those already hired)
+   * @param hired      the set of candidates already hired
+   * @param minHours   the minimum number of hours we want to cover total
+   * @return the reduced problem
+   */
+  public static InstanceReduction forMinCoverageHiring(CandidateList candidates,
+      CandidateList hired, int minHours) {
+    return reduce(candidates, hired, minHours, true);
+  }
+
+  /**
+   * Solves Hiring.optimalHiring on the reduced problem and maps the result back.
+   * 
+   * @param candidates the set of available candidates to hire from (excluding those already hired)
+   * @param hired      the list of those currently hired
+   * @param hiresLeft  the maximum number of candidates to hire
+   * @return hired plus a set of hires covering as many hours as Hiring.optimalHiring's
+   */
+  public static CandidateList optimalHiring(CandidateList candidates, CandidateList hired,
+      int hiresLeft) {
+    InstanceReduction reduction = forOptimalHiring(candidates, hired);
+    return reduction.expand(hired,
+        Hiring.optimalHiring(reduction.getCandidates(), new CandidateList(), hiresLeft));
+  }
+
+  /**
+   * Solves Hiring.minCoverageHiring on the reduced problem and maps the result back.
+   * 
+   * @param candidates the set of available candidates to hire from (excluding those already hired)
+   * @param hired      the set of candidates already hired
+   * @param minHours   the minimum number of hours we want to cover total
+   * @return hired plus a set of hires as cheap as Hiring.minCoverageHiring's, or null if there is
+   *         no solution
+   */
+  public static CandidateList minCoverageHiring(CandidateList candidates, CandidateList hired,
+      int minHours) {
+    if (minHours <= 0) {
+      return hired;
+    }
+    InstanceReduction reduction = forMinCoverageHiring(candidates, hired, minHours);
+    return reduction.expand(hired, Hiring.minCoverageHiring(reduction.getCandidates(),
+        new CandidateList(), reduction.getHoursNeeded()));
+  }
+
+  /**
+   * @return the candidates of the reduced problem.
+   */
+  public CandidateList getCandidates() {
+    return candidates;
+  }
+
+  /**
+   * @return the original candidates that were hired up front (minCoverageHiring only).
+   */
+  public CandidateList getForced() {
+    return forced;
+  }
+
+  /**
+   * @return the number of hours the reduced problem needs covered; only meaningful for a
+   *         reduction made by forMinCoverageHiring.
+   */
+  public int getHoursNeeded() {
+    return hoursNeeded;
+  }
+
+  /**
+   * @param reduced a candidate of the reduced problem.
+   * @return the original candidate it was made from.
+   */
+  public Candidate getOriginal(Candidate reduced) {
+    return originals.get(reduced.getId());
+  }
+
+  /**
+   * @return the number of candidates removed (including those hired up front).
+   */
+  public int numRemovedCandidates() {
+    return originalCandidates - candidates.size();
+  }
+
+  /**
+   * @return the number of hours dropped from every schedule.
+   */
+  public int numRemovedHours() {
+    return originalHours - reducedHours;
+  }
+
+  /**
+   * Maps a solution of the reduced problem back to the original candidates.
+   * 
+   * @param hired           the candidates hired in the original problem
+   * @param reducedSolution a solution of the reduced problem, or null if it has none
+   * @return hired, followed by the forced hires and the original candidates of reducedSolution, or
+   *         null if reducedSolution is null
+   */
+  public CandidateList expand(CandidateList hired, CandidateList reducedSolution) {
+    if (reducedSolution == null) {
+      return null;
+    }
+    CandidateList solution = new CandidateList(hired);
+    solution.addAll(forced);
+    for (Candidate c : reducedSolution) {
+      solution.add(getOriginal(c));
+    }
+    return solution;
+  }
+
+  /**
+   * @return a one-line summary of how much the reduction removed.
+   */
+  @Override
+  public String toString() {
+    return "removed " + numRemovedCandidates() + " of " + originalCandidates + " candidates ("
+        + removedEmpty + " empty, " + removedDuplicates + " duplicate, " + removedDominated
+        + " dominated, " + forced.size() + " hired up front) and " + numRemovedHours() + " of "
+        + originalHours + " hours";
+  }
+
+  /**
+   * Applies the reductions.
+   * 
+   * @param candidates the candidates of the original problem
+   * @param hired      the candidates already hired in the original problem
+   * @param minHours   the minimum number of hours to cover (minCoverageHiring only)
+   * @param useCosts   true to reduce for minCoverageHiring, false for optimalHiring
+   * @return the reduced problem
+   */
+  private static InstanceReduction reduce(CandidateList candidates, CandidateList hired,
+      int minHours, boolean useCosts) {
+    int numHours = 0;
+    boolean negativeCosts = false;
+    for (Candidate c : candidates) {
+      numHours = Math.max(numHours, c.getNumHours());
+      negativeCosts |= c.getPayRate() < 0;
+    }
+    for (Candidate c : hired) {
+      numHours = Math.max(numHours, c.getNumHours());
+    }
+    boolean reduceCandidates = !(useCosts && negativeCosts);
+
+    long[] covered = Arrays.copyOf(hired.getCoveredBits(), Candidate.numWords(numHours));
+    int hoursNeeded = minHours - hired.numCoveredHours();
+    List<Candidate> pool = new ArrayList<>(candidates);
+    CandidateList forced = new CandidateList();
+
+    // open holds the hours that someone in pool is available and no one hired is
+    long[] open = openHours(pool, covered);
+    while (useCosts && reduceCandidates && hoursNeeded > 0
+        && Candidate.popcount(open) == hoursNeeded) {
+      // every open hour must be covered, so the only candidate available at an hour must be hired
+      List<Candidate> essential = essentialCandidates(pool, open);
+      if (essential.isEmpty()) {
+        break;
+      }
+      for (Candidate c : essential) {
+        hoursNeeded -= c.numNewHours(covered);
+        c.orInto(covered);
+        forced.add(c);
+      }
+      pool.removeAll(essential);
+      open = openHours(pool, covered);
+    }
+
+    // mask each candidate's availability to the open hours
+    int n = pool.size();
+    long[][] masked = new long[n][];
+    for (int i = 0; i < n; ++i) {
+      masked[i] = Arrays.copyOf(pool.get(i).getAvailabilityBits(), open.length);
+      for (int w = 0; w < open.length; ++w) {
+        masked[i][w] &= open[w];
+      }
+    }
+
+    // remove empty, duplicate and dominated candidates
+    boolean[] removed = new boolean[n];
+    int removedEmpty = 0;
+    int removedDuplicates = 0;
+    int removedDominated = 0;
+    for (int i = 0; i < n && reduceCandidates; ++i) {
+      if (Candidate.popcount(masked[i]) == 0) {
+        removed[i] = true;
+        removedEmpty++;
+        continue;
+      }
+      for (int j = 0; j < n; ++j) {
+        if (j != i && dominates(pool, masked, j, i, useCosts)) {
+          removed[i] = true;
+          if (Arrays.equals(masked[i], masked[j])) {
+            removedDuplicates++;
+          } else {
+            removedDominated++;
+          }
+          break;
+        }
+      }
+    }
+
+    // build the reduced candidates over the open hours only
+    CandidateList reduced = new CandidateList();
+    Map<Integer, Candidate> originals = new HashMap<>();
+    for (int i = 0; i < n; ++i) {
+      if (!removed[i]) {
+        Candidate original = pool.get(i);
+        boolean[] availability = project(masked[i], open);
+        Candidate c = (original.getPayRate() == -1) ? new Candidate(availability)
+            : new Candidate(availability, original.getPayRate());
+        reduced.add(c);
+        originals.put(c.getId(), original);
+      }
+    }
+
+    return new InstanceReduction(reduced, originals, forced, hoursNeeded, candidates.size(),
+        numHours, Candidate.popcount(open), removedEmpty, removedDuplicates, removedDominated);
+  }
+
+  /**
+   * @param pool    some candidates.
+   * @param covered a packed set of hours that are already covered.
+   * @return the packed set of hours someone in pool is available that are not in covered.
+   */
+  private static long[] openHours(List<Candidate> pool, long[] covered) {
+    long[] open = new long[covered.length];
+    for (Candidate c : pool) {
+      c.orInto(open);
+    }
+    for (int w = 0; w < open.length; ++w) {
+      open[w] &= ~covered[w];
+    }
+    return open;
+  }
+
+  /**
+   * @param pool some candidates.
+   * @param open a packed set of hours.
+   * @return the candidates in pool who are the only one in pool available at some hour in open.
+   */
+  private static List<Candidate> essentialCandidates(List<Candidate> pool, long[] open) {
+    // once and twice are the hours in open at least one / at least two candidates are available
+    long[] once = new long[open.length];
+    long[] twice = new long[open.length];
+    for (Candidate c : pool) {
+      long[] bits = c.getAvailabilityBits();
+      for (int w = 0; w < Math.min(bits.length, open.length); ++w) {
+        twice[w] |= once[w] & bits[w];
+        once[w] |= bits[w];
+      }
+    }
+
+    List<Candidate> essential = new ArrayList<>();
+    for (Candidate c : pool) {
+      long[] bits = c.getAvailabilityBits();
+      for (int w = 0; w < Math.min(bits.length, open.length); ++w) {
+        if ((bits[w] & open[w] & ~twice[w]) != 0) {
+          essential.add(c);
+          break;
+        }
+      }
+    }
+    return essential;
+  }
+
+  /**
+   * Decides whether candidate j makes candidate i redundant: j is available whenever i is and costs
+   * no more. Among candidates with the same availability and cost the first one dominates the
+   * rest, so no two candidates dominate each other.
+   * 
+   * @param pool     the candidates.
+   * @param masked   the availability of each candidate, masked to the open hours.
+   * @param j        the index of the candidate that may dominate.
+   * @param i        the index of the candidate that may be dominated.
+   * @param useCosts false to ignore pay rates.
+   * @return true if candidate j dominates candidate i.
+   */
+  private static boolean dominates(List<Candidate> pool, long[][] masked, int j, int i,
+      boolean useCosts) {
+    for (int w = 0; w < masked[i].length; ++w) {
+      if ((masked[i][w] & ~masked[j][w]) != 0) {
+        return false;
+      }
+    }
+    int costI = useCosts ? pool.get(i).getPayRate() : 0;
+    int costJ = useCosts ? pool.get(j).getPayRate() : 0;
+    if (costJ != costI) {
+      return costJ < costI;
+    }
+    return !Arrays.equals(masked[i], masked[j]) || j < i;
+  }
+
+  /**
+   * @param bits a packed set of hours within open.
+   * @param open a packed set of hours.
+   * @return one boolean per hour in open, in order, that is true if the hour is in bits.
+   */
+  private static boolean[] project(long[] bits, long[] open) {
+    boolean[] availability = new boolean[Candidate.popcount(open)];
+    int h = 0;
+    for (int w = 0; w < open.length; ++w) {
+      long word = open[w];
+      while (word != 0) {
+        long lowest = word & -word;
+        availability[h++] = (bits[w] & lowest) != 0;
+        word &= word - 1;
+      }
+    }
+    return availability;
+  }
+}
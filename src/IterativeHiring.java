@@ -0,0 +1,343 @@
+import java.util.Arrays;
+
+/**
+ * Non-recursive versions of the solvers in {@link Hiring}. Each one keeps its search state in
+ * arrays allocated once per call, sized by the number of candidates and hires, and hires or
+ * un-hires candidates in place instead of copying lists: greedyHiring on a {@link CoverageCounter},
+ * and the searches on a packed set of the hours still needed, with
+ * {@link Candidate#hire(long[], long[], int)} recording each level's hours in one undo buffer for
+ * {@link Candidate#undoHire(long[], long[], int)}. Search depth is therefore limited only by heap
+ * memory, not by the JVM thread stack size (-Xss), and no memory is allocated per search node.
+ * 
+ * <p>
+ * Each solver visits the same search tree in the same order as its recursive counterpart and
+ * returns the same hires.
+ */
+public class IterativeHiring {
+
+  /**
+   * minCoverageHiring frame stage: the frame has just been pushed.
+   */
+  private static final int ENTER = 0;
+
+  /**
+   * minCoverageHiring frame stage: the branch that hires the frame's candidate has been searched.
+   */
+  private static final int HIRED = 1;
+
+  /**
+   * minCoverageHiring frame stage: both branches have been searched.
+   */
+  private static final int SKIPPED = 2;
+
+  /**
+   * Non-recursive version of Hiring.greedyHiring.
+   * 
+   * @param candidates the set of available candidates to hire from (excluding already hired)
+   * @param hired      the list of those currently hired
+   * @param hiresLeft  the maximum number of candidates to hire
+   * @return hired plus the greedily chosen hires
+   */
+  public static CandidateList greedyHiring(CandidateList candidates, CandidateList hired,
+      int hiresLeft) {
+    if (hiresLeft <= 0) {
+      return (hired == null || hired.isEmpty()) ? new CandidateList() : hired;
+    }
+
+    CandidateList newHired = new CandidateList(hired);
+    CoverageCounter counter = new CoverageCounter(hired, numHours(candidates, hired));
+    boolean[] taken = new boolean[candidates.size()];
+
+    for (int pick = 0; pick < hiresLeft; ++pick) {
+      // find the first candidate that increases hours covered the most
+      int best = -1;
+      int maxDifference = -1;
+      for (int i = 0; i < candidates.size(); ++i) {
+        if (!taken[i]) {
+          int difference = counter.numNewHours(candidates.get(i));
+          if (difference > maxDifference) {
+            best = i;
+            maxDifference = difference;
+          }
+        }
+      }
+      if (best == -1) {
+        break;
+      }
+
+      taken[best] = true;
+      counter.add(candidates.get(best));
+      newHired.add(candidates.get(best));
+    }
+    return newHired;
+  }
+
+  /**
+   * Non-recursive version of Hiring.optimalHiring: the same branch-and-bound search over
+   * combinations of candidates, driven by an explicit stack with one frame per hire.
+   * 
+   * @param candidates the set of available candidates to hire from (excluding those already hired)
+   * @param hired      the list of those currently hired
+   * @param hiresLeft  the maximum number of candidates to hire
+   * @return the same hires as Hiring.optimalHiring(candidates, hired, hiresLeft)
+   */
+  public static CandidateList optimalHiring(CandidateList candidates, CandidateList hired,
+      int hiresLeft) {
+    if (hiresLeft <= 0) {
+      return (hired == null || hired.isEmpty()) ? new CandidateList() : hired;
+    }
+
+    int n = candidates.size();
+    int maxDepth = Math.min(hiresLeft, n);
+    CandidateRange remaining = new CandidateRange(candidates);
+    long[] needed = hoursNeeded(candidates, hired);
+    int words = needed.length;
+    int coveredHours = hired.numCoveredHours();
+    int maxHours = coveredHours + remaining.numHoursCovered(0, needed);
+
+    // the frame at depth d decides the (d+1)th hire: next[d] is the next candidate to try,
+    // gain[d] the bound on what the remaining hires can add, chosen[d] the candidate hired,
+    // added[d] the number of hours it covered, and undo[d * words, (d + 1) * words) those hours
+    int[] next = new int[maxDepth];
+    int[] gain = new int[maxDepth];
+    int[] chosen = new int[maxDepth];
+    int[] added = new int[maxDepth];
+    long[] undo = new long[maxDepth * words];
+    int[] scratch = new int[maxDepth];
+
+    // the best hires found so far are chosen[0..bestSize) at the time they were found
+    int[] best = new int[maxDepth];
+    int bestSize = 0;
+    int bestHours = coveredHours;
+
+    int depth = 0;
+    next[0] = 0;
+    gain[0] = maxGain(remaining, 0, needed, hiresLeft, scratch);
+
+    while (depth >= 0) {
+      int i = next[depth];
+
+      // pop the frame when out of candidates, when every hour is covered, or when the remaining
+      // candidates cannot beat the best (see Hiring.optimalHiring)
+      if (i >= n || bestHours >= maxHours || coveredHours
+          + Math.min(gain[depth], remaining.numHoursCovered(i, needed)) <= bestHours) {
+        depth--;
+        if (depth >= 0) {
+          Candidate.undoHire(needed, undo, depth * words);
+          coveredHours -= added[depth];
+        }
+        continue;
+      }
+
+      // hire candidates[i]
+      next[depth] = i + 1;
+      chosen[depth] = i;
+      added[depth] = candidates.get(i).hire(needed, undo, depth * words);
+      coveredHours += added[depth];
+      if (coveredHours > bestHours) {
+        bestHours = coveredHours;
+        bestSize = depth + 1;
+        System.arraycopy(chosen, 0, best, 0, bestSize);
+      }
+
+      if (depth + 1 < hiresLeft && i + 1 < n) {
+        // push a frame for the next hire, from the candidates after i
+        depth++;
+        next[depth] = i + 1;
+        gain[depth] = maxGain(remaining, i + 1, needed, hiresLeft - depth, scratch);
+      } else {
+        // leaf: undo and try the next candidate at this depth
+        Candidate.undoHire(needed, undo, depth * words);
+        coveredHours -= added[depth];
+      }
+    }
+
+    CandidateList optimalHires = new CandidateList(hired);
+    for (int d = 0; d < bestSize; ++d) {
+      optimalHires.add(candidates.get(best[d]));
+    }
+    return optimalHires;
+  }
+
+  /**
+   * Non-recursive version of Hiring.minCoverageHiring: the same hire-or-skip search over the
+   * candidates in list order, driven by an explicit stack with one frame per candidate. When no pay
+   * rate is negative it also skips branches that already cost at least as much as the best
+   * solution, which cannot change the result.
+   * 
+   * @param candidates the set of available candidates to hire from (excluding those already hired)
+   * @param hired      the set of candidates already hired
+   * @param minHours   the minimum number of hours we want to cover total
+   * @return the same hires as Hiring.minCoverageHiring(candidates, hired, minHours)
+   */
+  public static CandidateList minCoverageHiring(CandidateList candidates, CandidateList hired,
+      int minHours) {
+    if (minHours <= 0) {
+      return hired;
+    }
+
+    int n = candidates.size();
+    CandidateRange remaining = new CandidateRange(candidates);
+    long[] needed = hoursNeeded(candidates, hired);
+    int words = needed.length;
+    int coveredHours = hired.numCoveredHours();
+    int cost = hired.totalCost();
+
+    boolean costBound = true;
+    for (Candidate c : candidates) {
+      costBound &= c.getPayRate() >= 0;
+    }
+
+    // stage[d] is how far the frame deciding candidates[d] has got; taken[d] is whether
+    // candidates[d] is currently hired, added[d] the number of hours it covered, and
+    // undo[d * words, (d + 1) * words) those hours
+    int[] stage = new int[n + 1];
+    boolean[] taken = new boolean[n];
+    int[] added = new int[n];
+    long[] undo = new long[n * words];
+
+    boolean[] best = new boolean[n];
+    boolean found = false;
+    int bestCost = Integer.MAX_VALUE;
+
+    int depth = 0;
+    stage[0] = ENTER;
+    while (depth >= 0) {
+      if (stage[depth] == ENTER) {
+        // base case: the current hires already cover the minimum hours
+        if (coveredHours >= minHours) {
+          if (cost < bestCost) {
+            bestCost = cost;
+            System.arraycopy(taken, 0, best, 0, n);
+            found = true;
+          }
+          depth--;
+          continue;
+        }
+
+        // base cases: no candidates left, the remaining ones cannot reach minHours, or this
+        // branch cannot be cheaper than the best solution
+        if (depth == n
+            || coveredHours + remaining.numHoursCovered(depth, needed) < minHours
+            || (costBound && cost >= bestCost)) {
+          depth--;
+          continue;
+        }
+
+        // hire candidates[depth]
+        Candidate current = candidates.get(depth);
+        added[depth] = current.hire(needed, undo, depth * words);
+        coveredHours += added[depth];
+        cost += current.getPayRate();
+        taken[depth] = true;
+        stage[depth] = HIRED;
+
+        if (coveredHours >= minHours) {
+          // hiring anyone else would only add cost
+          if (cost < bestCost) {
+            bestCost = cost;
+            System.arraycopy(taken, 0, best, 0, n);
+            found = true;
+          }
+        } else {
+          depth++;
+          stage[depth] = ENTER;
+        }
+      } else if (stage[depth] == HIRED) {
+        // undo the hire and see if not hiring candidates[depth] is cheaper
+        Candidate.undoHire(needed, undo, depth * words);
+        coveredHours -= added[depth];
+        cost -= candidates.get(depth).getPayRate();
+        taken[depth] = false;
+        stage[depth] = SKIPPED;
+        depth++;
+        stage[depth] = ENTER;
+      } else {
+        depth--;
+      }
+    }
+
+    if (!found) {
+      return null;
+    }
+    CandidateList bestSolution = new CandidateList(hired);
+    for (int i = 0; i < n; ++i) {
+      if (best[i]) {
+        bestSolution.add(candidates.get(i));
+      }
+    }
+    return bestSolution;
+  }
+
+  /**
+   * Same as Hiring.maxGain, but over candidates[from..] and using a caller-supplied buffer so
+   * that it does not allocate.
+   * 
+   * @param candidates  all of the candidates
+   * @param from        the index of the first candidate that may be hired
+   * @param hoursNeeded the packed set of hours not covered yet
+   * @param picks       the number of candidates that may be hired
+   * @param top         a buffer with room for at least min(picks, number of candidates) gains
+   * @return the sum of the largest `picks` gains
+   */
+  private static int maxGain(CandidateRange candidates, int from, long[] hoursNeeded, int picks,
+      int[] top) {
+    int size = Math.max(0, Math.min(picks, candidates.size() - from));
+    if (size == 0) {
+      return 0;
+    }
+    Arrays.fill(top, 0, size, 0);
+    for (int i = from; i < candidates.size(); i++) {
+      int gain = candidates.get(i).numHoursCovered(hoursNeeded);
+      if (gain > top[size - 1]) {
+        int j = size - 1;
+        while (j > 0 && top[j - 1] < gain) {
+          top[j] = top[j - 1];
+          j--;
+        }
+        top[j] = gain;
+      }
+    }
+    int sum = 0;
+    for (int j = 0; j < size; ++j) {
+      sum += top[j];
+    }
+    return sum;
+  }
+
+  /**
+   * @param candidates a list of candidates.
+   * @param hired      the candidates already hired.
+   * @return the packed set of hours, out of the longest schedule of any candidate in either list,
+   *         at which no candidate in hired is available.
+   */
+  private static long[] hoursNeeded(CandidateList candidates, CandidateList hired) {
+    int numHours = numHours(candidates, hired);
+    long[] needed = new long[Candidate.numWords(numHours)];
+    Arrays.fill(needed, -1L);
+    if (numHours % 64 != 0) {
+      needed[needed.length - 1] = -1L >>> (64 - numHours % 64);
+    }
+    long[] covered = hired.getCoveredBits();
+    for (int w = 0; w < Math.min(needed.length, covered.length); ++w) {
+      needed[w] &= ~covered[w];
+    }
+    return needed;
+  }
+
+  /**
+   * @param candidates a list of candidates.
+   * @param hired      another list of candidates.
+   * @return the length of the longest schedule of any candidate in either list.
+   */
+  private static int numHours(CandidateList candidates, CandidateList hired) {
+    int numHours = 0;
+    for (Candidate c : candidates) {
+      numHours = Math.max(numHours, c.getNumHours());
+    }
+    for (Candidate c : hired) {
+      numHours = Math.max(numHours, c.getNumHours());
+    }
+    return numHours;
+  }
+}
@@ -0,0 +1,579 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A local-search stage that improves an existing solution, such as one from
+ * {@link Hiring#greedyHiring(CandidateList, CandidateList, int)}, for lists too large for the exact
+ * solvers. It repeatedly applies the best improving move until none is left:
+ *
+ * <ul>
+ * <li>optimalHiring: hire another candidate while under the limit, swap one hire for one
+ * candidate, or swap two hires for two candidates, to cover more hours.</li>
+ * <li>minCoverageHiring: let a hire go, swap one hire for one cheaper candidate, or swap two hires
+ * for one or two candidates, to cost less while still covering minHours.</li>
+ * </ul>
+ *
+ * Every move is evaluated on a {@link CoverageCounter} of the current solution: the hours a hire
+ * would lose come from {@link CoverageCounter#numLostHours(Candidate)}, and the hours a candidate
+ * would add after removing it from {@link CoverageCounter#numNewHours(Candidate)}, so no list is
+ * rebuilt to try a move. Once stuck, the search can restart from a random perturbation of the best
+ * solution so far. The candidates that were already hired are never let go.
+ */
+public class LocalSearch {
+
+  /**
+   * The default number of moves to apply before giving up.
+   */
+  public static final int DEFAULT_MAX_ITERATIONS = 1000;
+
+  /**
+   * Improves a solution of optimalHiring with up to DEFAULT_MAX_ITERATIONS moves, no time limit
+   * and no restarts.
+   *
+   * @param candidates the set of available candidates to hire from (excluding those already hired)
+   * @param hired      the list of those currently hired
+   * @param start      the solution to improve: hired plus at most hiresLeft of candidates
+   * @param hiresLeft  the maximum number of candidates to hire
+   * @return hired plus the improved hires in list order, covering at least as many hours as start
+   */
+  public static CandidateList optimalHiring(CandidateList candidates, CandidateList hired,
+      CandidateList start, int hiresLeft) {
+    return optimalHiring(candidates, hired, start, hiresLeft, DEFAULT_MAX_ITERATIONS, 0, 0, 0);
+  }
+
+  /**
+   * Improves a solution of optimalHiring.
+   *
+   * @param candidates      the set of available candidates to hire from (excluding those already
+   *                        hired)
+   * @param hired           the list of those currently hired
+   * @param start           the solution to improve: hired plus at most hiresLeft of candidates
+   * @param hiresLeft       the maximum number of candidates to hire
+   * @param maxIterations   the most moves to apply, counting all restarts
+   * @param timeLimitMillis how long to search, or 0 for no time limit
+   * @param restarts        how many times to restart from a perturbation of the best solution
+   *                        once no move improves it
+   * @param seed            the seed of the random perturbations
+   * @return hired plus the improved hires in list order, covering at least as many hours as start
+   * @throws IllegalArgumentException if start has more than hiresLeft hires or hires someone who
+   *                                  is in neither hired nor candidates
+   */
+  public static CandidateList optimalHiring(CandidateList candidates, CandidateList hired,
+      CandidateList start, int hiresLeft, int maxIterations, long timeLimitMillis, int restarts,
+      long seed) {
+    Search search = new Search(candidates, hired, start, maxIterations, timeLimitMillis, seed);
+    if (search.chosen.size() > Math.max(hiresLeft, 0)) {
+      throw new IllegalArgumentException("start hires more than " + hiresLeft + " candidates");
+    }
+
+    int[] best = search.chosenIndices();
+    int bestHours = search.counter.numCoveredHours();
+    for (int run = 0; run <= restarts; ++run) {
+      while (search.hasTimeLeft() && search.improveCoverage(hiresLeft)) {
+        search.iterations++;
+      }
+      if (search.counter.numCoveredHours() > bestHours) {
+        best = search.chosenIndices();
+        bestHours = search.counter.numCoveredHours();
+      }
+      if (run < restarts && search.hasTimeLeft()) {
+        search.reset(best);
+        search.perturbBySwapping();
+      }
+    }
+    return search.toSolution(best);
+  }
+
+  /**
+   * Improves a solution of minCoverageHiring with up to DEFAULT_MAX_ITERATIONS moves, no time
+   * limit and no restarts.
+   *
+   * @param candidates the set of available candidates to hire from (excluding those already hired)
+   * @param hired      the set of candidates already hired
+   * @param start      the solution to improve: hired plus some of candidates, covering minHours
+   * @param minHours   the minimum number of hours we want to cover total
+   * @return hired plus the improved hires in list order, costing at most as much as start, or
+   *         null if start is null
+   */
+  public static CandidateList minCoverageHiring(CandidateList candidates, CandidateList hired,
+      CandidateList start, int minHours) {
+    return minCoverageHiring(candidates, hired, start, minHours, DEFAULT_MAX_ITERATIONS, 0, 0, 0);
+  }
+
+  /**
+   * Improves a solution of minCoverageHiring. Every solution it moves through covers minHours.
+   *
+   * @param candidates      the set of available candidates to hire from (excluding those already
+   *                        hired)
+   * @param hired           the set of candidates already hired
+   * @param start           the solution to improve: hired plus some of candidates, covering
+   *                        minHours
+   * @param minHours        the minimum number of hours we want to cover total
+   * @param maxIterations   the most moves to apply, counting all restarts
+   * @param timeLimitMillis how long to search, or 0 for no time limit
+   * @param restarts        how many times to restart from a perturbation of the best solution
+   *                        once no move improves it
+   * @param seed            the seed of the random perturbations
+   * @return hired plus the improved hires in list order, costing at most as much as start, or
+   *         null if start is null (there is no solution to improve)
+   * @throws IllegalArgumentException if start does not cover minHours or hires someone who is in
+   *                                  neither hired nor candidates
+   */
+  public static CandidateList minCoverageHiring(CandidateList candidates, CandidateList hired,
+      CandidateList start, int minHours, int maxIterations, long timeLimitMillis, int restarts,
+      long seed) {
+    if (start == null) {
+      return null;
+    }
+    Search search = new Search(candidates, hired, start, maxIterations, timeLimitMillis, seed);
+    if (search.counter.numCoveredHours() < minHours) {
+      throw new IllegalArgumentException("start does not cover " + minHours + " hours");
+    }
+
+    int[] best = search.chosenIndices();
+    int bestCost = search.counter.totalCost();
+    for (int run = 0; run <= restarts; ++run) {
+      while (search.hasTimeLeft() && search.improveCost(minHours)) {
+        search.iterations++;
+      }
+      if (search.counter.totalCost() < bestCost) {
+        best = search.chosenIndices();
+        bestCost = search.counter.totalCost();
+      }
+      if (run < restarts && search.hasTimeLeft()) {
+        search.reset(best);
+        search.perturbByAdding();
+      }
+    }
+    return search.toSolution(best);
+  }
+
+  /**
+   * The current solution of one local search and the limits on it.
+   */
+  private static class Search {
+
+    /**
+     * The candidates that may be hired or let go.
+     */
+    private final CandidateList candidates;
+
+    /**
+     * The candidates that were already hired; never let go.
+     */
+    private final CandidateList hired;
+
+    /**
+     * The hours covered by the current solution, including hired.
+     */
+    private final CoverageCounter counter;
+
+    /**
+     * isChosen[i] is true if candidates[i] is in the current solution.
+     */
+    private final boolean[] isChosen;
+
+    /**
+     * The indices of the chosen candidates, in no particular order.
+     */
+    private final List<Integer> chosen = new ArrayList<>();
+
+    /**
+     * The source of randomness for restarts.
+     */
+    private final Random random;
+
+    /**
+     * The most moves to apply.
+     */
+    private final int maxIterations;
+
+    /**
+     * The System.nanoTime() at which to stop, if timed.
+     */
+    private final long deadline;
+
+    /**
+     * True if there is a time limit.
+     */
+    private final boolean timed;
+
+    /**
+     * The number of moves applied so far.
+     */
+    private int iterations;
+
+    /**
+     * Sets up the search at start.
+     */
+    private Search(CandidateList candidates, CandidateList hired, CandidateList start,
+        int maxIterations, long timeLimitMillis, long seed) {
+      this.candidates = candidates;
+      this.hired = (hired == null) ? new CandidateList() : hired;
+      this.isChosen = new boolean[candidates.size()];
+      this.random = new Random(seed);
+      this.maxIterations = maxIterations;
+      this.timed = timeLimitMillis > 0;
+      this.deadline = System.nanoTime() + Math.max(timeLimitMillis, 0) * 1_000_000L;
+
+      int numHours = 0;
+      for (Candidate c : candidates) {
+        numHours = Math.max(numHours, c.getNumHours());
+      }
+      this.counter = new CoverageCounter(this.hired, numHours);
+
+      Map<Candidate, Integer> index = new IdentityHashMap<>();
+      for (int i = 0; i < candidates.size(); ++i) {
+        index.putIfAbsent(candidates.get(i), i);
+      }
+      Map<Candidate, Boolean> isHired = new IdentityHashMap<>();
+      for (Candidate c : this.hired) {
+        isHired.put(c, true);
+      }
+      for (Candidate c : start) {
+        if (isHired.containsKey(c)) {
+          continue;
+        }
+        Integer i = index.get(c);
+        if (i == null) {
+          throw new IllegalArgumentException("Not in hired or candidates: " + c);
+        }
+        if (!isChosen[i]) {
+          hire(i);
+        }
+      }
+    }
+
+    /**
+     * @return true if another move may be applied.
+     */
+    private boolean hasTimeLeft() {
+      return iterations < maxIterations && (!timed || System.nanoTime() - deadline < 0);
+    }
+
+    /**
+     * Adds candidates[i] to the current solution.
+     */
+    private void hire(int i) {
+      isChosen[i] = true;
+      chosen.add(i);
+      counter.add(candidates.get(i));
+    }
+
+    /**
+     * Removes candidates[i] from the current solution.
+     */
+    private void letGo(int i) {
+      isChosen[i] = false;
+      chosen.remove(Integer.valueOf(i));
+      counter.remove(candidates.get(i));
+    }
+
+    /**
+     * @return the indices of the chosen candidates, in increasing order.
+     */
+    private int[] chosenIndices() {
+      int[] indices = chosen.stream().mapToInt(Integer::intValue).toArray();
+      Arrays.sort(indices);
+      return indices;
+    }
+
+    /**
+     * Makes the solution with the given chosen indices current.
+     */
+    private void reset(int[] indices) {
+      for (int i : chosenIndices()) {
+        letGo(i);
+      }
+      for (int i : indices) {
+        hire(i);
+      }
+    }
+
+    /**
+     * @return hired followed by the candidates at the given indices.
+     */
+    private CandidateList toSolution(int[] indices) {
+      CandidateList solution = new CandidateList(hired);
+      for (int i : indices) {
+        solution.add(candidates.get(i));
+      }
+      return solution;
+    }
+
+    /**
+     * @return the indices of the candidates not in the current solution, in list order.
+     */
+    private int[] outside() {
+      int[] outside = new int[candidates.size() - chosen.size()];
+      int n = 0;
+      for (int i = 0; i < candidates.size(); ++i) {
+        if (!isChosen[i]) {
+          outside[n++] = i;
+        }
+      }
+      return outside;
+    }
+
+    /**
+     * Swaps a third of the chosen candidates (at least one) for random others.
+     */
+    private void perturbBySwapping() {
+      int swaps = Math.max(1, chosen.size() / 3);
+      for (int s = 0; s < swaps && !chosen.isEmpty(); ++s) {
+        int[] outside = outside();
+        if (outside.length == 0) {
+          return;
+        }
+        letGo(chosen.get(random.nextInt(chosen.size())));
+        hire(outside[random.nextInt(outside.length)]);
+      }
+    }
+
+    /**
+     * Hires a third as many random candidates as are chosen (at least one). Adding hires never
+     * uncovers an hour, so the solution stays feasible.
+     */
+    private void perturbByAdding() {
+      int adds = Math.max(1, chosen.size() / 3);
+      for (int s = 0; s < adds; ++s) {
+        int[] outside = outside();
+        if (outside.length == 0) {
+          return;
+        }
+        hire(outside[random.nextInt(outside.length)]);
+      }
+    }
+
+    /**
+     * Applies the move that adds the most covered hours, if any move adds hours.
+     *
+     * @param hiresLeft the most candidates that may be chosen
+     * @return true if a move was applied
+     */
+    private boolean improveCoverage(int hiresLeft) {
+      int[] outside = outside();
+
+      // hire another candidate while there is room
+      if (chosen.size() < hiresLeft) {
+        int best = -1;
+        int bestGain = 0;
+        for (int y : outside) {
+          int gain = counter.numNewHours(candidates.get(y));
+          if (gain > bestGain) {
+            best = y;
+            bestGain = gain;
+          }
+        }
+        if (best >= 0) {
+          hire(best);
+          return true;
+        }
+      }
+
+      // swap one hire for one candidate
+      int[] current = chosenIndices();
+      int bestOut = -1;
+      int bestIn = -1;
+      int bestDelta = 0;
+      for (int x : current) {
+        Candidate out = candidates.get(x);
+        int lost = counter.numLostHours(out);
+        counter.remove(out);
+        for (int y : outside) {
+          int delta = counter.numNewHours(candidates.get(y)) - lost;
+          if (delta > bestDelta) {
+            bestOut = x;
+            bestIn = y;
+            bestDelta = delta;
+          }
+        }
+        counter.add(out);
+      }
+      if (bestOut >= 0) {
+        letGo(bestOut);
+        hire(bestIn);
+        return true;
+      }
+
+      // swap two hires for two candidates
+      int[] bestMove = null;
+      for (int a = 0; a < current.length; ++a) {
+        for (int b = a + 1; b < current.length; ++b) {
+          int before = counter.numCoveredHours();
+          counter.remove(candidates.get(current[a]));
+          counter.remove(candidates.get(current[b]));
+          int lost = before - counter.numCoveredHours();
+          int[] pair = bestPair(outside, lost + bestDelta);
+          if (pair != null) {
+            bestMove = new int[] {current[a], current[b], pair[0], pair[1]};
+            bestDelta = pair[2] - lost;
+          }
+          counter.add(candidates.get(current[b]));
+          counter.add(candidates.get(current[a]));
+        }
+      }
+      if (bestMove != null) {
+        letGo(bestMove[0]);
+        letGo(bestMove[1]);
+        hire(bestMove[2]);
+        hire(bestMove[3]);
+        return true;
+      }
+      return false;
+    }
+
+    /**
+     * Finds the two candidates that together add the most hours to the current solution, if they
+     * add more than threshold. Candidates are tried in decreasing order of their own gain, and a
+     * pair is skipped once the sum of their own gains cannot pass the best so far.
+     *
+     * @param outside   the candidates that may be hired
+     * @param threshold the number of hours the pair has to beat
+     * @return {first, second, hours added}, or null if no pair adds more than threshold hours
+     */
+    private int[] bestPair(int[] outside, int threshold) {
+      int n = outside.length;
+      int[] gain = new int[candidates.size()];
+      Integer[] order = new Integer[n];
+      for (int k = 0; k < n; ++k) {
+        gain[outside[k]] = counter.numNewHours(candidates.get(outside[k]));
+        order[k] = outside[k];
+      }
+      Arrays.sort(order, (p, q) -> Integer.compare(gain[q], gain[p]));
+
+      int[] best = null;
+      for (int k = 0; k + 1 < n; ++k) {
+        int first = order[k];
+        if (gain[first] + gain[order[k + 1]] <= threshold) {
+          break;
+        }
+        counter.add(candidates.get(first));
+        for (int l = k + 1; l < n; ++l) {
+          int second = order[l];
+          if (gain[first] + gain[second] <= threshold) {
+            break;
+          }
+          int together = gain[first] + counter.numNewHours(candidates.get(second));
+          if (together > threshold) {
+            best = new int[] {first, second, together};
+            threshold = together;
+          }
+        }
+        counter.remove(candidates.get(first));
+      }
+      return best;
+    }
+
+    /**
+     * Applies the move that saves the most, if any move saves anything and keeps minHours
+     * covered.
+     *
+     * @param minHours the minimum number of hours to cover
+     * @return true if a move was applied
+     */
+    private boolean improveCost(int minHours) {
+      int[] current = chosenIndices();
+      int[] outside = outside();
+
+      // let one hire go, or swap it for one cheaper candidate
+      int bestOut = -1;
+      int bestIn = -1;
+      int bestSaving = 0;
+      for (int x : current) {
+        Candidate out = candidates.get(x);
+        if (counter.numCoveredHours() - counter.numLostHours(out) >= minHours) {
+          if (out.getPayRate() > bestSaving) {
+            bestOut = x;
+            bestIn = -1;
+            bestSaving = out.getPayRate();
+          }
+          continue;
+        }
+        counter.remove(out);
+        int missing = minHours - counter.numCoveredHours();
+        for (int y : outside) {
+          Candidate in = candidates.get(y);
+          int saving = out.getPayRate() - in.getPayRate();
+          if (saving > bestSaving && counter.numNewHours(in) >= missing) {
+            bestOut = x;
+            bestIn = y;
+            bestSaving = saving;
+          }
+        }
+        counter.add(out);
+      }
+      if (bestOut >= 0) {
+        letGo(bestOut);
+        if (bestIn >= 0) {
+          hire(bestIn);
+        }
+        return true;
+      }
+
+      // swap two hires for one or two cheaper candidates, cheapest first
+      Integer[] byPay = new Integer[outside.length];
+      for (int k = 0; k < outside.length; ++k) {
+        byPay[k] = outside[k];
+      }
+      Arrays.sort(byPay, (p, q) -> Integer.compare(candidates.get(p).getPayRate(),
+          candidates.get(q).getPayRate()));
+      int[] bestMove = null;
+      for (int a = 0; a < current.length; ++a) {
+        for (int b = a + 1; b < current.length; ++b) {
+          Candidate outA = candidates.get(current[a]);
+          Candidate outB = candidates.get(current[b]);
+          int budget = outA.getPayRate() + outB.getPayRate() - bestSaving;
+          counter.remove(outA);
+          counter.remove(outB);
+          int missing = minHours - counter.numCoveredHours();
+          for (int k = 0; k < byPay.length; ++k) {
+            Candidate first = candidates.get(byPay[k]);
+            if (first.getPayRate() >= budget) {
+              break;
+            }
+            int firstGain = counter.numNewHours(first);
+            if (firstGain >= missing) {
+              // one candidate is enough, and any second one would only cost more
+              bestMove = new int[] {current[a], current[b], byPay[k], -1};
+              bestSaving += budget - first.getPayRate();
+              budget = first.getPayRate();
+              break;
+            }
+            counter.add(first);
+            for (int l = k + 1; l < byPay.length; ++l) {
+              Candidate second = candidates.get(byPay[l]);
+              int pay = first.getPayRate() + second.getPayRate();
+              if (pay >= budget) {
+                break;
+              }
+              if (counter.numNewHours(second) >= missing - firstGain) {
+                bestMove = new int[] {current[a], current[b], byPay[k], byPay[l]};
+                bestSaving += budget - pay;
+                budget = pay;
+                break;
+              }
+            }
+            counter.remove(first);
+          }
+          counter.add(outB);
+          counter.add(outA);
+        }
+      }
+      if (bestMove != null) {
+        letGo(bestMove[0]);
+        letGo(bestMove[1]);
+        hire(bestMove[2]);
+        if (bestMove[3] >= 0) {
+          hire(bestMove[3]);
+        }
+        return true;
+      }
+      return false;
+    }
+  }
+}
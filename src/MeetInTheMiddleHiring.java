@@ -0,0 +1,349 @@
+import java.util.Arrays;
+
+/**
+ * An alternative to {@link Hiring#optimalHiring(CandidateList, CandidateList, int)} for small
+ * numbers of hires out of large lists of candidates. The k hires are split into two halves of
+ * floor(k/2) and ceil(k/2) hires. Every combination of that many candidates is enumerated once,
+ * with the packed set of new hours it covers, and the best pair of combinations is found by
+ * walking both lists in decreasing order of coverage, so the search stops as soon as no remaining
+ * pair can beat the best one found, by the popcount bound |A union B| <= |A| + |B|.
+ *
+ * <p>
+ * Combinations that cannot reach the greedy solution even with the best possible other half are
+ * never stored. Enumerating takes O(C(N, ceil(k/2))) time rather than O(C(N, k)), so the best pair
+ * or triple out of thousands of candidates takes milliseconds. From k = 4 on, the time is
+ * dominated by combining halves, which depends on how many pairs of halves pass the popcount bound;
+ * on lists where the best combinations overlap heavily it is no faster than Hiring.optimalHiring.
+ */
+public class MeetInTheMiddleHiring {
+
+  /**
+   * Finds the set of at most hiresLeft hires that covers the most hours, with the same meaning as
+   * Hiring.optimalHiring: hired are the candidates already hired (their hours count towards the
+   * coverage and they are part of the returned list). The result covers as many hours as
+   * Hiring.optimalHiring's, though it may be a different set of hires with the same coverage.
+   *
+   * @param candidates the set of available candidates to hire from (excluding those already hired)
+   * @param hired      the list of those currently hired
+   * @param hiresLeft  the maximum number of candidates to hire
+   * @return hired followed by the chosen hires in list order
+   */
+  public static CandidateList optimalHiring(CandidateList candidates, CandidateList hired,
+      int hiresLeft) {
+    if (hiresLeft <= 0) {
+      // Same base case as Hiring.optimalHiring
+      return (hired == null || hired.isEmpty()) ? new CandidateList() : hired;
+    }
+    if (hired == null) {
+      hired = new CandidateList();
+    }
+
+    // each candidate's new hours, for the candidates that add any, most new hours first
+    long[] covered = hired.getCoveredBits();
+    int numWords = covered.length;
+    for (Candidate c : candidates) {
+      numWords = Math.max(numWords, c.getAvailabilityBits().length);
+    }
+    covered = Arrays.copyOf(covered, numWords);
+    Singles singles = new Singles(candidates, covered, numWords);
+    if (singles.count == 0) {
+      return new CandidateList(hired);
+    }
+
+    int k = Math.min(hiresLeft, singles.count);
+    long[] all = new long[numWords];
+    for (int i = 0; i < singles.count; ++i) {
+      orInto(all, singles.masks, i * numWords, numWords);
+    }
+    int maxNew = Candidate.popcount(all);
+
+    // the greedy hires are the combination to beat
+    CandidateList greedy = Hiring.greedyHiring(candidates, hired, k, Hiring.GreedyMode.LAZY);
+    int best = greedy.numCoveredHours() - hired.numCoveredHours();
+    if (best >= maxNew) {
+      return greedy;
+    }
+
+    int smallHalf = k / 2;
+    int bigHalf = k - smallHalf;
+    Combinations left = Combinations.enumerate(singles, smallHalf, best - singles.topSum(bigHalf));
+    Combinations right = (smallHalf == bigHalf) ? left
+        : Combinations.enumerate(singles, bigHalf, best - singles.topSum(smallHalf));
+
+    if (left.count == 0 || right.count == 0) {
+      // every pair is at most the threshold plus the other half's best, which is best
+      return greedy;
+    }
+
+    // walk both lists from the most hours down, stopping once |a| + |b| cannot beat best. When
+    // both halves are the same list, each unordered pair is only tried once.
+    boolean sameList = left == right;
+    int bestLeft = -1;
+    int bestRight = -1;
+    long[] union = new long[numWords];
+    search:
+    for (int i = 0; i < left.count; ++i) {
+      int a = left.order[i];
+      int first = sameList ? i + 1 : 0;
+      if (first >= right.count || left.pops[a] + right.pops[right.order[first]] <= best) {
+        break;
+      }
+      for (int j = first; j < right.count; ++j) {
+        int b = right.order[j];
+        if (left.pops[a] + right.pops[b] <= best) {
+          break;
+        }
+        System.arraycopy(left.masks, a * numWords, union, 0, numWords);
+        orInto(union, right.masks, b * numWords, numWords);
+        int hours = Candidate.popcount(union);
+        if (hours > best) {
+          best = hours;
+          bestLeft = a;
+          bestRight = b;
+          if (best >= maxNew) {
+            break search;
+          }
+        }
+      }
+    }
+
+    if (bestLeft < 0) {
+      return greedy;
+    }
+
+    // the two halves may share candidates; hire each chosen candidate once, in list order
+    boolean[] chosen = new boolean[candidates.size()];
+    for (int m = 0; m < smallHalf; ++m) {
+      chosen[singles.index[left.members[bestLeft * smallHalf + m]]] = true;
+    }
+    for (int m = 0; m < bigHalf; ++m) {
+      chosen[singles.index[right.members[bestRight * bigHalf + m]]] = true;
+    }
+    CandidateList result = new CandidateList(hired);
+    for (int i = 0; i < chosen.length; ++i) {
+      if (chosen[i]) {
+        result.add(candidates.get(i));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * ORs words [offset, offset + numWords) of source into target.
+   */
+  private static void orInto(long[] target, long[] source, int offset, int numWords) {
+    for (int w = 0; w < numWords; ++w) {
+      target[w] |= source[offset + w];
+    }
+  }
+
+  /**
+   * The candidates that add any new hours, sorted by the number of new hours they add (most
+   * first), with their new hours packed into one flat array.
+   */
+  private static class Singles {
+
+    /**
+     * The number of candidates that add new hours.
+     */
+    private final int count;
+
+    /**
+     * index[s] is the position in the original list of the s'th candidate here.
+     */
+    private final int[] index;
+
+    /**
+     * pops[s] is the number of new hours the s'th candidate adds; non-increasing in s.
+     */
+    private final int[] pops;
+
+    /**
+     * The new hours of the s'th candidate are words [s * numWords, (s + 1) * numWords).
+     */
+    private final long[] masks;
+
+    /**
+     * The number of words in each mask.
+     */
+    private final int numWords;
+
+    /**
+     * Computes the new hours of each candidate over covered and sorts the useful ones.
+     */
+    private Singles(CandidateList candidates, long[] covered, int numWords) {
+      this.numWords = numWords;
+      int n = candidates.size();
+      int[] gain = new int[n];
+      Integer[] order = new Integer[n];
+      int useful = 0;
+      for (int i = 0; i < n; ++i) {
+        gain[i] = candidates.get(i).numNewHours(covered);
+        if (gain[i] > 0) {
+          order[useful++] = i;
+        }
+      }
+      // stable, so candidates with the same gain stay in list order
+      Arrays.sort(order, 0, useful, (a, b) -> Integer.compare(gain[b], gain[a]));
+
+      this.count = useful;
+      this.index = new int[useful];
+      this.pops = new int[useful];
+      this.masks = new long[useful * numWords];
+      for (int s = 0; s < useful; ++s) {
+        index[s] = order[s];
+        pops[s] = gain[order[s]];
+        long[] bits = candidates.get(order[s]).getAvailabilityBits();
+        for (int w = 0; w < bits.length; ++w) {
+          masks[s * numWords + w] = bits[w] & ~covered[w];
+        }
+      }
+    }
+
+    /**
+     * @return the sum of the new hours of the size candidates that add the most, an upper bound
+     *         on the new hours of any combination of size candidates.
+     */
+    private int topSum(int size) {
+      int sum = 0;
+      for (int s = 0; s < Math.min(size, count); ++s) {
+        sum += pops[s];
+      }
+      return sum;
+    }
+  }
+
+  /**
+   * The combinations of a fixed number of candidates whose new hours exceed a threshold, stored
+   * in flat arrays, and their order from the most new hours to the fewest.
+   */
+  private static class Combinations {
+
+    /**
+     * The number of candidates in each combination.
+     */
+    private final int size;
+
+    /**
+     * The number of words in each mask.
+     */
+    private final int numWords;
+
+    /**
+     * The number of combinations stored.
+     */
+    private int count;
+
+    /**
+     * The members of combination c are members[c * size], ..., members[c * size + size - 1],
+     * as indices into Singles.
+     */
+    private int[] members;
+
+    /**
+     * The new hours of combination c are words [c * numWords, (c + 1) * numWords).
+     */
+    private long[] masks;
+
+    /**
+     * pops[c] is the number of new hours combination c covers.
+     */
+    private int[] pops;
+
+    /**
+     * The indices of the combinations, from the most new hours to the fewest.
+     */
+    private int[] order;
+
+    /**
+     * Creates an empty list of combinations of the given size.
+     */
+    private Combinations(int size, int numWords) {
+      this.size = size;
+      this.numWords = numWords;
+      this.members = new int[16 * Math.max(size, 1)];
+      this.masks = new long[16 * numWords];
+      this.pops = new int[16];
+    }
+
+    /**
+     * Enumerates every combination of size candidates from singles that covers more than
+     * threshold new hours, and sorts them by coverage.
+     *
+     * @param singles   the candidates to combine
+     * @param size      the number of candidates in each combination; may be 0
+     * @param threshold combinations covering this many new hours or fewer are not kept
+     * @return the kept combinations, with order filled in
+     */
+    private static Combinations enumerate(Singles singles, int size, int threshold) {
+      Combinations combinations = new Combinations(size, singles.numWords);
+      long[][] unions = new long[size + 1][singles.numWords];
+      int[] picked = new int[size];
+      combinations.enumerate(singles, 0, 0, unions, picked, threshold);
+      combinations.sortByPopcount();
+      return combinations;
+    }
+
+    /**
+     * Extends the combination picked[0..depth) with candidates from start onwards. Singles are
+     * sorted by new hours, so once depth's worth of hours plus the rest filled with copies of
+     * singles[s] cannot pass threshold, no later s can either.
+     */
+    private void enumerate(Singles singles, int depth, int start, long[][] unions, int[] picked,
+        int threshold) {
+      int pop = Candidate.popcount(unions[depth]);
+      if (depth == size) {
+        if (pop > threshold) {
+          add(picked, unions[depth], pop);
+        }
+        return;
+      }
+      for (int s = start; s <= singles.count - (size - depth); ++s) {
+        if (pop + (size - depth) * singles.pops[s] <= threshold) {
+          break;
+        }
+        System.arraycopy(unions[depth], 0, unions[depth + 1], 0, numWords);
+        orInto(unions[depth + 1], singles.masks, s * numWords, numWords);
+        picked[depth] = s;
+        enumerate(singles, depth + 1, s + 1, unions, picked, threshold);
+      }
+    }
+
+    /**
+     * Appends a combination, growing the arrays as needed.
+     */
+    private void add(int[] picked, long[] union, int pop) {
+      if (count == pops.length) {
+        int capacity = 2 * pops.length;
+        members = Arrays.copyOf(members, capacity * Math.max(size, 1));
+        masks = Arrays.copyOf(masks, capacity * numWords);
+        pops = Arrays.copyOf(pops, capacity);
+      }
+      System.arraycopy(picked, 0, members, count * size, size);
+      System.arraycopy(union, 0, masks, count * numWords, numWords);
+      pops[count] = pop;
+      ++count;
+    }
+
+    /**
+     * Fills in order with a counting sort on the number of new hours, most first.
+     */
+    private void sortByPopcount() {
+      int maxPop = 0;
+      for (int c = 0; c < count; ++c) {
+        maxPop = Math.max(maxPop, pops[c]);
+      }
+      int[] start = new int[maxPop + 2];
+      for (int c = 0; c < count; ++c) {
+        ++start[maxPop - pops[c] + 1];
+      }
+      for (int p = 1; p < start.length; ++p) {
+        start[p] += start[p - 1];
+      }
+      order = new int[count];
+      for (int c = 0; c < count; ++c) {
+        order[start[maxPop - pops[c]]++] = c;
+      }
+    }
+  }
+}
@@ -0,0 +1,244 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A parallel version of {@link Hiring#optimalHiring(CandidateList, CandidateList, int)}. The top
+ * levels of the branch-and-bound search are split into fork/join tasks, one per candidate hired
+ * at that level, and subtrees with few enough candidates left are searched sequentially. All tasks
+ * share the number of hours covered by the best hires found so far, so each one can prune against
+ * what the others have found.
+ * 
+ * <p>
+ * The result is exactly the one Hiring.optimalHiring returns, regardless of the number of threads
+ * or the order tasks finish in: a branch is only pruned against another task's result if it cannot
+ * even tie it, and the results of sibling tasks are combined in candidate order.
+ */
+public class ParallelHiring {
+
+  /**
+   * The default number of remaining candidates at or below which a subtree is searched
+   * sequentially instead of being split into more tasks.
+   */
+  public static final int DEFAULT_SEQUENTIAL_THRESHOLD = 16;
+
+  /**
+   * Solves optimalHiring on the common fork/join pool with the default sequential threshold.
+   * 
+   * @param candidates the set of available candidates to hire from (excluding those already hired)
+   * @param hired      the list of those currently hired
+   * @param hiresLeft  the maximum number of candidates to hire
+   * @return the same hires as Hiring.optimalHiring(candidates, hired, hiresLeft)
+   */
+  public static CandidateList optimalHiring(CandidateList candidates, CandidateList hired,
+      int hiresLeft) {
+    return optimalHiring(candidates, hired, hiresLeft, ForkJoinPool.commonPool(),
+        DEFAULT_SEQUENTIAL_THRESHOLD);
+  }
+
+  /**
+   * Solves optimalHiring on the given fork/join pool.
+   * 
+   * @param candidates          the set of available candidates to hire from (excluding those
+   *                            already hired)
+   * @param hired               the list of those currently hired
+   * @param hiresLeft           the maximum number of candidates to hire
+   * @param pool                the pool to run the search on
+   * @param sequentialThreshold subtrees with at most this many candidates left to choose from are
+   *                            searched sequentially by a single task
+   * @return the same hires as Hiring.optimalHiring(candidates, hired, hiresLeft)
+   * @throws IllegalArgumentException if sequentialThreshold is negative
+   */
+  public static CandidateList optimalHiring(CandidateList candidates, CandidateList hired,
+      int hiresLeft, ForkJoinPool pool, int sequentialThreshold) {
+    if (sequentialThreshold < 0) {
+      throw new IllegalArgumentException("sequentialThreshold must be non-negative");
+    }
+    if (hiresLeft <= 0) {
+      // Same base case as Hiring.optimalHiring
+      return (hired == null || hired.isEmpty()) ? new CandidateList() : hired;
+    }
+
+    CandidateChain start = CandidateChain.of(hired);
+    CandidateRange remaining = new CandidateRange(candidates);
+    int maxHours = remaining.numCoveredHoursWith(start.getCoveredBits());
+
+    Search search = new Search(maxHours, sequentialThreshold, start.numCoveredHours());
+    CandidateChain best = pool.invoke(search.new Task(remaining, start, hiresLeft));
+    return (best == null ? start : best).toCandidateList();
+  }
+
+  /**
+   * The state shared by every task of one search.
+   */
+  private static class Search {
+
+    /**
+     * The most hours any set of hires can cover; a task stops once it finds hires covering this
+     * many hours.
+     */
+    private final int maxHours;
+
+    /**
+     * Subtrees with at most this many candidates left are searched sequentially.
+     */
+    private final int sequentialThreshold;
+
+    /**
+     * The number of hours covered by the best hires any task has found so far.
+     */
+    private final AtomicInteger bestHours;
+
+    /**
+     * Creates the shared state for a search.
+     * 
+     * @param maxHours            the most hours any set of hires can cover
+     * @param sequentialThreshold subtrees with at most this many candidates left are searched
+     *                            sequentially
+     * @param startHours          the number of hours covered by the initial hires
+     */
+    Search(int maxHours, int sequentialThreshold, int startHours) {
+      this.maxHours = maxHours;
+      this.sequentialThreshold = sequentialThreshold;
+      this.bestHours = new AtomicInteger(startHours);
+    }
+
+    /**
+     * Records that some task has found hires covering the given number of hours.
+     * 
+     * @param hours the number of hours covered.
+     */
+    private void offer(int hours) {
+      bestHours.accumulateAndGet(hours, Math::max);
+    }
+
+    /**
+     * Searches every way of extending `hired` with candidates taken in list order.
+     */
+    private class Task extends RecursiveTask<CandidateChain> {
+
+      /**
+       * Ignore this. Makes the compiler happy.
+       */
+      private static final long serialVersionUID = 1L;
+
+      /**
+       * The candidates that may still be hired, in list order.
+       */
+      private final CandidateRange candidates;
+
+      /**
+       * The candidates hired so far; already considered by the parent task.
+       */
+      private final CandidateChain hired;
+
+      /**
+       * The maximum number of candidates left to hire.
+       */
+      private final int hiresLeft;
+
+      /**
+       * Creates a task for one subtree of the search.
+       * 
+       * @param candidates the candidates that may still be hired, in list order
+       * @param hired      the candidates hired so far
+       * @param hiresLeft  the maximum number of candidates left to hire
+       */
+      Task(CandidateRange candidates, CandidateChain hired, int hiresLeft) {
+        this.candidates = candidates;
+        this.hired = hired;
+        this.hiresLeft = hiresLeft;
+      }
+
+      /**
+       * @return the first hires in search order below this subtree's root that cover the most
+       *         hours, or null if none cover more hours than `hired`.
+       */
+      @Override
+      protected CandidateChain compute() {
+        if (candidates.size() <= sequentialThreshold || hiresLeft <= 1) {
+          CandidateChain best = search(candidates, hired, hiresLeft, hired);
+          return best == hired ? null : best;
+        }
+
+        // Split: one subtask per candidate hired next
+        int bestGain = Hiring.maxGain(candidates, hired.getCoveredBits(), hiresLeft);
+        List<CandidateChain> children = new ArrayList<>();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+          if (bound(i, bestGain) < bestHours.get()) {
+            break;
+          }
+          CandidateChain updatedHired = hired.with(candidates.get(i));
+          offer(updatedHired.numCoveredHours());
+          children.add(updatedHired);
+          tasks.add(new Task(candidates.from(i + 1), updatedHired, hiresLeft - 1));
+        }
+        invokeAll(tasks);
+
+        // Combine in candidate order, keeping the first that covers the most hours
+        CandidateChain best = hired;
+        for (int i = 0; i < tasks.size(); i++) {
+          CandidateChain child = children.get(i);
+          CandidateChain below = tasks.get(i).join();
+          if (below != null && below.numCoveredHours() > child.numCoveredHours()) {
+            child = below;
+          }
+          if (child.numCoveredHours() > best.numCoveredHours()) {
+            best = child;
+          }
+        }
+        return best == hired ? null : best;
+      }
+
+      /**
+       * @param i        an index into candidates.
+       * @param bestGain the sum of the hiresLeft largest gains of the candidates.
+       * @return the most hours that hiring candidates[i] and then others after it can cover.
+       */
+      private int bound(int i, int bestGain) {
+        return Math.min(hired.numCoveredHours() + bestGain,
+            candidates.from(i).numCoveredHoursWith(hired.getCoveredBits()));
+      }
+
+      /**
+       * Sequential branch and bound, as in Hiring.optimalHiring, that also prunes branches that
+       * cannot tie the best hires found by any task.
+       * 
+       * @param candidates the candidates that may still be hired, in list order
+       * @param hired      the candidates hired so far
+       * @param hiresLeft  the maximum number of candidates left to hire
+       * @param best       the best hires found so far by this task
+       * @return the first hires in search order covering more hours than best, or best
+       */
+      private CandidateChain search(CandidateRange candidates, CandidateChain hired,
+          int hiresLeft, CandidateChain best) {
+        int bestGain = Hiring.maxGain(candidates, hired.getCoveredBits(), hiresLeft);
+
+        for (int i = 0; i < candidates.size(); i++) {
+          if (best.numCoveredHours() >= maxHours) {
+            break;
+          }
+          int bound = Math.min(hired.numCoveredHours() + bestGain,
+              candidates.from(i).numCoveredHoursWith(hired.getCoveredBits()));
+          if (bound <= best.numCoveredHours() || bound < bestHours.get()) {
+            break;
+          }
+
+          CandidateChain updatedHired = hired.with(candidates.get(i));
+          if (updatedHired.numCoveredHours() > best.numCoveredHours()) {
+            best = updatedHired;
+            offer(best.numCoveredHours());
+          }
+          if (hiresLeft > 1) {
+            best = search(candidates.from(i + 1), updatedHired, hiresLeft - 1, best);
+          }
+        }
+
+        return best;
+      }
+    }
+  }
+}
@@ -0,0 +1,511 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Versions of the solvers in {@link Hiring} that work on a {@link CandidatePool}: candidates are
+ * pool indices, and a set of hires is an int array of indices. Each scan over the candidates reads
+ * the pool's rows in order, and the searches keep their covered hours in arrays allocated once per
+ * call, so no memory is allocated per candidate evaluation or per search node.
+ *
+ * <p>
+ * Given the same candidates in the same order, each solver returns the same hires as its
+ * counterpart in Hiring. The overloads that take CandidateLists build a pool of the hired
+ * candidates followed by the candidates, solve, and convert the result back.
+ */
+public class PoolHiring {
+
+  /**
+   * Same as Hiring.greedyHiring, on a pool: hires, one at a time, the first candidate that adds
+   * the most hours.
+   *
+   * @param pool      the candidates
+   * @param hired     indices of the candidates already hired; every other candidate that is not
+   *                  removed from the pool may be hired
+   * @param hiresLeft the maximum number of candidates to hire
+   * @return hired followed by the indices of the hires, in the order they were made
+   */
+  public static int[] greedyHiring(CandidatePool pool, int[] hired, int hiresLeft) {
+    int[] order = available(pool, hired);
+    int picks = Math.max(0, Math.min(hiresLeft, order.length));
+    int[] result = Arrays.copyOf(hired, hired.length + picks);
+    long[] covered = pool.getCoveredBits(hired);
+    boolean[] taken = new boolean[order.length];
+
+    for (int pick = 0; pick < picks; ++pick) {
+      // find the first candidate that increases hours covered the most
+      int best = -1;
+      int maxDifference = -1;
+      for (int j = 0; j < order.length; ++j) {
+        if (!taken[j]) {
+          int difference = pool.numNewHours(order[j], covered);
+          if (difference > maxDifference) {
+            best = j;
+            maxDifference = difference;
+          }
+        }
+      }
+      taken[best] = true;
+      pool.orInto(order[best], covered);
+      result[hired.length + pick] = order[best];
+    }
+    return result;
+  }
+
+  /**
+   * Same as Hiring.optimalHiring, on a pool: the same branch-and-bound search over combinations of
+   * candidates in pool order.
+   *
+   * @param pool      the candidates
+   * @param hired     indices of the candidates already hired; every other candidate may be hired
+   * @param hiresLeft the maximum number of candidates to hire
+   * @return hired followed by the indices of the hires that cover the most hours, in pool order
+   */
+  public static int[] optimalHiring(CandidatePool pool, int[] hired, int hiresLeft) {
+    if (hiresLeft <= 0) {
+      return hired.clone();
+    }
+    Search search = new Search(pool, hired, Math.min(hiresLeft, pool.size()));
+    search.bestHours = search.numCoveredHours(0);
+    search.maxHours = search.numCoveredHoursWith(0, 0);
+    search.optimal(0, 0, hiresLeft);
+    return search.result(hired);
+  }
+
+  /**
+   * Like {@link #optimalHiring(CandidatePool, int[], int)}, but only looks for hires that cover
+   * more than a number of hours already reached some other way, for example by a previous
+   * solution. Branches that cannot beat it are pruned from the start, so re-solving after a small
+   * change to the candidates searches far less than solving from scratch.
+   *
+   * @param pool      the candidates
+   * @param hired     indices of the candidates already hired; every other candidate may be hired
+   * @param hiresLeft the maximum number of candidates to hire
+   * @param toBeat    the number of hours to beat
+   * @return hired followed by the indices of the hires that cover the most hours, in pool order,
+   *         or null if no set of hires covers more than toBeat hours
+   */
+  public static int[] optimalHiring(CandidatePool pool, int[] hired, int hiresLeft, int toBeat) {
+    return optimalHiring(pool, hired, hiresLeft, toBeat, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Like {@link #optimalHiring(CandidatePool, int[], int, int)}, when it is also known that no set
+   * of hires covers more than atMost hours, for example because the candidates are those of a
+   * previous solution minus one. The search stops as soon as it finds hires covering atMost hours.
+   *
+   * @param pool      the candidates
+   * @param hired     indices of the candidates already hired; every other candidate may be hired
+   * @param hiresLeft the maximum number of candidates to hire
+   * @param toBeat    the number of hours to beat
+   * @param atMost    the most hours any set of hires can cover
+   * @return hired followed by the indices of the hires that cover the most hours, in pool order,
+   *         or null if no set of hires covers more than toBeat hours
+   */
+  public static int[] optimalHiring(CandidatePool pool, int[] hired, int hiresLeft, int toBeat,
+      int atMost) {
+    Search search = new Search(pool, hired, Math.min(hiresLeft, pool.size()));
+    search.bestHours = toBeat;
+    if (search.numCoveredHours(0) > toBeat) {
+      search.bestHours = search.numCoveredHours(0);
+      search.keep(0);
+    }
+    search.maxHours = Math.min(search.numCoveredHoursWith(0, 0), atMost);
+    if (hiresLeft > 0) {
+      search.optimal(0, 0, hiresLeft);
+    }
+    return search.bestSize < 0 ? null : search.result(hired);
+  }
+
+  /**
+   * Same as Hiring.minCoverageHiring, on a pool: finds the cheapest set of hires that, together
+   * with hired, covers at least minHours hours. Among the cheapest, the first one Hiring's search
+   * would find is returned.
+   *
+   * @param pool     the candidates
+   * @param hired    indices of the candidates already hired; every other candidate may be hired
+   * @param minHours the minimum number of hours to cover
+   * @return hired followed by the indices of the cheapest hires in pool order, or null if even
+   *         hiring everyone covers fewer than minHours hours
+   */
+  public static int[] minCoverageHiring(CandidatePool pool, int[] hired, int minHours) {
+    Search search = new Search(pool, hired, pool.size());
+    if (minHours <= 0 || search.numCoveredHours(0) >= minHours) {
+      return hired.clone();
+    }
+    search.minHours = minHours;
+    search.bestCost = Integer.MAX_VALUE;
+    search.cheapest(0, 0, pool.totalCost(hired));
+    return search.bestSize < 0 ? null : search.result(hired);
+  }
+
+  /**
+   * Same as {@link Hiring#greedyHiring(CandidateList, CandidateList, int)}, run on a pool.
+   *
+   * @param candidates the set of available candidates to hire from (excluding already hired)
+   * @param hired      the list of those currently hired
+   * @param hiresLeft  the maximum number of candidates to hire
+   * @return hired plus the greedily chosen hires
+   */
+  public static CandidateList greedyHiring(CandidateList candidates, CandidateList hired,
+      int hiresLeft) {
+    if (hiresLeft <= 0) {
+      return (hired == null || hired.isEmpty()) ? new CandidateList() : hired;
+    }
+    CandidatePool pool = poolOf(candidates, hired);
+    return pool.toCandidateList(greedyHiring(pool, firstIndices(hired), hiresLeft));
+  }
+
+  /**
+   * Same as {@link Hiring#optimalHiring(CandidateList, CandidateList, int)}, run on a pool.
+   *
+   * @param candidates the set of available candidates to hire from (excluding those already hired)
+   * @param hired      the list of those currently hired
+   * @param hiresLeft  the maximum number of candidates to hire
+   * @return hired plus the hires that cover the most hours
+   */
+  public static CandidateList optimalHiring(CandidateList candidates, CandidateList hired,
+      int hiresLeft) {
+    if (hiresLeft <= 0) {
+      return (hired == null || hired.isEmpty()) ? new CandidateList() : hired;
+    }
+    CandidatePool pool = poolOf(candidates, hired);
+    return pool.toCandidateList(optimalHiring(pool, firstIndices(hired), hiresLeft));
+  }
+
+  /**
+   * Same as {@link Hiring#minCoverageHiring(CandidateList, CandidateList, int)}, run on a pool.
+   *
+   * @param candidates the set of available candidates to hire from (excluding those already hired)
+   * @param hired      the set of candidates already hired
+   * @param minHours   the minimum number of hours we want to cover total
+   * @return hired plus the cheapest hires covering minHours, or null if there are none
+   */
+  public static CandidateList minCoverageHiring(CandidateList candidates, CandidateList hired,
+      int minHours) {
+    if (minHours <= 0) {
+      return hired;
+    }
+    CandidatePool pool = poolOf(candidates, hired);
+    int[] solution = minCoverageHiring(pool, firstIndices(hired), minHours);
+    return solution == null ? null : pool.toCandidateList(solution);
+  }
+
+  /**
+   * @return a pool of the hired candidates (if any) followed by the candidates.
+   */
+  private static CandidatePool poolOf(CandidateList candidates, CandidateList hired) {
+    List<Candidate> all = new ArrayList<>();
+    if (hired != null) {
+      all.addAll(hired);
+    }
+    all.addAll(candidates);
+    return new CandidatePool(all);
+  }
+
+  /**
+   * @return {0, 1, ..., hired.size() - 1}, the indices of hired in a pool made by poolOf.
+   */
+  private static int[] firstIndices(CandidateList hired) {
+    int[] indices = new int[hired == null ? 0 : hired.size()];
+    for (int i = 0; i < indices.length; ++i) {
+      indices[i] = i;
+    }
+    return indices;
+  }
+
+  /**
+   * @return the indices of the candidates in the pool that are not in hired or removed, in pool
+   *         order.
+   */
+  private static int[] available(CandidatePool pool, int[] hired) {
+    boolean[] isHired = new boolean[pool.size()];
+    for (int i : hired) {
+      isHired[i] = true;
+    }
+    int[] order = new int[pool.size()];
+    int count = 0;
+    for (int i = 0; i < pool.size(); ++i) {
+      if (!isHired[i] && !pool.isRemoved(i)) {
+        order[count++] = i;
+      }
+    }
+    return Arrays.copyOf(order, count);
+  }
+
+  /**
+   * The state of one optimalHiring or minCoverageHiring search. The covered hours after d hires
+   * are words [d * numWords, (d + 1) * numWords) of coveredStack, so hiring a candidate copies one
+   * level to the next and backtracking just goes back a level.
+   */
+  private static class Search {
+
+    /**
+     * The candidates.
+     */
+    private final CandidatePool pool;
+
+    /**
+     * The pool's rows.
+     */
+    private final long[] rows;
+
+    /**
+     * The number of words in each row.
+     */
+    private final int numWords;
+
+    /**
+     * The indices of the candidates that may be hired, in pool order.
+     */
+    private final int[] order;
+
+    /**
+     * The hours covered by order[j], ..., order[order.length - 1] are words
+     * [j * numWords, (j + 1) * numWords).
+     */
+    private final long[] suffixCovered;
+
+    /**
+     * The covered hours at each depth of the search.
+     */
+    private final long[] coveredStack;
+
+    /**
+     * chosen[d] is the position in order of the (d + 1)th hire on the current path.
+     */
+    private final int[] chosen;
+
+    /**
+     * The positions in order of the best hires found so far.
+     */
+    private final int[] best;
+
+    /**
+     * The number of hires in best, or -1 if no solution has been found.
+     */
+    private int bestSize = -1;
+
+    /**
+     * optimalHiring: the hours covered by the best hires found so far.
+     */
+    private int bestHours;
+
+    /**
+     * optimalHiring: the most hours any set of hires can cover.
+     */
+    private int maxHours;
+
+    /**
+     * optimalHiring: scratch space for maxGain.
+     */
+    private final int[] top;
+
+    /**
+     * minCoverageHiring: the number of hours to cover.
+     */
+    private int minHours;
+
+    /**
+     * minCoverageHiring: the cost of the best hires found so far.
+     */
+    private int bestCost;
+
+    /**
+     * minCoverageHiring: true if no candidate that may be hired has a negative pay rate, so
+     * hiring more never lowers the cost.
+     */
+    private final boolean costsOnlyGrow;
+
+    /**
+     * Sets up a search that hires at most maxHires candidates.
+     */
+    private Search(CandidatePool pool, int[] hired, int maxHires) {
+      this.pool = pool;
+      this.rows = pool.getRows();
+      this.numWords = pool.getNumWords();
+      this.order = available(pool, hired);
+      int depth = Math.max(0, Math.min(maxHires, order.length));
+
+      this.suffixCovered = new long[(order.length + 1) * numWords];
+      boolean nonNegative = true;
+      for (int j = order.length - 1; j >= 0; --j) {
+        System.arraycopy(suffixCovered, (j + 1) * numWords, suffixCovered, j * numWords,
+            numWords);
+        orRow(order[j], suffixCovered, j * numWords);
+        nonNegative &= pool.getPayRate(order[j]) >= 0;
+      }
+      this.costsOnlyGrow = nonNegative;
+
+      // the first level is the hours covered by the hired candidates
+      this.coveredStack = new long[(depth + 1) * numWords];
+      System.arraycopy(pool.getCoveredBits(hired), 0, coveredStack, 0, numWords);
+      this.chosen = new int[depth];
+      this.best = new int[depth];
+      this.top = new int[depth];
+    }
+
+    /**
+     * ORs candidate i's row into words [offset, offset + numWords) of target.
+     */
+    private void orRow(int i, long[] target, int offset) {
+      int row = i * numWords;
+      for (int w = 0; w < numWords; ++w) {
+        target[offset + w] |= rows[row + w];
+      }
+    }
+
+    /**
+     * @return the number of hours covered at depth depth of the stack.
+     */
+    private int numCoveredHours(int depth) {
+      int count = 0;
+      for (int w = 0; w < numWords; ++w) {
+        count += Long.bitCount(coveredStack[depth * numWords + w]);
+      }
+      return count;
+    }
+
+    /**
+     * @return the number of hours covered at depth depth of the stack together with order[j..].
+     */
+    private int numCoveredHoursWith(int depth, int j) {
+      int count = 0;
+      for (int w = 0; w < numWords; ++w) {
+        count += Long.bitCount(coveredStack[depth * numWords + w]
+            | suffixCovered[j * numWords + w]);
+      }
+      return count;
+    }
+
+    /**
+     * Hires order[j] on top of depth depth of the stack, filling in depth + 1.
+     *
+     * @return the number of hours covered after the hire.
+     */
+    private int hire(int depth, int j) {
+      int from = depth * numWords;
+      int to = from + numWords;
+      int row = order[j] * numWords;
+      int count = 0;
+      for (int w = 0; w < numWords; ++w) {
+        long word = coveredStack[from + w] | rows[row + w];
+        coveredStack[to + w] = word;
+        count += Long.bitCount(word);
+      }
+      chosen[depth] = j;
+      return count;
+    }
+
+    /**
+     * Records the current path of depth hires as the best.
+     */
+    private void keep(int depth) {
+      System.arraycopy(chosen, 0, best, 0, depth);
+      bestSize = depth;
+    }
+
+    /**
+     * @return the sum of the picks largest numbers of hours order[from..] would each add at depth
+     *         depth of the stack (see Hiring.maxGain).
+     */
+    private int maxGain(int depth, int from, int picks) {
+      int size = Math.min(picks, order.length - from);
+      if (size <= 0) {
+        return 0;
+      }
+      Arrays.fill(top, 0, size, 0);
+      int offset = depth * numWords;
+      for (int j = from; j < order.length; ++j) {
+        int row = order[j] * numWords;
+        int gain = 0;
+        for (int w = 0; w < numWords; ++w) {
+          gain += Long.bitCount(rows[row + w] & ~coveredStack[offset + w]);
+        }
+        if (gain > top[size - 1]) {
+          int t = size - 1;
+          while (t > 0 && top[t - 1] < gain) {
+            top[t] = top[t - 1];
+            t--;
+          }
+          top[t] = gain;
+        }
+      }
+      int sum = 0;
+      for (int t = 0; t < size; ++t) {
+        sum += top[t];
+      }
+      return sum;
+    }
+
+    /**
+     * optimalHiring's branch and bound from position from of order, with depth hires made and
+     * hiresLeft more allowed; the same search as Hiring's helper.
+     */
+    private void optimal(int depth, int from, int hiresLeft) {
+      int hours = numCoveredHours(depth);
+      int bestGain = maxGain(depth, from, hiresLeft);
+
+      for (int j = from; j < order.length; ++j) {
+        // stop early once every coverable hour is covered
+        if (bestHours >= maxHours) {
+          break;
+        }
+        // prune: hiring order[j] (and any of the ones after it) cannot beat the best so far
+        if (Math.min(hours + bestGain, numCoveredHoursWith(depth, j)) <= bestHours) {
+          break;
+        }
+
+        int withHire = hire(depth, j);
+        if (withHire > bestHours) {
+          bestHours = withHire;
+          keep(depth + 1);
+        }
+        if (hiresLeft > 1) {
+          optimal(depth + 1, j + 1, hiresLeft - 1);
+        }
+      }
+    }
+
+    /**
+     * minCoverageHiring's search from position from of order, with depth hires made at the given
+     * cost: tries hiring each remaining candidate in turn, which visits the solutions in the same
+     * order as Hiring's hire-or-skip recursion.
+     */
+    private void cheapest(int depth, int from, int cost) {
+      for (int j = from; j < order.length; ++j) {
+        // no candidate from j on can make up the missing hours
+        if (numCoveredHoursWith(depth, j) < minHours) {
+          return;
+        }
+        int newCost = cost + pool.getPayRate(order[j]);
+        if (costsOnlyGrow && newCost >= bestCost) {
+          // hiring order[j] (and then others) cannot be cheaper than the best so far
+          continue;
+        }
+        int withHire = hire(depth, j);
+        if (withHire >= minHours) {
+          // hiring anyone else would only add cost
+          if (newCost < bestCost) {
+            bestCost = newCost;
+            keep(depth + 1);
+          }
+        } else {
+          cheapest(depth + 1, j + 1, newCost);
+        }
+      }
+    }
+
+    /**
+     * @return hired followed by the pool indices of the best hires.
+     */
+    private int[] result(int[] hired) {
+      int size = Math.max(bestSize, 0);
+      int[] result = Arrays.copyOf(hired, hired.length + size);
+      for (int d = 0; d < size; ++d) {
+        result[hired.length + d] = order[best[d]];
+      }
+      return result;
+    }
+  }
+}
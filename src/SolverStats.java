@@ -0,0 +1,404 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in statistics about what the solvers in {@link Hiring} do: how many nodes they expand at
+ * each depth, how many branches each pruning rule cuts off, when the best solution so far
+ * improves, how many CandidateLists are copied, and how many coverage counts are evaluated.
+ *
+ * <p>
+ * Statistics are off by default. {@link #enable()} installs a fresh SolverStats that every solver
+ * call records into until {@link #disable()}; while disabled each recording point is a single read
+ * of a static field that is null. Enable statistics before starting the solves to be measured
+ * (threads started afterwards see it). The counters are safe to update from several threads at
+ * once, so a batch of solves records totals; incumbent improvements are only meaningful when one
+ * solve runs at a time.
+ */
+public final class SolverStats {
+
+  /**
+   * The ways a solver can cut off part of its search.
+   */
+  public enum Prune {
+    /**
+     * optimalHiring: the current hours plus the largest gains of the remaining picks cannot beat
+     * the best hires so far.
+     */
+    GAIN_BOUND("gain bound"),
+
+    /**
+     * optimalHiring: even every hour covered by the remaining candidates cannot beat the best
+     * hires so far.
+     */
+    UNION_BOUND("union bound"),
+
+    /**
+     * optimalHiring: the best hires so far already cover every coverable hour.
+     */
+    ALL_COVERED("all covered"),
+
+    /**
+     * minCoverageHiring: the remaining candidates cannot cover the minimum hours.
+     */
+    INFEASIBLE("infeasible"),
+
+    /**
+     * minCoverageHiring: the hires cover the minimum hours, so hiring more would only add cost.
+     */
+    ENOUGH_HOURS("enough hours");
+
+    /**
+     * How the rule is printed.
+     */
+    private final String description;
+
+    /**
+     * Creates a rule with the given description.
+     */
+    Prune(String description) {
+      this.description = description;
+    }
+
+    /**
+     * @return the description of the rule.
+     */
+    @Override
+    public String toString() {
+      return description;
+    }
+  }
+
+  /**
+   * An improvement of the best solution found so far in one solve.
+   */
+  public static final class Improvement {
+
+    /**
+     * The nanoseconds between the start of the solve and the improvement.
+     */
+    private final long nanos;
+
+    /**
+     * The hours covered or cost of the new best solution.
+     */
+    private final int value;
+
+    /**
+     * The depth of the search at which it was found.
+     */
+    private final int depth;
+
+    /**
+     * Creates an improvement record.
+     */
+    private Improvement(long nanos, int value, int depth) {
+      this.nanos = nanos;
+      this.value = value;
+      this.depth = depth;
+    }
+
+    /**
+     * @return the nanoseconds between the start of the solve and the improvement.
+     */
+    public long getNanos() {
+      return nanos;
+    }
+
+    /**
+     * @return the hours covered (optimalHiring) or cost (minCoverageHiring) of the new best.
+     */
+    public int getValue() {
+      return value;
+    }
+
+    /**
+     * @return the number of hires on the search path where it was found.
+     */
+    public int getDepth() {
+      return depth;
+    }
+
+    /**
+     * @return for example "6 at depth 2 after 0.125 ms".
+     */
+    @Override
+    public String toString() {
+      return value + " at depth " + depth + " after "
+          + String.format(Locale.ROOT, "%.3f", nanos / 1e6) + " ms";
+    }
+  }
+
+  /**
+   * Depths at or beyond this are counted together.
+   */
+  public static final int MAX_DEPTH = 64;
+
+  /**
+   * The most improvements kept; later ones are counted but not kept.
+   */
+  public static final int MAX_IMPROVEMENTS = 1000;
+
+  /**
+   * The most improvements printed by toString, the most recent ones.
+   */
+  private static final int PRINTED_IMPROVEMENTS = 10;
+
+  /**
+   * The statistics being recorded into, or null when statistics are off.
+   */
+  private static SolverStats active;
+
+  /**
+   * nodes.get(d) is the number of nodes expanded with d hires on the search path.
+   */
+  private final AtomicLongArray nodes = new AtomicLongArray(MAX_DEPTH + 1);
+
+  /**
+   * pruned.get(rule.ordinal()) is the number of branches cut off by rule.
+   */
+  private final AtomicLongArray pruned = new AtomicLongArray(Prune.values().length);
+
+  /**
+   * The number of CandidateLists copied.
+   */
+  private final LongAdder copies = new LongAdder();
+
+  /**
+   * The number of coverage counts evaluated (numCoveredHours, numNewHours and the like).
+   */
+  private final LongAdder coverageEvaluations = new LongAdder();
+
+  /**
+   * The number of top-level solver calls.
+   */
+  private final LongAdder solves = new LongAdder();
+
+  /**
+   * The first MAX_IMPROVEMENTS improvements of the best solution, across all solves.
+   */
+  private final List<Improvement> improvements = Collections.synchronizedList(new ArrayList<>());
+
+  /**
+   * The number of improvements of the best solution, including those not kept.
+   */
+  private final LongAdder numImprovements = new LongAdder();
+
+  /**
+   * The System.nanoTime() at which the current solve started.
+   */
+  private volatile long solveStart = System.nanoTime();
+
+  /**
+   * The lowest cost offered to offerCost since the current solve started.
+   */
+  private final AtomicInteger solveBestCost = new AtomicInteger(Integer.MAX_VALUE);
+
+  /**
+   * Turns statistics on with fresh counters.
+   *
+   * @return the statistics that solvers now record into.
+   */
+  public static SolverStats enable() {
+    active = new SolverStats();
+    return active;
+  }
+
+  /**
+   * Turns statistics off. Statistics returned by enable keep their values.
+   */
+  public static void disable() {
+    active = null;
+  }
+
+  /**
+   * @return the statistics being recorded into, or null when statistics are off.
+   */
+  public static SolverStats active() {
+    return active;
+  }
+
+  /**
+   * Records the start of a top-level solve; improvement times are measured from here.
+   */
+  void startSolve() {
+    solves.increment();
+    solveStart = System.nanoTime();
+    solveBestCost.set(Integer.MAX_VALUE);
+  }
+
+  /**
+   * Records the expansion of a search node.
+   *
+   * @param depth the number of hires on the search path.
+   */
+  void expanded(int depth) {
+    nodes.incrementAndGet(Math.min(depth, MAX_DEPTH));
+  }
+
+  /**
+   * Records a branch cut off by a pruning rule.
+   *
+   * @param rule the rule that cut it off.
+   */
+  void pruned(Prune rule) {
+    pruned.incrementAndGet(rule.ordinal());
+  }
+
+  /**
+   * Records a new best solution.
+   *
+   * @param value the hours covered or cost of the new best solution.
+   * @param depth the number of hires on the search path.
+   */
+  void improved(int value, int depth) {
+    numImprovements.increment();
+    if (improvements.size() < MAX_IMPROVEMENTS) {
+      improvements.add(new Improvement(System.nanoTime() - solveStart, value, depth));
+    }
+  }
+
+  /**
+   * Records a solution found by a solver that does not track the best one itself, if it costs
+   * less than every solution offered since the solve started.
+   *
+   * @param cost  the cost of the solution.
+   * @param depth the number of hires on the search path.
+   */
+  void offerCost(int cost, int depth) {
+    if (cost < solveBestCost.getAndAccumulate(cost, Math::min)) {
+      improved(cost, depth);
+    }
+  }
+
+  /**
+   * Records a copy of a CandidateList.
+   */
+  void copied() {
+    copies.increment();
+  }
+
+  /**
+   * Records evaluations of coverage counts.
+   *
+   * @param count the number of evaluations.
+   */
+  void evaluated(int count) {
+    coverageEvaluations.add(count);
+  }
+
+  /**
+   * @return the total number of nodes expanded.
+   */
+  public long getNodes() {
+    long total = 0;
+    for (int d = 0; d <= MAX_DEPTH; ++d) {
+      total += nodes.get(d);
+    }
+    return total;
+  }
+
+  /**
+   * @param depth a number of hires on the search path.
+   * @return the number of nodes expanded at that depth (at MAX_DEPTH, at that depth or deeper).
+   */
+  public long getNodes(int depth) {
+    return nodes.get(Math.min(depth, MAX_DEPTH));
+  }
+
+  /**
+   * @param rule a pruning rule.
+   * @return the number of branches it cut off.
+   */
+  public long getPruned(Prune rule) {
+    return pruned.get(rule.ordinal());
+  }
+
+  /**
+   * @return the number of improvements of the best solution, including any beyond
+   *         MAX_IMPROVEMENTS.
+   */
+  public long getNumImprovements() {
+    return numImprovements.sum();
+  }
+
+  /**
+   * @return the first MAX_IMPROVEMENTS improvements of the best solution, in the order they
+   *         happened.
+   */
+  public List<Improvement> getImprovements() {
+    synchronized (improvements) {
+      return new ArrayList<>(improvements);
+    }
+  }
+
+  /**
+   * @return the number of CandidateLists copied.
+   */
+  public long getCopies() {
+    return copies.sum();
+  }
+
+  /**
+   * @return the number of coverage counts evaluated.
+   */
+  public long getCoverageEvaluations() {
+    return coverageEvaluations.sum();
+  }
+
+  /**
+   * @return the number of top-level solver calls.
+   */
+  public long getSolves() {
+    return solves.sum();
+  }
+
+  /**
+   * @return a multi-line summary, for example
+   *
+   *         <pre>
+   * solves: 2
+   * nodes: 12 (depth 0: 1, depth 1: 6, depth 2: 5)
+   * pruned: gain bound 3, union bound 0, all covered 1, infeasible 0, enough hours 0
+   * improvements: 2 (5 at depth 1 after 0.010 ms, 6 at depth 2 after 0.031 ms)
+   * list copies: 4
+   * coverage evaluations: 40
+   *         </pre>
+   */
+  @Override
+  public String toString() {
+    StringBuilder text = new StringBuilder();
+    text.append("solves: ").append(getSolves()).append('\n');
+    text.append("nodes: ").append(getNodes());
+    String separator = " (";
+    for (int d = 0; d <= MAX_DEPTH; ++d) {
+      if (nodes.get(d) > 0) {
+        text.append(separator).append("depth ").append(d).append(d == MAX_DEPTH ? "+" : "")
+            .append(": ").append(nodes.get(d));
+        separator = ", ";
+      }
+    }
+    text.append(separator.equals(", ") ? ")" : "").append('\n');
+    text.append("pruned:");
+    separator = " ";
+    for (Prune rule : Prune.values()) {
+      text.append(separator).append(rule).append(' ').append(getPruned(rule));
+      separator = ", ";
+    }
+    text.append('\n');
+    List<Improvement> list = getImprovements();
+    text.append("improvements: ").append(getNumImprovements());
+    int first = Math.max(0, list.size() - PRINTED_IMPROVEMENTS);
+    for (int i = first; i < list.size(); ++i) {
+      text.append(i == first ? (first > 0 ? " (..., " : " (") : ", ").append(list.get(i));
+    }
+    text.append(list.isEmpty() ? "" : ")").append('\n');
+    text.append("list copies: ").append(getCopies()).append('\n');
+    text.append("coverage evaluations: ").append(getCoverageEvaluations());
+    return text.toString();
+  }
+}